@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.TestBean;
+
+/**
+ * Benchmarks for {@link DefaultListableBeanFactory#getBean} lookups
+ * of singleton, prototype and custom-scoped beans.
+ *
+ * @since 5.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DefaultListableBeanFactoryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public DefaultListableBeanFactory beanFactory;
+
+		@Setup
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			this.beanFactory.registerScope("map", new MapScope());
+
+			RootBeanDefinition spouse = new RootBeanDefinition(TestBean.class);
+			spouse.getPropertyValues().add("name", "spouse");
+			this.beanFactory.registerBeanDefinition("spouse", spouse);
+
+			RootBeanDefinition singleton = new RootBeanDefinition(TestBean.class);
+			singleton.getPropertyValues().add("name", "singleton").add("age", 42);
+			singleton.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
+			this.beanFactory.registerBeanDefinition("singleton", singleton);
+
+			RootBeanDefinition prototype = new RootBeanDefinition(TestBean.class);
+			prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			prototype.getPropertyValues().add("name", "prototype").add("age", 42);
+			prototype.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
+			this.beanFactory.registerBeanDefinition("prototype", prototype);
+
+			RootBeanDefinition scoped = new RootBeanDefinition(TestBean.class);
+			scoped.setScope("map");
+			scoped.getPropertyValues().add("name", "scoped");
+			this.beanFactory.registerBeanDefinition("scoped", scoped);
+
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+
+	@Benchmark
+	public Object singletonByName(BenchmarkState state) {
+		return state.beanFactory.getBean("singleton");
+	}
+
+	@Benchmark
+	public Object singletonByType(BenchmarkState state) {
+		return state.beanFactory.getBean("singleton", ITestBean.class);
+	}
+
+	@Benchmark
+	public Object prototypeByName(BenchmarkState state) {
+		return state.beanFactory.getBean("prototype");
+	}
+
+	@Benchmark
+	public Object scopedByName(BenchmarkState state) {
+		return state.beanFactory.getBean("scoped");
+	}
+
+
+	/**
+	 * Minimal custom scope, isolating scope lookup overhead from any
+	 * scope-specific storage cost.
+	 */
+	private static class MapScope implements org.springframework.beans.factory.config.Scope {
+
+		private final Map<String, Object> objects = new ConcurrentHashMap<>();
+
+		@Override
+		public Object get(String name, ObjectFactory<?> objectFactory) {
+			return this.objects.computeIfAbsent(name, key -> objectFactory.getObject());
+		}
+
+		@Override
+		public Object remove(String name) {
+			return this.objects.remove(name);
+		}
+
+		@Override
+		public void registerDestructionCallback(String name, Runnable callback) {
+		}
+
+		@Override
+		public Object resolveContextualObject(String key) {
+			return null;
+		}
+
+		@Override
+		public String getConversationId() {
+			return null;
+		}
+	}
+
+}
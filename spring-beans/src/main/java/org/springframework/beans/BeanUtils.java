@@ -42,6 +42,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.KotlinDetector;
+import org.springframework.core.MethodAccessor;
 import org.springframework.core.MethodParameter;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -551,6 +552,28 @@ public abstract class BeanUtils {
 		}
 	}
 
+	/**
+	 * Obtain a {@link MethodAccessor} for the write method of the specified property.
+	 * <p>For a PropertyDescriptor obtained through {@link #getPropertyDescriptors},
+	 * this is the accessor that {@link BeanWrapper} uses as well: it invokes the
+	 * method reflectively until the method has been invoked repeatedly, and only
+	 * then through a generated class. Otherwise, the method is invoked reflectively.
+	 * @param pd the PropertyDescriptor for the property
+	 * @return a corresponding MethodAccessor
+	 * @since 5.1
+	 * @see org.springframework.core.MethodAccessorFactory
+	 */
+	public static MethodAccessor getWriteMethodAccessor(PropertyDescriptor pd) {
+		if (pd instanceof GenericTypeAwarePropertyDescriptor) {
+			return ((GenericTypeAwarePropertyDescriptor) pd).getWriteMethodAccessor();
+		}
+		else {
+			Method writeMethod = pd.getWriteMethod();
+			Assert.state(writeMethod != null, "No write method available");
+			return writeMethod::invoke;
+		}
+	}
+
 	/**
 	 * Check if the given type represents a "simple" property:
 	 * a primitive, a String or other CharSequence, a Number, a Date,
@@ -305,6 +305,10 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 			}
 			else {
 				ReflectionUtils.makeAccessible(readMethod);
+				if (this.pd instanceof GenericTypeAwarePropertyDescriptor) {
+					return ((GenericTypeAwarePropertyDescriptor) this.pd).getReadMethodAccessor().invoke(
+							getWrappedInstance());
+				}
 				return readMethod.invoke(getWrappedInstance(), (Object[]) null);
 			}
 		}
@@ -329,7 +333,13 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 			}
 			else {
 				ReflectionUtils.makeAccessible(writeMethod);
-				writeMethod.invoke(getWrappedInstance(), value);
+				if (this.pd instanceof GenericTypeAwarePropertyDescriptor) {
+					((GenericTypeAwarePropertyDescriptor) this.pd).getWriteMethodAccessor().invoke(
+							getWrappedInstance(), value);
+				}
+				else {
+					writeMethod.invoke(getWrappedInstance(), value);
+				}
 			}
 		}
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.beans;
 
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashSet;
 import java.util.Set;
@@ -26,6 +27,8 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.MethodAccessor;
+import org.springframework.core.MethodAccessorFactory;
 import org.springframework.core.MethodParameter;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -38,11 +41,22 @@ import org.springframework.util.StringUtils;
  * overriding {@code getPropertyType()} such that a generically declared
  * type variable will be resolved against the containing bean class.
  *
+ * <p>As of 5.1, also provides {@link MethodAccessor MethodAccessors} for the
+ * read and write method, which switch from reflection to a generated accessor
+ * once the property has been accessed repeatedly.
+ *
  * @author Juergen Hoeller
  * @since 2.5.2
  */
 final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 
+	/**
+	 * Number of reflective invocations of a read or write method before switching to
+	 * a generated accessor, in line with the JDK's own threshold for reflection.
+	 */
+	private static final int ACCESSOR_INFLATION_THRESHOLD = 15;
+
+
 	private final Class<?> beanClass;
 
 	@Nullable
@@ -62,6 +76,12 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 
 	private final Class<?> propertyEditorClass;
 
+	@Nullable
+	private final MethodAccessor readMethodAccessor;
+
+	@Nullable
+	private final MethodAccessor writeMethodAccessor;
+
 
 	public GenericTypeAwarePropertyDescriptor(Class<?> beanClass, String propertyName,
 			@Nullable Method readMethod, @Nullable Method writeMethod, Class<?> propertyEditorClass)
@@ -114,6 +134,8 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 		}
 
 		this.propertyEditorClass = propertyEditorClass;
+		this.readMethodAccessor = (this.readMethod != null ? new InflatingMethodAccessor(this.readMethod) : null);
+		this.writeMethodAccessor = (this.writeMethod != null ? new InflatingMethodAccessor(this.writeMethod) : null);
 	}
 
 
@@ -145,6 +167,25 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 		return this.writeMethod;
 	}
 
+	/**
+	 * Return a {@link MethodAccessor} for the read method.
+	 * @since 5.1
+	 */
+	public MethodAccessor getReadMethodAccessor() {
+		Assert.state(this.readMethodAccessor != null, "No read method available");
+		return this.readMethodAccessor;
+	}
+
+	/**
+	 * Return a {@link MethodAccessor} for the write method.
+	 * @since 5.1
+	 * @see #getWriteMethodForActualAccess()
+	 */
+	public MethodAccessor getWriteMethodAccessor() {
+		Assert.state(this.writeMethodAccessor != null, "No write method available");
+		return this.writeMethodAccessor;
+	}
+
 	public MethodParameter getWriteMethodParameter() {
 		Assert.state(this.writeMethodParameter != null, "No write method available");
 		return this.writeMethodParameter;
@@ -182,4 +223,41 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 		return hashCode;
 	}
 
+
+	/**
+	 * {@link MethodAccessor} that invokes its method through reflection at first,
+	 * obtaining an accessor from {@link MethodAccessorFactory} only once the method
+	 * has been invoked repeatedly: properties that are just set once, e.g. during
+	 * bean creation, do not cause the generation of any classes.
+	 */
+	private static final class InflatingMethodAccessor implements MethodAccessor {
+
+		private final Method method;
+
+		@Nullable
+		private volatile MethodAccessor generatedAccessor;
+
+		// Not thread-safe on purpose: a lost update just delays the switch
+		private int invocationCount;
+
+		public InflatingMethodAccessor(Method method) {
+			this.method = method;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(@Nullable Object target, @Nullable Object... args)
+				throws IllegalAccessException, InvocationTargetException {
+
+			MethodAccessor accessor = this.generatedAccessor;
+			if (accessor != null) {
+				return accessor.invoke(target, args);
+			}
+			if (++this.invocationCount > ACCESSOR_INFLATION_THRESHOLD) {
+				this.generatedAccessor = MethodAccessorFactory.getAccessor(this.method);
+			}
+			return this.method.invoke(target, args);
+		}
+	}
+
 }
@@ -39,7 +39,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import javax.inject.Provider;
 
 import org.springframework.beans.BeanUtils;
@@ -68,6 +72,8 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.NestedRuntimeException;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -76,6 +82,7 @@ import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CompositeIterator;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -149,6 +156,14 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	@Nullable
 	private Comparator<Object> dependencyComparator;
 
+	/** Optional Executor for parallel pre-instantiation of singletons */
+	@Nullable
+	private Executor bootstrapExecutor;
+
+	/** Marks threads that pre-instantiate singletons on behalf of the bootstrap Executor */
+	private final ThreadLocal<Boolean> preInstantiationThread =
+			new NamedThreadLocal<>("Singleton pre-instantiation thread");
+
 	/** Resolver to use for checking if a bean definition is an autowire candidate */
 	private AutowireCandidateResolver autowireCandidateResolver = new SimpleAutowireCandidateResolver();
 
@@ -280,6 +295,40 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.dependencyComparator;
 	}
 
+	/**
+	 * Set an {@link Executor} for pre-instantiating non-lazy singletons in parallel,
+	 * e.g. a {@link java.util.concurrent.ForkJoinPool}.
+	 * <p>Default is none, creating all singletons one after another in the thread
+	 * that triggers {@link #preInstantiateSingletons()}. With an Executor, each
+	 * non-lazy singleton is requested in a separate task: dependencies are resolved
+	 * as usual, so independent subgraphs of beans get created in parallel while
+	 * shared dependencies are created once, with other tasks waiting for them.
+	 * <p>Early references for circular references are only exposed within the
+	 * thread that creates the affected beans. Circular references spanning several
+	 * threads lead to all singletons being requested again in the calling thread
+	 * once all tasks have completed, with the same semantics as regular sequential
+	 * pre-instantiation: this re-creates the singletons of the failed creation
+	 * attempt as well as any singletons destroyed along with them, e.g. dependent
+	 * beans created in other threads. Any other failure is propagated as-is, without
+	 * starting further tasks, once the tasks already running have completed.
+	 * <p>Only use this for bean definitions that do not rely on an implicit
+	 * creation order of singletons without any declared dependency between them.
+	 * @since 5.1
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setBootstrapExecutor(@Nullable Executor bootstrapExecutor) {
+		this.bootstrapExecutor = bootstrapExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} for parallel pre-instantiation of singletons, if any.
+	 * @since 5.1
+	 */
+	@Nullable
+	public Executor getBootstrapExecutor() {
+		return this.bootstrapExecutor;
+	}
+
 	/**
 	 * Set a custom autowire candidate resolver for this BeanFactory to use
 	 * when deciding whether a bean definition should be considered as a
@@ -317,6 +366,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.bootstrapExecutor = otherListableFactory.bootstrapExecutor;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(BeanUtils.instantiateClass(getAutowireCandidateResolver().getClass()));
 			// Make resolvable dependencies (e.g. ResourceLoader) available here as well...
@@ -734,31 +784,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof FactoryBean) {
-						final FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
-											((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) {
-							getBean(beanName);
-						}
-					}
-				}
-				else {
-					getBean(beanName);
-				}
+		Executor executor = this.bootstrapExecutor;
+		if (executor != null) {
+			preInstantiateSingletonsInParallel(beanNames, executor);
+		}
+		else {
+			for (String beanName : beanNames) {
+				preInstantiateSingleton(beanName);
 			}
 		}
 
@@ -780,6 +812,98 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	private void preInstantiateSingleton(String beanName) {
+		RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+		if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+			if (isFactoryBean(beanName)) {
+				Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+				if (bean instanceof FactoryBean) {
+					final FactoryBean<?> factory = (FactoryBean<?>) bean;
+					boolean isEagerInit;
+					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+						isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
+										((SmartFactoryBean<?>) factory)::isEagerInit,
+								getAccessControlContext());
+					}
+					else {
+						isEagerInit = (factory instanceof SmartFactoryBean &&
+								((SmartFactoryBean<?>) factory).isEagerInit());
+					}
+					if (isEagerInit) {
+						getBean(beanName);
+					}
+				}
+			}
+			else {
+				getBean(beanName);
+			}
+		}
+	}
+
+	private void preInstantiateSingletonsInParallel(List<String> beanNames, Executor executor) {
+		Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>(beanNames.size());
+		for (String beanName : beanNames) {
+			futures.put(beanName, CompletableFuture.runAsync(() -> {
+				this.preInstantiationThread.set(Boolean.TRUE);
+				try {
+					preInstantiateSingleton(beanName);
+				}
+				finally {
+					this.preInstantiationThread.remove();
+				}
+			}, executor));
+		}
+
+		boolean conflict = false;
+		Throwable failure = null;
+		for (Map.Entry<String, CompletableFuture<Void>> entry : futures.entrySet()) {
+			try {
+				entry.getValue().join();
+			}
+			catch (CancellationException ex) {
+				// Not started after an earlier failure
+			}
+			catch (CompletionException ex) {
+				Throwable cause = ex.getCause();
+				if (failure != null) {
+					continue;
+				}
+				if (cause instanceof NestedRuntimeException && ((NestedRuntimeException) cause).contains(
+						DefaultSingletonBeanRegistry.CrossThreadCreationConflictException.class)) {
+					if (this.logger.isDebugEnabled()) {
+						this.logger.debug("Parallel pre-instantiation of singleton '" + entry.getKey() +
+								"' conflicts with singleton creation in another thread - " +
+								"retrying in calling thread", cause);
+					}
+					conflict = true;
+				}
+				else {
+					// Same as sequential pre-instantiation: fail with the original exception,
+					// not starting any further tasks and only letting running tasks complete.
+					failure = cause;
+					futures.values().forEach(future -> future.cancel(false));
+				}
+			}
+		}
+		if (failure != null) {
+			ReflectionUtils.rethrowRuntimeException(failure);
+		}
+
+		// Request all singletons again in the calling thread, resolving circular
+		// references across threads via early references. A failed creation attempt
+		// may have destroyed dependent singletons that got created by other tasks.
+		if (conflict) {
+			for (String beanName : beanNames) {
+				preInstantiateSingleton(beanName);
+			}
+		}
+	}
+
+	@Override
+	protected boolean isCurrentThreadAllowedToHoldSingletonLock() {
+		return (this.preInstantiationThread.get() == null);
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
@@ -92,6 +92,12 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Set<String> singletonsCurrentlyInCreation =
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
+	/** Threads that are currently creating singletons: bean name --> creating thread */
+	private final Map<String, Thread> singletonCreationThreads = new ConcurrentHashMap<>(16);
+
+	/** Threads waiting for a singleton created by another thread: thread --> awaited bean name */
+	private final Map<Thread, String> singletonAwaitingThreads = new ConcurrentHashMap<>(16);
+
 	/** Names of beans currently excluded from in creation checks */
 	private final Set<String> inCreationCheckExclusions =
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
@@ -183,6 +189,11 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		Object singletonObject = this.singletonObjects.get(beanName);
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
 			synchronized (this.singletonObjects) {
+				if (isSingletonCurrentlyInCreationByOtherThread(beanName)) {
+					// Never expose an early reference to another thread: the caller
+					// has to wait for the fully initialized instance instead.
+					return this.singletonObjects.get(beanName);
+				}
 				singletonObject = this.earlySingletonObjects.get(beanName);
 				if (singletonObject == null && allowEarlyReference) {
 					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
@@ -207,8 +218,15 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		if (!isCurrentThreadAllowedToHoldSingletonLock()) {
+			return getSingletonLeniently(beanName, singletonFactory);
+		}
 		synchronized (this.singletonObjects) {
 			Object singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null && isSingletonCurrentlyInCreationByOtherThread(beanName)) {
+				awaitSingletonCreation(beanName, false);
+				singletonObject = this.singletonObjects.get(beanName);
+			}
 			if (singletonObject == null) {
 				if (this.singletonsCurrentlyInDestruction) {
 					throw new BeanCreationNotAllowedException(beanName,
@@ -219,6 +237,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
 				}
 				beforeSingletonCreation(beanName);
+				this.singletonCreationThreads.put(beanName, Thread.currentThread());
 				boolean newSingleton = false;
 				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
 				if (recordSuppressedExceptions) {
@@ -248,7 +267,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 					if (recordSuppressedExceptions) {
 						this.suppressedExceptions = null;
 					}
+					this.singletonCreationThreads.remove(beanName);
 					afterSingletonCreation(beanName);
+					// Wake up threads waiting for this singleton once we release the lock.
+					this.singletonObjects.notifyAll();
 				}
 				if (newSingleton) {
 					addSingleton(beanName, singletonObject);
@@ -258,6 +280,146 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 	}
 
+	/**
+	 * Create the singleton without holding the singleton lock during the actual
+	 * creation step, allowing other threads to create independent singletons
+	 * in parallel.
+	 * <p>Other threads that request the same singleton in the meantime wait for
+	 * its completion, and early references are never shared across threads.
+	 * If waiting would result in a deadlock between threads creating beans that
+	 * depend on each other, this method fails with a
+	 * {@link CrossThreadCreationConflictException} instead, letting the caller fall
+	 * back to regular creation in a single thread.
+	 * @param beanName the name of the bean
+	 * @param singletonFactory the ObjectFactory to lazily create the singleton
+	 * with, if necessary
+	 * @return the registered singleton object
+	 * @see #isCurrentThreadAllowedToHoldSingletonLock()
+	 */
+	private Object getSingletonLeniently(String beanName, ObjectFactory<?> singletonFactory) {
+		synchronized (this.singletonObjects) {
+			Object singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null && isSingletonCurrentlyInCreationByOtherThread(beanName)) {
+				awaitSingletonCreation(beanName, true);
+				singletonObject = this.singletonObjects.get(beanName);
+			}
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+						"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "' in thread '" +
+						Thread.currentThread().getName() + "'");
+			}
+			beforeSingletonCreation(beanName);
+			this.singletonCreationThreads.put(beanName, Thread.currentThread());
+		}
+
+		Object singletonObject = null;
+		try {
+			singletonObject = singletonFactory.getObject();
+			return singletonObject;
+		}
+		finally {
+			synchronized (this.singletonObjects) {
+				if (singletonObject != null) {
+					addSingleton(beanName, singletonObject);
+				}
+				this.singletonCreationThreads.remove(beanName);
+				afterSingletonCreation(beanName);
+				this.singletonObjects.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Wait for the specified singleton to be completed by the thread currently
+	 * creating it. Needs to be called with the singleton lock held.
+	 * @param beanName the name of the bean
+	 * @param failOnDeadlock whether to throw a {@link CrossThreadCreationConflictException}
+	 * if the creating thread (directly or indirectly) waits for the current thread,
+	 * as opposed to keep waiting for one of the other threads to back off
+	 */
+	private void awaitSingletonCreation(String beanName, boolean failOnDeadlock) {
+		Thread currentThread = Thread.currentThread();
+		boolean notified = false;
+		Thread creatingThread = this.singletonCreationThreads.get(beanName);
+		while (creatingThread != null && creatingThread != currentThread) {
+			if (failOnDeadlock && isAwaitingThread(creatingThread, currentThread)) {
+				throw new CrossThreadCreationConflictException(beanName, "Requested bean is currently in creation " +
+						"in thread '" + creatingThread.getName() + "' which in turn waits for a bean in creation " +
+						"in the current thread: Is there an unresolvable circular reference?");
+			}
+			this.singletonAwaitingThreads.put(currentThread, beanName);
+			try {
+				if (!notified) {
+					// Let waiting lenient threads re-check for a deadlock with the current thread.
+					this.singletonObjects.notifyAll();
+					notified = true;
+				}
+				this.singletonObjects.wait();
+			}
+			catch (InterruptedException ex) {
+				currentThread.interrupt();
+				throw new BeanCreationException(beanName,
+						"Interrupted while waiting for singleton creation in thread '" + creatingThread.getName() + "'");
+			}
+			finally {
+				this.singletonAwaitingThreads.remove(currentThread);
+			}
+			creatingThread = this.singletonCreationThreads.get(beanName);
+		}
+	}
+
+	/**
+	 * Check whether the given thread is (directly or indirectly) waiting for
+	 * a singleton currently created by the target thread.
+	 */
+	private boolean isAwaitingThread(Thread thread, Thread targetThread) {
+		Thread current = thread;
+		for (int i = 0; i <= this.singletonAwaitingThreads.size(); i++) {
+			String awaitedBeanName = this.singletonAwaitingThreads.get(current);
+			if (awaitedBeanName == null) {
+				return false;
+			}
+			current = this.singletonCreationThreads.get(awaitedBeanName);
+			if (current == null) {
+				return false;
+			}
+			if (current == targetThread) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return whether the specified singleton bean is currently in creation
+	 * in a thread other than the current thread.
+	 * @param beanName the name of the bean
+	 * @since 5.1
+	 */
+	protected boolean isSingletonCurrentlyInCreationByOtherThread(String beanName) {
+		Thread creatingThread = this.singletonCreationThreads.get(beanName);
+		return (creatingThread != null && creatingThread != Thread.currentThread());
+	}
+
+	/**
+	 * Determine whether the current thread is allowed to hold the singleton lock
+	 * for the entire creation of a singleton bean.
+	 * <p>Default is "true". Can be overridden to return "false" for threads that
+	 * create independent singletons in parallel, e.g. for parallel pre-instantiation.
+	 * @since 5.1
+	 * @see #getSingleton(String, ObjectFactory)
+	 */
+	protected boolean isCurrentThreadAllowedToHoldSingletonLock() {
+		return true;
+	}
+
 	/**
 	 * Register an Exception that happened to get suppressed during the creation of a
 	 * singleton bean instance, e.g. a temporary circular reference resolution problem.
@@ -620,4 +782,19 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return this.singletonObjects;
 	}
 
+
+	/**
+	 * Exception signalling that a singleton cannot be awaited since the thread
+	 * creating it in turn waits for a singleton in creation in the current thread.
+	 * The affected singletons need to be requested again within a single thread.
+	 * @since 5.1
+	 */
+	@SuppressWarnings("serial")
+	static class CrossThreadCreationConflictException extends BeanCurrentlyInCreationException {
+
+		public CrossThreadCreationConflictException(String beanName, String msg) {
+			super(beanName, msg);
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -215,6 +215,24 @@ public class BeanWrapperTests extends AbstractPropertyAccessorTests {
 		}
 	}
 
+	@Test
+	public void repeatedPropertyAccess() {
+		AgeBean target = new AgeBean();
+		BeanWrapper accessor = createAccessor(target);
+		for (int i = 0; i < 50; i++) {
+			accessor.setPropertyValue("age", i);
+			assertEquals(i, accessor.getPropertyValue("age"));
+		}
+		try {
+			accessor.setPropertyValue("age", -1);
+			fail("Should have thrown MethodInvocationException");
+		}
+		catch (MethodInvocationException ex) {
+			assertTrue(ex.getCause() instanceof IllegalArgumentException);
+		}
+		assertEquals(49, target.getAge());
+	}
+
 
 	@SuppressWarnings("unused")
 	private interface AliasedProperty {
@@ -304,6 +322,23 @@ public class BeanWrapperTests extends AbstractPropertyAccessorTests {
 	}
 
 
+	public static class AgeBean {
+
+		private int age;
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			if (age < 0) {
+				throw new IllegalArgumentException("Negative age");
+			}
+			this.age = age;
+		}
+	}
+
+
 	public static class GetterWithOptional {
 
 		public TestBean value;
@@ -35,6 +35,13 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import javax.annotation.Priority;
 import javax.security.auth.Subject;
 
@@ -1407,6 +1414,179 @@ public class DefaultListableBeanFactoryTests {
 		}
 	}
 
+	@Test
+	public void testParallelPreInstantiation() throws Exception {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		lbf.setBootstrapExecutor(executor);
+		LatchedBean.latch = new CountDownLatch(2);
+		RootBeanDefinition shared = new RootBeanDefinition(TestBean.class);
+		lbf.registerBeanDefinition("shared", shared);
+		RootBeanDefinition bd1 = new RootBeanDefinition(LatchedBean.class);
+		bd1.getPropertyValues().add("dependency", new RuntimeBeanReference("shared"));
+		lbf.registerBeanDefinition("lb1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(LatchedBean.class);
+		bd2.getPropertyValues().add("dependency", new RuntimeBeanReference("shared"));
+		lbf.registerBeanDefinition("lb2", bd2);
+		try {
+			lbf.preInstantiateSingletons();
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		LatchedBean lb1 = lbf.getBean("lb1", LatchedBean.class);
+		LatchedBean lb2 = lbf.getBean("lb2", LatchedBean.class);
+		assertTrue("Singletons not created in parallel", lb1.createdInParallel);
+		assertTrue("Singletons not created in parallel", lb2.createdInParallel);
+		assertSame(lbf.getBean("shared"), lb1.dependency);
+		assertSame(lbf.getBean("shared"), lb2.dependency);
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithCircularReferences() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		lbf.setBootstrapExecutor(executor);
+		for (int i = 0; i < 20; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.getPropertyValues().add("spouse", new RuntimeBeanReference("tb" + ((i + 1) % 20)));
+			lbf.registerBeanDefinition("tb" + i, bd);
+		}
+		try {
+			lbf.preInstantiateSingletons();
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		for (int i = 0; i < 20; i++) {
+			TestBean tb = lbf.getBean("tb" + i, TestBean.class);
+			assertSame(lbf.getBean("tb" + ((i + 1) % 20)), tb.getSpouse());
+		}
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithCrossThreadCycleAndDependentBean() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		lbf.setBootstrapExecutor(executor);
+		AtomicBoolean bStarted = new AtomicBoolean();
+		AtomicBoolean yStarted = new AtomicBoolean();
+
+		// 'a' and 'b' reference each other and get created in different threads, where 'b'
+		// first creates 'y' with an early reference to 'b', and 'd' gets created with 'y'
+		// in a third thread before 'b' fails to obtain 'a' from the thread creating 'a'
+		RootBeanDefinition a = new RootBeanDefinition(TestBean.class, () -> {
+			awaitCondition(bStarted::get);
+			return new TestBean();
+		});
+		a.getPropertyValues().add("spouse", new RuntimeBeanReference("b"));
+		lbf.registerBeanDefinition("a", a);
+		RootBeanDefinition b = new RootBeanDefinition(TestBean.class, () -> {
+			bStarted.set(true);
+			return new TestBean();
+		});
+		ManagedList<RuntimeBeanReference> friends = new ManagedList<>();
+		friends.add(new RuntimeBeanReference("y"));
+		friends.add(new RuntimeBeanReference("gate"));
+		friends.add(new RuntimeBeanReference("a"));
+		b.getPropertyValues().add("friends", friends);
+		lbf.registerBeanDefinition("b", b);
+		RootBeanDefinition d = new RootBeanDefinition(TestBean.class, () -> {
+			awaitCondition(yStarted::get);
+			return new TestBean();
+		});
+		d.getPropertyValues().add("spouse", new RuntimeBeanReference("y"));
+		lbf.registerBeanDefinition("d", d);
+		RootBeanDefinition y = new RootBeanDefinition(TestBean.class, () -> {
+			yStarted.set(true);
+			return new TestBean();
+		});
+		y.getPropertyValues().add("spouse", new RuntimeBeanReference("b"));
+		lbf.registerBeanDefinition("y", y);
+		RootBeanDefinition gate = new RootBeanDefinition(TestBean.class, () -> {
+			awaitCondition(() -> lbf.containsSingleton("d"));
+			return new TestBean();
+		});
+		lbf.registerBeanDefinition("gate", gate);
+		try {
+			lbf.preInstantiateSingletons();
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		for (String beanName : lbf.getBeanDefinitionNames()) {
+			assertTrue("Singleton '" + beanName + "' missing", lbf.containsSingleton(beanName));
+		}
+		assertSame(lbf.getBean("b"), lbf.getBean("a", TestBean.class).getSpouse());
+		assertSame(lbf.getBean("b"), lbf.getBean("y", TestBean.class).getSpouse());
+		assertSame(lbf.getBean("y"), lbf.getBean("d", TestBean.class).getSpouse());
+		assertTrue(lbf.getBean("b", TestBean.class).getFriends().contains(lbf.getBean("a")));
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithDependsOnCycle() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		lbf.setBootstrapExecutor(executor);
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.setDependsOn("tb2");
+		lbf.registerBeanDefinition("tb1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.setDependsOn("tb1");
+		lbf.registerBeanDefinition("tb2", bd2);
+		try {
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			// expected
+			assertTrue(ex.getMessage().contains("Circular"));
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithFailure() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		lbf.setBootstrapExecutor(executor);
+		FailingBean.instances.set(0);
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(FailingBean.class);
+		bd.getPropertyValues().add("dependency", new RuntimeBeanReference("tb"));
+		lbf.registerBeanDefinition("failing", bd);
+		try {
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			// expected, without retrying the failed bean in the calling thread
+			assertEquals("failing", ex.getBeanName());
+			assertEquals(1, FailingBean.instances.get());
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	private static void awaitCondition(BooleanSupplier condition) {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			try {
+				Thread.sleep(10);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
 	@Test(expected = NoSuchBeanDefinitionException.class)
 	public void testGetBeanByTypeWithNoneFound() {
 		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
@@ -3246,6 +3426,39 @@ public class DefaultListableBeanFactoryTests {
 
 
 	@SuppressWarnings("unused")
+	public static class LatchedBean {
+
+		static CountDownLatch latch;
+
+		final boolean createdInParallel;
+
+		Object dependency;
+
+		public LatchedBean() throws InterruptedException {
+			latch.countDown();
+			this.createdInParallel = latch.await(10, TimeUnit.SECONDS);
+		}
+
+		public void setDependency(Object dependency) {
+			this.dependency = dependency;
+		}
+	}
+
+
+	public static class FailingBean {
+
+		static final AtomicInteger instances = new AtomicInteger();
+
+		public FailingBean() {
+			instances.incrementAndGet();
+		}
+
+		public void setDependency(Object dependency) {
+			throw new IllegalStateException("Invalid dependency");
+		}
+	}
+
+
 	private static class KnowsIfInstantiated {
 
 		private static boolean instantiated;
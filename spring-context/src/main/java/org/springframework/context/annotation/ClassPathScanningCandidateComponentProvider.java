@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -352,6 +352,26 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return false;
 	}
 
+	/**
+	 * Determine if the specified exclude {@link TypeFilter} can be evaluated from the
+	 * index alone, i.e. if every type the index associates with its stereotype is
+	 * guaranteed to match the filter.
+	 * @param filter the filter to check
+	 * @return whether the index can be used to apply this exclude filter
+	 * @since 5.1
+	 * @see #indexSupportsIncludeFilter(TypeFilter)
+	 */
+	private boolean indexSupportsExcludeFilter(TypeFilter filter) {
+		if (filter.getClass() == AnnotationTypeFilter.class) {
+			return (((AnnotationTypeFilter) filter).isConsiderMetaAnnotations() &&
+					indexSupportsIncludeFilter(filter));
+		}
+		if (filter.getClass() == AssignableTypeFilter.class) {
+			return indexSupportsIncludeFilter(filter);
+		}
+		return false;
+	}
+
 	/**
 	 * Extract the stereotype to use for the specified compatible filter.
 	 * @param filter the filter to handle
@@ -373,7 +393,7 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	private Set<BeanDefinition> addCandidateComponentsFromIndex(CandidateComponentsIndex index, String basePackage) {
 		Set<BeanDefinition> candidates = new LinkedHashSet<>();
 		try {
-			Set<String> types = new HashSet<>();
+			Set<String> types = new LinkedHashSet<>();
 			for (TypeFilter filter : this.includeFilters) {
 				String stereotype = extractStereotype(filter);
 				if (stereotype == null) {
@@ -381,9 +401,24 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 				}
 				types.addAll(index.getCandidateTypes(basePackage, stereotype));
 			}
+			// Types recorded under the stereotype of an exclude filter can be skipped
+			// upfront, without reading their class metadata
+			Set<String> excludedTypes = new HashSet<>();
+			for (TypeFilter filter : this.excludeFilters) {
+				String stereotype = extractStereotype(filter);
+				if (stereotype != null && indexSupportsExcludeFilter(filter)) {
+					excludedTypes.addAll(index.getCandidateTypes(basePackage, stereotype));
+				}
+			}
 			boolean traceEnabled = logger.isTraceEnabled();
 			boolean debugEnabled = logger.isDebugEnabled();
 			for (String type : types) {
+				if (excludedTypes.contains(type)) {
+					if (traceEnabled) {
+						logger.trace("Ignored because matching an exclude filter: " + type);
+					}
+					continue;
+				}
 				MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(type);
 				if (isCandidateComponent(metadataReader)) {
 					AnnotatedGenericBeanDefinition sbd = new AnnotatedGenericBeanDefinition(
@@ -34,13 +34,14 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodAccessor;
+import org.springframework.core.MethodAccessorFactory;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -68,6 +69,8 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final Method targetMethod;
 
+	private final MethodAccessor methodAccessor;
+
 	private final AnnotatedElementKey methodKey;
 
 	private final List<ResolvableType> declaredEventTypes;
@@ -90,6 +93,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		this.targetMethod = (!Proxy.isProxyClass(targetClass) ?
 				AopUtils.getMostSpecificMethod(method, targetClass) : this.method);
 		this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
+		this.methodAccessor = MethodAccessorFactory.getAccessor(this.method);
 
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(this.targetMethod, EventListener.class);
 		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann);
@@ -256,9 +260,8 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	@Nullable
 	protected Object doInvoke(Object... args) {
 		Object bean = getTargetBean();
-		ReflectionUtils.makeAccessible(this.method);
 		try {
-			return this.method.invoke(bean, args);
+			return this.methodAccessor.invoke(bean, args);
 		}
 		catch (IllegalArgumentException ex) {
 			assertTargetBean(this.method, bean, args);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,18 @@
 
 package org.springframework.context.expression;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.Expression;
+import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
@@ -29,6 +35,12 @@ import org.springframework.util.ObjectUtils;
  * Shared utility class used to evaluate and cache SpEL expressions that
  * are defined on {@link java.lang.reflect.AnnotatedElement}.
  *
+ * <p>As of 5.1, parsed expressions can be held in a cache of this evaluator,
+ * see {@link #getExpression(AnnotatedElementKey, String)}. Evaluation contexts
+ * {@linkplain #prepareEvaluationContext prepared} by this evaluator share a
+ * single {@link ReflectivePropertyAccessor}, so that resolved property
+ * accessors survive individual invocations.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  * @see AnnotatedElementKey
@@ -39,6 +51,10 @@ public abstract class CachedExpressionEvaluator {
 
 	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+	private final PropertyAccessor propertyAccessor = new ReflectivePropertyAccessor();
+
+	private final Map<ExpressionKey, Expression> expressionCache = new ConcurrentHashMap<>(64);
+
 
 	/**
 	 * Create a new instance with the specified {@link SpelExpressionParser}.
@@ -72,6 +88,31 @@ public abstract class CachedExpressionEvaluator {
 	}
 
 
+	/**
+	 * Prepare the given evaluation context for use with expressions of this
+	 * evaluator, letting it share this evaluator's {@link ReflectivePropertyAccessor}
+	 * instead of initializing a new one with empty caches.
+	 * @param evaluationContext the freshly created evaluation context
+	 * @since 5.1
+	 */
+	protected void prepareEvaluationContext(StandardEvaluationContext evaluationContext) {
+		List<PropertyAccessor> propertyAccessors = new ArrayList<>(4);
+		propertyAccessors.add(this.propertyAccessor);
+		evaluationContext.setPropertyAccessors(propertyAccessors);
+	}
+
+	/**
+	 * Return the {@link Expression} for the specified SpEL value.
+	 * <p>Parse the expression if it hasn't been already, and keep it in the
+	 * expression cache of this evaluator.
+	 * @param elementKey the element on which the expression is defined
+	 * @param expression the expression to parse
+	 * @since 5.1
+	 */
+	protected Expression getExpression(AnnotatedElementKey elementKey, String expression) {
+		return getExpression(this.expressionCache, elementKey, expression);
+	}
+
 	/**
 	 * Return the {@link Expression} for the specified SpEL value
 	 * <p>Parse the expression if it hasn't been already.
@@ -91,6 +132,22 @@ public abstract class CachedExpressionEvaluator {
 		return expr;
 	}
 
+	/**
+	 * Clear the expression cache of this evaluator.
+	 * @since 5.1
+	 */
+	protected void clearExpressionCache() {
+		this.expressionCache.clear();
+	}
+
+	/**
+	 * Return the number of expressions currently held in the expression cache.
+	 * @since 5.1
+	 */
+	protected int getCacheSize() {
+		return this.expressionCache.size();
+	}
+
 	private ExpressionKey createKey(AnnotatedElementKey elementKey, String expression) {
 		return new ExpressionKey(elementKey, expression);
 	}
@@ -17,10 +17,10 @@
 package org.springframework.context.index;
 
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.ClassUtils;
@@ -68,10 +68,16 @@ public class CandidateComponentsIndex {
 	public Set<String> getCandidateTypes(String basePackage, String stereotype) {
 		List<Entry> candidates = this.index.get(stereotype);
 		if (candidates != null) {
-			return candidates.parallelStream()
-					.filter(t -> t.match(basePackage))
-					.map(t -> t.type)
-					.collect(Collectors.toSet());
+			// Sequential on purpose: the index is typically queried once per base package
+			// during startup, where fork-join dispatch costs more than a plain iteration.
+			boolean pattern = pathMatcher.isPattern(basePackage);
+			Set<String> result = new LinkedHashSet<>();
+			for (Entry candidate : candidates) {
+				if (pattern ? candidate.matchPattern(basePackage) : candidate.matchPrefix(basePackage)) {
+					result.add(candidate.type);
+				}
+			}
+			return result;
 		}
 		return Collections.emptySet();
 	}
@@ -98,13 +104,12 @@ public class CandidateComponentsIndex {
 			this.packageName = ClassUtils.getPackageName(type);
 		}
 
-		public boolean match(String basePackage) {
-			if (pathMatcher.isPattern(basePackage)) {
-				return pathMatcher.match(basePackage, this.packageName);
-			}
-			else {
-				return this.type.startsWith(basePackage);
-			}
+		public boolean matchPattern(String basePackagePattern) {
+			return pathMatcher.match(basePackagePattern, this.packageName);
+		}
+
+		public boolean matchPrefix(String basePackage) {
+			return this.type.startsWith(basePackage);
 		}
 
 	}
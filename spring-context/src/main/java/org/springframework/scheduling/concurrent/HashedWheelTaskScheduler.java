@@ -0,0 +1,728 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * Implementation of Spring's {@link TaskScheduler} interface based on a hashed
+ * timing wheel, for large numbers of coarse-grained tasks such as heartbeats
+ * and session timeouts of STOMP and SockJS sessions.
+ *
+ * <p>A single thread advances the wheel once per {@link #setTickDuration tick}
+ * and triggers the tasks that are due. Scheduling and cancelling a task take
+ * constant time and do not contend on a shared lock, unlike with a
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor}, whose delay
+ * queue is a lock-guarded binary heap. In exchange, tasks run up to one tick
+ * late.
+ *
+ * <p>By default, tasks run on the wheel thread one after the other, so they
+ * should be short and must not block. Alternatively, a
+ * {@link #setTaskExecutor task executor} may be configured to run tasks on,
+ * so that slow tasks, e.g. {@code @Scheduled} methods, do not delay others.
+ * Run-time statistics for each task are available through
+ * {@link #getTaskStatistics}.
+ *
+ * <p>Like any {@link TaskScheduler}, this scheduler may be used with a
+ * {@link org.springframework.scheduling.config.ScheduledTaskRegistrar}, or be
+ * declared as the "taskScheduler" bean for
+ * {@link org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor}.
+ *
+ * @since 5.1
+ * @see #setTickDuration
+ * @see #setTicksPerWheel
+ * @see #setTaskExecutor
+ * @see ThreadPoolTaskScheduler
+ */
+@SuppressWarnings("serial")
+public class HashedWheelTaskScheduler extends ExecutorConfigurationSupport implements TaskScheduler {
+
+	/**
+	 * The default duration of a tick, in milliseconds: 100.
+	 */
+	public static final long DEFAULT_TICK_DURATION = 100;
+
+	/**
+	 * The default number of ticks per revolution of the wheel: 512.
+	 */
+	public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+
+	private long tickDuration = DEFAULT_TICK_DURATION;
+
+	private int ticksPerWheel = DEFAULT_TICKS_PER_WHEEL;
+
+	@Nullable
+	private Executor taskExecutor;
+
+	@Nullable
+	private volatile ErrorHandler errorHandler;
+
+	@Nullable
+	private volatile Wheel wheel;
+
+
+	/**
+	 * Set the duration of a tick of the wheel in milliseconds, i.e. the
+	 * precision with which tasks are run.
+	 * <p>Default is {@value #DEFAULT_TICK_DURATION}.
+	 */
+	public void setTickDuration(long tickDuration) {
+		Assert.isTrue(tickDuration > 0, "'tickDuration' must be greater than 0");
+		this.tickDuration = tickDuration;
+	}
+
+	/**
+	 * Return the duration of a tick of the wheel in milliseconds.
+	 */
+	public long getTickDuration() {
+		return this.tickDuration;
+	}
+
+	/**
+	 * Set the number of ticks per revolution of the wheel, rounded up to a
+	 * power of two. Tasks that are due further in the future than one
+	 * revolution stay on the wheel for several revolutions.
+	 * <p>Default is {@value #DEFAULT_TICKS_PER_WHEEL}.
+	 */
+	public void setTicksPerWheel(int ticksPerWheel) {
+		Assert.isTrue(ticksPerWheel > 0 && ticksPerWheel <= (1 << 30), "'ticksPerWheel' must be between 1 and 2^30");
+		this.ticksPerWheel = ticksPerWheel;
+	}
+
+	/**
+	 * Return the number of ticks per revolution of the wheel.
+	 */
+	public int getTicksPerWheel() {
+		return this.ticksPerWheel;
+	}
+
+	/**
+	 * Set the executor to run tasks on, for example a
+	 * {@link ThreadPoolTaskExecutor}, or a virtual-thread-per-task executor on
+	 * JDK 21. The wheel thread then only triggers tasks, and tasks that take a
+	 * long time to complete do not delay other tasks.
+	 * <p>Executions of a fixed-rate task do not overlap: if a task is due while
+	 * its previous execution is still running, that execution is skipped and
+	 * counted as an {@linkplain TaskStatistics#getOverrunCount() overrun}.
+	 * <p>By default, tasks run on the wheel thread. Note that the lifecycle of
+	 * the given executor is not managed by this scheduler.
+	 */
+	public void setTaskExecutor(Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Set a custom {@link ErrorHandler} strategy.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Return the number of tasks on the wheel. Cancelled tasks are included
+	 * until the wheel reaches them, at most one revolution later.
+	 */
+	public int getScheduledTaskCount() {
+		Wheel wheel = this.wheel;
+		return (wheel != null ? wheel.taskCount.get() : 0);
+	}
+
+	/**
+	 * Return run-time statistics for the given task.
+	 * @param future the handle returned when the task was scheduled
+	 * @return the statistics, or {@code null} if the task was not scheduled
+	 * with this scheduler
+	 */
+	@Nullable
+	public TaskStatistics getTaskStatistics(ScheduledFuture<?> future) {
+		return (future instanceof WheelTask ? ((WheelTask) future).getStatistics() : null);
+	}
+
+
+	@Override
+	protected ExecutorService initializeExecutor(
+			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		int wheelSize = Integer.highestOneBit(this.ticksPerWheel);
+		wheelSize = (wheelSize < this.ticksPerWheel ? wheelSize << 1 : wheelSize);
+		Executor taskExecutor = (this.taskExecutor != null ? this.taskExecutor : Runnable::run);
+		Wheel wheel = new Wheel(wheelSize, TimeUnit.MILLISECONDS.toNanos(this.tickDuration), taskExecutor, this.logger);
+		ExecutorService executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), threadFactory, rejectedExecutionHandler);
+		executor.execute(wheel);
+		this.wheel = wheel;
+		return executor;
+	}
+
+	/**
+	 * Stop the wheel, cancelling all scheduled tasks, and shut down its thread.
+	 */
+	@Override
+	public void shutdown() {
+		Wheel wheel = this.wheel;
+		if (wheel != null) {
+			wheel.stop();
+		}
+		super.shutdown();
+	}
+
+	private Wheel getWheel() {
+		Wheel wheel = this.wheel;
+		Assert.state(wheel != null, "HashedWheelTaskScheduler not initialized");
+		return wheel;
+	}
+
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		Wheel wheel = getWheel();
+		WheelTask wheelTask = new WheelTask(errorHandlingTask(task, true), trigger);
+		Date nextExecutionTime = trigger.nextExecutionTime(wheelTask.triggerContext);
+		if (nextExecutionTime == null) {
+			return null;
+		}
+		wheelTask.scheduledExecutionTime = nextExecutionTime;
+		return wheel.schedule(wheelTask, toDeadline(nextExecutionTime), task);
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+		WheelTask wheelTask = new WheelTask(errorHandlingTask(task, false), 0);
+		return getWheel().schedule(wheelTask, toDeadline(startTime), task);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+		Assert.isTrue(period > 0, "'period' must be greater than 0");
+		WheelTask wheelTask = new WheelTask(errorHandlingTask(task, true), TimeUnit.MILLISECONDS.toNanos(period));
+		return getWheel().schedule(wheelTask, toDeadline(startTime), task);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+		return scheduleAtFixedRate(task, new Date(), period);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+		Assert.isTrue(delay > 0, "'delay' must be greater than 0");
+		WheelTask wheelTask = new WheelTask(errorHandlingTask(task, true), -TimeUnit.MILLISECONDS.toNanos(delay));
+		return getWheel().schedule(wheelTask, toDeadline(startTime), task);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+		return scheduleWithFixedDelay(task, new Date(), delay);
+	}
+
+	private Runnable errorHandlingTask(Runnable task, boolean isRepeatingTask) {
+		return TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, isRepeatingTask);
+	}
+
+	private static long toDeadline(Date time) {
+		return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(time.getTime() - System.currentTimeMillis());
+	}
+
+
+	/**
+	 * Run-time statistics of a scheduled task.
+	 * @see #getTaskStatistics
+	 */
+	public static final class TaskStatistics {
+
+		private final long executionCount;
+
+		private final long overrunCount;
+
+		private final long lastDuration;
+
+		private final long maxDuration;
+
+		private final long totalDuration;
+
+		TaskStatistics(long executionCount, long overrunCount, long lastDuration, long maxDuration, long totalDuration) {
+			this.executionCount = executionCount;
+			this.overrunCount = overrunCount;
+			this.lastDuration = lastDuration;
+			this.maxDuration = maxDuration;
+			this.totalDuration = totalDuration;
+		}
+
+		/**
+		 * Return the number of completed executions of the task.
+		 */
+		public long getExecutionCount() {
+			return this.executionCount;
+		}
+
+		/**
+		 * Return the number of executions of a fixed-rate task that were skipped
+		 * because the previous execution was still running.
+		 */
+		public long getOverrunCount() {
+			return this.overrunCount;
+		}
+
+		/**
+		 * Return the duration of the last completed execution.
+		 */
+		public Duration getLastDuration() {
+			return Duration.ofNanos(this.lastDuration);
+		}
+
+		/**
+		 * Return the duration of the longest execution.
+		 */
+		public Duration getMaxDuration() {
+			return Duration.ofNanos(this.maxDuration);
+		}
+
+		/**
+		 * Return the average duration of the completed executions.
+		 */
+		public Duration getAverageDuration() {
+			return Duration.ofNanos(this.executionCount > 0 ? this.totalDuration / this.executionCount : 0);
+		}
+
+		@Override
+		public String toString() {
+			return "executions=" + this.executionCount + ", overruns=" + this.overrunCount +
+					", last=" + getLastDuration().toMillis() + "ms, max=" + getMaxDuration().toMillis() +
+					"ms, average=" + getAverageDuration().toMillis() + "ms";
+		}
+	}
+
+
+	/**
+	 * The wheel, with a bucket of tasks for each tick, advanced by a single thread.
+	 * Newly scheduled tasks are queued, and added to their bucket by that thread.
+	 * Due tasks are handed to the task executor, and queued again once they
+	 * are to be rescheduled.
+	 */
+	private static class Wheel implements Runnable {
+
+		private final WheelTask[] buckets;
+
+		private final int mask;
+
+		private final long tickNanos;
+
+		private final Executor taskExecutor;
+
+		private final Log logger;
+
+		private final long startTime = System.nanoTime();
+
+		private final Queue<WheelTask> pendingTasks = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger taskCount = new AtomicInteger();
+
+		private volatile boolean running = true;
+
+		private long tick;
+
+		Wheel(int wheelSize, long tickNanos, Executor taskExecutor, Log logger) {
+			this.buckets = new WheelTask[wheelSize];
+			this.mask = wheelSize - 1;
+			this.tickNanos = tickNanos;
+			this.taskExecutor = taskExecutor;
+			this.logger = logger;
+		}
+
+		WheelTask schedule(WheelTask wheelTask, long deadline, Runnable task) {
+			if (!this.running) {
+				throw new TaskRejectedException("HashedWheelTaskScheduler has been shut down: did not accept task: " + task);
+			}
+			wheelTask.deadline = deadline;
+			this.taskCount.incrementAndGet();
+			requeue(wheelTask);
+			return wheelTask;
+		}
+
+		void requeue(WheelTask wheelTask) {
+			this.pendingTasks.add(wheelTask);
+			if (!this.running) {
+				// Stopped concurrently: remaining tasks may have been cancelled already
+				wheelTask.cancel(false);
+			}
+		}
+
+		void stop() {
+			this.running = false;
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (this.running && awaitNextTick()) {
+					addPendingTasks();
+					expireTasks(this.tick & this.mask);
+					this.tick++;
+				}
+			}
+			finally {
+				this.running = false;
+				cancelRemainingTasks();
+			}
+		}
+
+		private boolean awaitNextTick() {
+			long tickEnd = this.startTime + (this.tick + 1) * this.tickNanos;
+			long sleepTime = tickEnd - System.nanoTime();
+			while (sleepTime > 0) {
+				LockSupport.parkNanos(this, sleepTime);
+				if (Thread.currentThread().isInterrupted() || !this.running) {
+					return false;
+				}
+				sleepTime = tickEnd - System.nanoTime();
+			}
+			return true;
+		}
+
+		private void addPendingTasks() {
+			WheelTask task;
+			while ((task = this.pendingTasks.poll()) != null) {
+				if (task.isDone()) {
+					this.taskCount.decrementAndGet();
+					continue;
+				}
+				long taskTick = Math.max((task.deadline - this.startTime) / this.tickNanos, this.tick);
+				task.remainingRounds = (taskTick - this.tick) / this.buckets.length;
+				int index = (int) (taskTick & this.mask);
+				task.next = this.buckets[index];
+				this.buckets[index] = task;
+			}
+		}
+
+		private void expireTasks(long index) {
+			WheelTask previous = null;
+			WheelTask task = this.buckets[(int) index];
+			while (task != null) {
+				WheelTask next = task.next;
+				if (task.isDone() || task.remainingRounds <= 0) {
+					if (previous == null) {
+						this.buckets[(int) index] = next;
+					}
+					else {
+						previous.next = next;
+					}
+					task.next = null;
+					if (task.isDone()) {
+						this.taskCount.decrementAndGet();
+					}
+					else {
+						task.trigger(this);
+					}
+				}
+				else {
+					task.remainingRounds--;
+					previous = task;
+				}
+				task = next;
+			}
+		}
+
+		private void cancelRemainingTasks() {
+			for (int i = 0; i < this.buckets.length; i++) {
+				for (WheelTask task = this.buckets[i]; task != null; task = task.next) {
+					task.cancel(false);
+				}
+				this.buckets[i] = null;
+			}
+			WheelTask task;
+			while ((task = this.pendingTasks.poll()) != null) {
+				task.cancel(false);
+			}
+			this.taskCount.set(0);
+		}
+	}
+
+
+	/**
+	 * A task on the wheel, along with the {@code ScheduledFuture} handle for it.
+	 * Done tasks are removed from the wheel when it next reaches them.
+	 */
+	private static class WheelTask implements ScheduledFuture<Object> {
+
+		private static final int SCHEDULED = 0;
+
+		private static final int COMPLETED = 1;
+
+		private static final int FAILED = 2;
+
+		private static final int CANCELLED = 3;
+
+		private final Runnable task;
+
+		// > 0 for fixed rate, < 0 for fixed delay, 0 for one-time or trigger-based tasks
+		private final long period;
+
+		@Nullable
+		private final Trigger trigger;
+
+		private final SimpleTriggerContext triggerContext = new SimpleTriggerContext();
+
+		@Nullable
+		private Date scheduledExecutionTime;
+
+		private volatile long deadline;
+
+		private volatile int state = SCHEDULED;
+
+		@Nullable
+		private Throwable failure;
+
+		// Set while a fixed-rate task runs
+		private volatile boolean executing;
+
+		// Only updated by the thread that runs the task
+		private volatile long executionCount;
+
+		private volatile long lastDuration;
+
+		private volatile long maxDuration;
+
+		private volatile long totalDuration;
+
+		// Only updated by the wheel thread
+		private volatile long overrunCount;
+
+		// Only accessed by the wheel thread
+		private long remainingRounds;
+
+		@Nullable
+		private WheelTask next;
+
+		WheelTask(Runnable task, long period) {
+			this.task = task;
+			this.period = period;
+			this.trigger = null;
+		}
+
+		WheelTask(Runnable task, Trigger trigger) {
+			this.task = task;
+			this.period = 0;
+			this.trigger = trigger;
+		}
+
+		/**
+		 * Hand the task to the task executor, on the wheel thread. Fixed-rate
+		 * tasks are queued again right away, other tasks once they completed.
+		 */
+		void trigger(Wheel wheel) {
+			if (this.period > 0) {
+				this.deadline += this.period;
+				if (this.executing) {
+					this.overrunCount++;
+					if (wheel.logger.isDebugEnabled()) {
+						wheel.logger.debug("Skipping execution of " + this.task + ": previous execution still running");
+					}
+				}
+				else {
+					this.executing = true;
+					execute(wheel);
+				}
+				wheel.requeue(this);
+			}
+			else {
+				execute(wheel);
+			}
+		}
+
+		private void execute(Wheel wheel) {
+			try {
+				wheel.taskExecutor.execute(() -> run(wheel));
+			}
+			catch (RejectedExecutionException ex) {
+				this.executing = false;
+				complete(FAILED, new TaskRejectedException("Executor did not accept task: " + this.task, ex));
+				if (this.period <= 0) {
+					wheel.requeue(this);
+				}
+			}
+		}
+
+		private void run(Wheel wheel) {
+			if (isDone()) {
+				this.executing = false;
+				if (this.period <= 0) {
+					wheel.requeue(this);
+				}
+				return;
+			}
+			Date actualExecutionTime = (this.trigger != null ? new Date() : null);
+			long start = System.nanoTime();
+			try {
+				this.task.run();
+			}
+			catch (Throwable ex) {
+				complete(FAILED, ex);
+			}
+			finally {
+				long duration = System.nanoTime() - start;
+				this.lastDuration = duration;
+				this.maxDuration = Math.max(this.maxDuration, duration);
+				this.totalDuration += duration;
+				this.executionCount++;
+				this.executing = false;
+			}
+			if (this.period <= 0) {
+				if (!isDone()) {
+					scheduleNextExecution(actualExecutionTime);
+				}
+				// Queue it again, or let the wheel drop it if done
+				wheel.requeue(this);
+			}
+		}
+
+		private void scheduleNextExecution(@Nullable Date actualExecutionTime) {
+			if (this.period < 0) {
+				this.deadline = System.nanoTime() - this.period;
+			}
+			else if (this.trigger != null) {
+				Assert.state(this.scheduledExecutionTime != null && actualExecutionTime != null, "No execution time");
+				this.triggerContext.update(this.scheduledExecutionTime, actualExecutionTime, new Date());
+				this.scheduledExecutionTime = this.trigger.nextExecutionTime(this.triggerContext);
+				if (this.scheduledExecutionTime != null) {
+					this.deadline = toDeadline(this.scheduledExecutionTime);
+				}
+				else {
+					complete(COMPLETED, null);
+				}
+			}
+			else {
+				complete(COMPLETED, null);
+			}
+		}
+
+		TaskStatistics getStatistics() {
+			return new TaskStatistics(this.executionCount, this.overrunCount,
+					this.lastDuration, this.maxDuration, this.totalDuration);
+		}
+
+		private synchronized boolean complete(int state, @Nullable Throwable failure) {
+			if (this.state != SCHEDULED) {
+				return false;
+			}
+			this.failure = failure;
+			this.state = state;
+			notifyAll();
+			return true;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return complete(CANCELLED, null);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return (this.state == CANCELLED);
+		}
+
+		@Override
+		public boolean isDone() {
+			return (this.state != SCHEDULED);
+		}
+
+		@Override
+		@Nullable
+		public Object get() throws InterruptedException, ExecutionException {
+			synchronized (this) {
+				while (this.state == SCHEDULED) {
+					wait();
+				}
+			}
+			return getResult();
+		}
+
+		@Override
+		@Nullable
+		public Object get(long timeout, TimeUnit unit)
+				throws InterruptedException, ExecutionException, TimeoutException {
+
+			long end = System.nanoTime() + unit.toNanos(timeout);
+			synchronized (this) {
+				while (this.state == SCHEDULED) {
+					long remaining = end - System.nanoTime();
+					if (remaining <= 0) {
+						throw new TimeoutException();
+					}
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+				}
+			}
+			return getResult();
+		}
+
+		@Nullable
+		private Object getResult() throws ExecutionException {
+			if (this.state == CANCELLED) {
+				throw new CancellationException();
+			}
+			if (this.state == FAILED) {
+				throw new ExecutionException(this.failure);
+			}
+			return null;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (this == other) {
+				return 0;
+			}
+			long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+			return (diff == 0 ? 0 : (diff < 0 ? -1 : 1));
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,16 +16,17 @@
 
 package org.springframework.scheduling.support;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.BitSet;
-import java.util.Calendar;
-import java.util.Collections;
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.TimeZone;
 
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 /**
@@ -48,6 +49,12 @@ import org.springframework.util.StringUtils;
  * <li>"0 0 0 25 12 ?" = every Christmas Day at midnight</li>
  * </ul>
  *
+ * <p>The allowed values of each field are kept as bitmasks, with the days of
+ * the month and the days of the week combined into one mask per weekday that
+ * a month may start on. The next match of each field is therefore found in
+ * constant time, and calculating the next date does not create {@code Calendar}
+ * instances.
+ *
  * @author Dave Syer
  * @author Juergen Hoeller
  * @author Ruslan Sibgatullin
@@ -58,20 +65,25 @@ public class CronSequenceGenerator {
 
 	private final String expression;
 
-	@Nullable
-	private final TimeZone timeZone;
+	private final ZoneId zoneId;
+
+	// Bit 0 for January
+	private long months;
 
-	private final BitSet months = new BitSet(12);
+	// Bit 1 for the 1st
+	private long daysOfMonth;
 
-	private final BitSet daysOfMonth = new BitSet(31);
+	// Bit 0 for Sunday
+	private long daysOfWeek;
 
-	private final BitSet daysOfWeek = new BitSet(7);
+	private long hours;
 
-	private final BitSet hours = new BitSet(24);
+	private long minutes;
 
-	private final BitSet minutes = new BitSet(60);
+	private long seconds;
 
-	private final BitSet seconds = new BitSet(60);
+	// Matching days of the month, by the day of the week of the 1st (0 for Sunday)
+	private final long[] daysByFirstDayOfWeek = new long[7];
 
 
 	/**
@@ -94,13 +106,13 @@ public class CronSequenceGenerator {
 	 */
 	public CronSequenceGenerator(String expression, TimeZone timeZone) {
 		this.expression = expression;
-		this.timeZone = timeZone;
+		this.zoneId = timeZone.toZoneId();
 		parse(expression);
 	}
 
 	private CronSequenceGenerator(String expression, String[] fields) {
 		this.expression = expression;
-		this.timeZone = null;
+		this.zoneId = ZoneId.systemDefault();
 		doParse(fields);
 	}
 
@@ -121,144 +133,134 @@ public class CronSequenceGenerator {
 	 * @return the next value matching the pattern
 	 */
 	public Date next(Date date) {
-		/*
-		The plan:
-
-		1 Start with whole second (rounding up if necessary)
-
-		2 If seconds match move on, otherwise find the next match:
-		2.1 If next match is in the next minute then roll forwards
-
-		3 If minute matches move on, otherwise find the next match
-		3.1 If next match is in the next hour then roll forwards
-		3.2 Reset the seconds and go to 2
-
-		4 If hour matches move on, otherwise find the next match
-		4.1 If next match is in the next day then roll forwards,
-		4.2 Reset the minutes and seconds and go to 2
-		*/
-
-		Calendar calendar = new GregorianCalendar();
-		calendar.setTimeZone(this.timeZone);
-		calendar.setTime(date);
-
-		// First, just reset the milliseconds and try to calculate from there...
-		calendar.set(Calendar.MILLISECOND, 0);
-		long originalTimestamp = calendar.getTimeInMillis();
-		doNext(calendar, calendar.get(Calendar.YEAR));
+		return Date.from(next(toDateTime(date)).toInstant());
+	}
 
-		if (calendar.getTimeInMillis() == originalTimestamp) {
-			// We arrived at the original timestamp - round up to the next whole second and try again...
-			calendar.add(Calendar.SECOND, 1);
-			doNext(calendar, calendar.get(Calendar.YEAR));
+	/**
+	 * Get the next {@code count} {@link Date Dates} in the sequence matching the
+	 * Cron pattern and after the value provided, e.g. to show upcoming executions.
+	 * @param date a seed value
+	 * @param count the number of values to return
+	 * @return the next values matching the pattern, in ascending order
+	 * @since 5.1
+	 * @see #next(Date)
+	 */
+	public List<Date> next(Date date, int count) {
+		Assert.isTrue(count >= 0, "Count must not be negative");
+		List<Date> result = new ArrayList<>(count);
+		ZonedDateTime dateTime = toDateTime(date);
+		for (int i = 0; i < count; i++) {
+			dateTime = next(dateTime);
+			result.add(Date.from(dateTime.toInstant()));
 		}
+		return result;
+	}
 
-		return calendar.getTime();
+	private ZonedDateTime toDateTime(Date date) {
+		return ZonedDateTime.ofInstant(date.toInstant(), this.zoneId).truncatedTo(ChronoUnit.SECONDS);
 	}
 
-	private void doNext(Calendar calendar, int dot) {
-		List<Integer> resets = new ArrayList<>();
+	/**
+	 * Find the first date-time after the given one, which has a whole number
+	 * of seconds, that matches the pattern.
+	 */
+	private ZonedDateTime next(ZonedDateTime dateTime) {
+		/*
+		The plan:
 
-		int second = calendar.get(Calendar.SECOND);
-		List<Integer> emptyList = Collections.emptyList();
-		int updateSecond = findNext(this.seconds, second, calendar, Calendar.SECOND, Calendar.MINUTE, emptyList);
-		if (second == updateSecond) {
-			resets.add(Calendar.SECOND);
-		}
+		1 Start with the next whole second
 
-		int minute = calendar.get(Calendar.MINUTE);
-		int updateMinute = findNext(this.minutes, minute, calendar, Calendar.MINUTE, Calendar.HOUR_OF_DAY, resets);
-		if (minute == updateMinute) {
-			resets.add(Calendar.MINUTE);
-		}
-		else {
-			doNext(calendar, dot);
-		}
+		2 If the month matches move on, otherwise move to the start of the next
+		matching month, or of the next year and go to 2
 
-		int hour = calendar.get(Calendar.HOUR_OF_DAY);
-		int updateHour = findNext(this.hours, hour, calendar, Calendar.HOUR_OF_DAY, Calendar.DAY_OF_WEEK, resets);
-		if (hour == updateHour) {
-			resets.add(Calendar.HOUR_OF_DAY);
-		}
-		else {
-			doNext(calendar, dot);
-		}
+		3 If the day matches move on, otherwise find the next match:
+		3.1 If there is one in this month then move to the start of that day
+		3.2 Otherwise move to the start of the next month and go to 2
 
-		int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
-		int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
-		int updateDayOfMonth = findNextDay(calendar, this.daysOfMonth, dayOfMonth, daysOfWeek, dayOfWeek, resets);
-		if (dayOfMonth == updateDayOfMonth) {
-			resets.add(Calendar.DAY_OF_MONTH);
-		}
-		else {
-			doNext(calendar, dot);
-		}
+		4 Same for the hour, minute and second, rolling over to the next
+		day, hour and minute respectively
+		*/
 
-		int month = calendar.get(Calendar.MONTH);
-		int updateMonth = findNext(this.months, month, calendar, Calendar.MONTH, Calendar.YEAR, resets);
-		if (month != updateMonth) {
-			if (calendar.get(Calendar.YEAR) - dot > 4) {
+		int startYear = dateTime.getYear();
+		dateTime = dateTime.plusSeconds(1);
+		while (true) {
+			// The Gregorian calendar repeats itself every 400 years
+			if (dateTime.getYear() - startYear > 400) {
 				throw new IllegalArgumentException("Invalid cron expression \"" + this.expression +
 						"\" led to runaway search for next trigger");
 			}
-			doNext(calendar, dot);
-		}
 
-	}
+			int month = dateTime.getMonthValue() - 1;
+			int nextMonth = nextSetBit(this.months, month);
+			if (nextMonth != month) {
+				dateTime = dateTime.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+				dateTime = (nextMonth < 12 ? dateTime.withMonth(nextMonth + 1) : dateTime.plusYears(1).withMonth(1));
+				continue;
+			}
 
-	private int findNextDay(Calendar calendar, BitSet daysOfMonth, int dayOfMonth, BitSet daysOfWeek, int dayOfWeek,
-			List<Integer> resets) {
-
-		int count = 0;
-		int max = 366;
-		// the DAY_OF_WEEK values in java.util.Calendar start with 1 (Sunday),
-		// but in the cron pattern, they start with 0, so we subtract 1 here
-		while ((!daysOfMonth.get(dayOfMonth) || !daysOfWeek.get(dayOfWeek - 1)) && count++ < max) {
-			calendar.add(Calendar.DAY_OF_MONTH, 1);
-			dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
-			dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
-			reset(calendar, resets);
-		}
-		if (count >= max) {
-			throw new IllegalArgumentException("Overflow in day for expression \"" + this.expression + "\"");
+			int day = dateTime.getDayOfMonth();
+			int nextDay = nextSetBit(getDaysOfMonth(dateTime), day);
+			if (nextDay == 64) {
+				dateTime = dateTime.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1).plusMonths(1);
+				continue;
+			}
+			if (nextDay != day) {
+				dateTime = dateTime.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(nextDay);
+			}
+
+			int hour = dateTime.getHour();
+			int nextHour = nextSetBit(this.hours, hour);
+			if (nextHour == 64) {
+				dateTime = dateTime.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+				continue;
+			}
+			if (nextHour != hour) {
+				dateTime = dateTime.truncatedTo(ChronoUnit.DAYS).withHour(nextHour);
+				if (dateTime.getHour() != nextHour) {
+					// Skipped by a daylight saving time transition
+					continue;
+				}
+			}
+
+			int minute = dateTime.getMinute();
+			int nextMinute = nextSetBit(this.minutes, minute);
+			if (nextMinute == 64) {
+				dateTime = dateTime.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+				continue;
+			}
+			if (nextMinute != minute) {
+				dateTime = dateTime.truncatedTo(ChronoUnit.HOURS).withMinute(nextMinute);
+				if (dateTime.getMinute() != nextMinute) {
+					// Skipped by a daylight saving time transition
+					continue;
+				}
+			}
+
+			int second = dateTime.getSecond();
+			int nextSecond = nextSetBit(this.seconds, second);
+			if (nextSecond == 64) {
+				dateTime = dateTime.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+				continue;
+			}
+			return (nextSecond != second ? dateTime.withSecond(nextSecond) : dateTime);
 		}
-		return dayOfMonth;
 	}
 
 	/**
-	 * Search the bits provided for the next set bit after the value provided,
-	 * and reset the calendar.
-	 * @param bits a {@link BitSet} representing the allowed values of the field
-	 * @param value the current value of the field
-	 * @param calendar the calendar to increment as we move through the bits
-	 * @param field the field to increment in the calendar (@see
-	 * {@link Calendar} for the static constants defining valid fields)
-	 * @param lowerOrders the Calendar field ids that should be reset (i.e. the
-	 * ones of lower significance than the field of interest)
-	 * @return the value of the calendar field that is next in the sequence
+	 * Return the days of the month of the given date-time that match the pattern.
 	 */
-	private int findNext(BitSet bits, int value, Calendar calendar, int field, int nextField, List<Integer> lowerOrders) {
-		int nextValue = bits.nextSetBit(value);
-		// roll over if needed
-		if (nextValue == -1) {
-			calendar.add(nextField, 1);
-			reset(calendar, Collections.singletonList(field));
-			nextValue = bits.nextSetBit(0);
-		}
-		if (nextValue != value) {
-			calendar.set(field, nextValue);
-			reset(calendar, lowerOrders);
-		}
-		return nextValue;
+	private long getDaysOfMonth(ZonedDateTime dateTime) {
+		int firstDayOfWeek = (dateTime.getDayOfWeek().getValue() - dateTime.getDayOfMonth() + 1 + 35) % 7;
+		int length = dateTime.toLocalDate().lengthOfMonth();
+		return (this.daysByFirstDayOfWeek[firstDayOfWeek] & ((1L << (length + 1)) - 1));
 	}
 
 	/**
-	 * Reset the calendar setting all the fields provided to zero.
+	 * Return the index of the first bit that is set at or after the given index,
+	 * or 64 if there is none.
 	 */
-	private void reset(Calendar calendar, List<Integer> fields) {
-		for (int field : fields) {
-			calendar.set(field, field == Calendar.DAY_OF_MONTH ? 1 : 0);
-		}
+	private static int nextSetBit(long bits, int fromIndex) {
+		return Long.numberOfTrailingZeros(bits & (-1L << fromIndex));
 	}
 
 
@@ -277,20 +279,49 @@ public class CronSequenceGenerator {
 	}
 
 	private void doParse(String[] fields) {
-		setNumberHits(this.seconds, fields[0], 0, 60);
-		setNumberHits(this.minutes, fields[1], 0, 60);
-		setNumberHits(this.hours, fields[2], 0, 24);
-		setDaysOfMonth(this.daysOfMonth, fields[3]);
-		setMonths(this.months, fields[4]);
-		setDays(this.daysOfWeek, replaceOrdinals(fields[5], "SUN,MON,TUE,WED,THU,FRI,SAT"), 8);
-
-		if (this.daysOfWeek.get(7)) {
+		BitSet seconds = new BitSet(60);
+		BitSet minutes = new BitSet(60);
+		BitSet hours = new BitSet(24);
+		BitSet daysOfMonth = new BitSet(31);
+		BitSet months = new BitSet(12);
+		BitSet daysOfWeek = new BitSet(7);
+
+		setNumberHits(seconds, fields[0], 0, 60);
+		setNumberHits(minutes, fields[1], 0, 60);
+		setNumberHits(hours, fields[2], 0, 24);
+		setDaysOfMonth(daysOfMonth, fields[3]);
+		setMonths(months, fields[4]);
+		setDays(daysOfWeek, replaceOrdinals(fields[5], "SUN,MON,TUE,WED,THU,FRI,SAT"), 8);
+
+		if (daysOfWeek.get(7)) {
 			// Sunday can be represented as 0 or 7
-			this.daysOfWeek.set(0);
-			this.daysOfWeek.clear(7);
+			daysOfWeek.set(0);
+			daysOfWeek.clear(7);
+		}
+
+		this.seconds = toBitmask(seconds);
+		this.minutes = toBitmask(minutes);
+		this.hours = toBitmask(hours);
+		this.daysOfMonth = toBitmask(daysOfMonth);
+		this.months = toBitmask(months);
+		this.daysOfWeek = toBitmask(daysOfWeek);
+
+		for (int firstDayOfWeek = 0; firstDayOfWeek < 7; firstDayOfWeek++) {
+			long days = 0;
+			for (int day = 1; day <= 31; day++) {
+				if ((this.daysOfWeek & (1L << ((firstDayOfWeek + day - 1) % 7))) != 0) {
+					days |= (1L << day);
+				}
+			}
+			this.daysByFirstDayOfWeek[firstDayOfWeek] = (this.daysOfMonth & days);
 		}
 	}
 
+	private static long toBitmask(BitSet bits) {
+		long[] words = bits.toLongArray();
+		return (words.length > 0 ? words[0] : 0);
+	}
+
 	/**
 	 * Replace the values in the comma-separated list (case insensitive)
 	 * with their index in the list.
@@ -436,15 +467,16 @@ public class CronSequenceGenerator {
 			return false;
 		}
 		CronSequenceGenerator otherCron = (CronSequenceGenerator) other;
-		return (this.months.equals(otherCron.months) && this.daysOfMonth.equals(otherCron.daysOfMonth) &&
-				this.daysOfWeek.equals(otherCron.daysOfWeek) && this.hours.equals(otherCron.hours) &&
-				this.minutes.equals(otherCron.minutes) && this.seconds.equals(otherCron.seconds));
+		return (this.months == otherCron.months && this.daysOfMonth == otherCron.daysOfMonth &&
+				this.daysOfWeek == otherCron.daysOfWeek && this.hours == otherCron.hours &&
+				this.minutes == otherCron.minutes && this.seconds == otherCron.seconds);
 	}
 
 	@Override
 	public int hashCode() {
-		return (17 * this.months.hashCode() + 29 * this.daysOfMonth.hashCode() + 37 * this.daysOfWeek.hashCode() +
-				41 * this.hours.hashCode() + 53 * this.minutes.hashCode() + 61 * this.seconds.hashCode());
+		return (17 * Long.hashCode(this.months) + 29 * Long.hashCode(this.daysOfMonth) +
+				37 * Long.hashCode(this.daysOfWeek) + 41 * Long.hashCode(this.hours) +
+				53 * Long.hashCode(this.minutes) + 61 * Long.hashCode(this.seconds));
 	}
 
 	@Override
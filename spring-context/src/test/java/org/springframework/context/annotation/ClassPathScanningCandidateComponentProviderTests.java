@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,10 @@
 
 package org.springframework.context.annotation;
 
+import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -47,6 +49,8 @@ import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.RegexPatternTypeFilter;
@@ -282,6 +286,43 @@ public class ClassPathScanningCandidateComponentProviderTests {
 		assertBeanDefinitionType(candidates, expectedBeanDefinitionType);
 	}
 
+	@Test
+	public void assignableTypeExcludeFilterWithScan() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		testAssignableTypeExclude(provider, ScannedGenericBeanDefinition.class);
+	}
+
+	@Test
+	public void assignableTypeExcludeFilterWithIndex() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+		provider.setResourceLoader(new DefaultResourceLoader(TEST_BASE_CLASSLOADER));
+		Set<String> readTypes = new HashSet<>();
+		provider.setMetadataReaderFactory(new CachingMetadataReaderFactory(TEST_BASE_CLASSLOADER) {
+			@Override
+			public MetadataReader getMetadataReader(String className) throws IOException {
+				readTypes.add(className);
+				return super.getMetadataReader(className);
+			}
+		});
+		testAssignableTypeExclude(provider, AnnotatedGenericBeanDefinition.class);
+		// Excluded through the index, without reading its metadata
+		assertFalse(readTypes.contains(FooServiceImpl.class.getName()));
+	}
+
+	private void testAssignableTypeExclude(ClassPathScanningCandidateComponentProvider provider,
+			Class<? extends BeanDefinition> expectedBeanDefinitionType) {
+		provider.addIncludeFilter(new AnnotationTypeFilter(Component.class));
+		provider.addExcludeFilter(new AssignableTypeFilter(FooService.class));
+		Set<BeanDefinition> candidates = provider.findCandidateComponents(TEST_BASE_PACKAGE);
+		assertFalse(containsBeanClass(candidates, FooServiceImpl.class));
+		assertTrue(containsBeanClass(candidates, StubFooDao.class));
+		assertTrue(containsBeanClass(candidates, BarComponent.class));
+		assertEquals(6, candidates.size());
+		assertBeanDefinitionType(candidates, expectedBeanDefinitionType);
+	}
+
 	@Test
 	public void testWithNoFilters() {
 		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import org.junit.Test;
 
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.ReflectionUtils;
 
 import static org.junit.Assert.*;
@@ -64,6 +65,33 @@ public class CachedExpressionEvaluatorTests {
 		assertEquals("Cached expression should be based on type", 2, expressionEvaluator.testCache.size());
 	}
 
+	@Test
+	public void sharedExpressionCache() {
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		AnnotatedElementKey elementKey = new AnnotatedElementKey(method, getClass());
+
+		Expression expression = expressionEvaluator.getExpression(elementKey, "true");
+		assertSame(expression, expressionEvaluator.getExpression(elementKey, "true"));
+		assertSame(expression, expressionEvaluator.getExpression(elementKey, "true"));
+		hasParsedExpression("true");
+		assertEquals(1, expressionEvaluator.getCacheSize());
+
+		expressionEvaluator.clearExpressionCache();
+		assertEquals(0, expressionEvaluator.getCacheSize());
+		assertNotSame(expression, expressionEvaluator.getExpression(elementKey, "true"));
+	}
+
+	@Test
+	public void preparedEvaluationContextsSharePropertyAccessor() {
+		StandardEvaluationContext context1 = new StandardEvaluationContext();
+		StandardEvaluationContext context2 = new StandardEvaluationContext();
+		expressionEvaluator.prepareEvaluationContext(context1);
+		expressionEvaluator.prepareEvaluationContext(context2);
+		assertEquals(1, context1.getPropertyAccessors().size());
+		assertSame(context1.getPropertyAccessors().get(0), context2.getPropertyAccessors().get(0));
+		assertNotSame(context1.getPropertyAccessors(), context2.getPropertyAccessors());
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
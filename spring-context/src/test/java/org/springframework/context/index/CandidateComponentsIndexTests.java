@@ -50,6 +50,22 @@ public class CandidateComponentsIndexTests {
 		assertThat(actual, containsInAnyOrder("com.example.service.sub.Two"));
 	}
 
+	@Test
+	public void getCandidateTypesWithPattern() {
+		CandidateComponentsIndex index = new CandidateComponentsIndex(
+				Collections.singletonList(createSampleProperties()));
+		Set<String> actual = index.getCandidateTypes("com.example.*.sub", "service");
+		assertThat(actual, containsInAnyOrder("com.example.service.sub.Two"));
+	}
+
+	@Test
+	public void getCandidateTypesWithPatternNoMatch() {
+		CandidateComponentsIndex index = new CandidateComponentsIndex(
+				Collections.singletonList(createSampleProperties()));
+		Set<String> actual = index.getCandidateTypes("com.*.domain", "service");
+		assertThat(actual, hasSize(0));
+	}
+
 	@Test
 	public void getCandidateTypesSubPackageNoMatch() {
 		CandidateComponentsIndex index = new CandidateComponentsIndex(
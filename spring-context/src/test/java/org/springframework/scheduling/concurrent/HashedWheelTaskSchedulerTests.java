@@ -0,0 +1,249 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.Date;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link HashedWheelTaskScheduler}.
+ */
+public class HashedWheelTaskSchedulerTests {
+
+	private final HashedWheelTaskScheduler scheduler = new HashedWheelTaskScheduler();
+
+
+	@Before
+	public void setup() {
+		this.scheduler.setTickDuration(10);
+		this.scheduler.setTicksPerWheel(8);
+		this.scheduler.setThreadNamePrefix("wheel-");
+		this.scheduler.afterPropertiesSet();
+	}
+
+	@After
+	public void shutdown() {
+		this.scheduler.shutdown();
+	}
+
+
+	@Test
+	public void scheduleOneTimeTask() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.schedule(count::incrementAndGet, new Date());
+
+		assertNull(future.get(1000, TimeUnit.MILLISECONDS));
+		assertTrue(future.isDone());
+		assertFalse(future.isCancelled());
+		assertEquals(1, count.get());
+	}
+
+	@Test
+	public void scheduleOneTimeTaskBeyondOneRevolution() throws Exception {
+		long start = System.currentTimeMillis();
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {}, new Date(start + 200));
+
+		future.get(1000, TimeUnit.MILLISECONDS);
+		assertTrue(System.currentTimeMillis() - start >= 200);
+	}
+
+	@Test(expected = ExecutionException.class)
+	public void scheduleOneTimeFailingTaskWithoutErrorHandler() throws Exception {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {
+			throw new IllegalStateException("Expected test exception");
+		}, new Date());
+		future.get(1000, TimeUnit.MILLISECONDS);
+	}
+
+	@Test
+	public void scheduleAtFixedRate() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(latch::countDown, 20);
+
+		assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+		assertTrue(future.cancel(false));
+		assertTrue(future.isCancelled());
+	}
+
+	@Test
+	public void scheduleWithFixedDelayAndFailingTask() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.scheduleWithFixedDelay(() -> {
+			latch.countDown();
+			throw new IllegalStateException("Expected test exception");
+		}, 20);
+
+		assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+		assertFalse(future.isDone());
+		future.cancel(false);
+	}
+
+	@Test
+	public void scheduleWithTrigger() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		Trigger trigger = triggerContext -> (triggerContext.lastCompletionTime() == null || count.get() < 3 ?
+				new Date(System.currentTimeMillis() + 20) : null);
+		ScheduledFuture<?> future = this.scheduler.schedule(count::incrementAndGet, trigger);
+
+		assertNull(future.get(1000, TimeUnit.MILLISECONDS));
+		assertEquals(3, count.get());
+	}
+
+	@Test(expected = CancellationException.class)
+	public void cancelledTaskDoesNotRun() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.schedule(count::incrementAndGet, new Date(System.currentTimeMillis() + 50));
+		assertTrue(future.cancel(false));
+
+		Thread.sleep(100);
+		assertEquals(0, count.get());
+		assertEquals(0, this.scheduler.getScheduledTaskCount());
+		future.get();
+	}
+
+	@Test
+	public void slowTaskDoesNotDelayOthersWithTaskExecutor() throws Exception {
+		ExecutorService executor = Executors.newCachedThreadPool();
+		HashedWheelTaskScheduler scheduler = initScheduler(executor);
+		CountDownLatch slowTaskLatch = new CountDownLatch(1);
+		try {
+			scheduler.schedule(() -> awaitLatch(slowTaskLatch), new Date());
+			ScheduledFuture<?> future = scheduler.schedule(() -> {}, new Date(System.currentTimeMillis() + 20));
+
+			future.get(1000, TimeUnit.MILLISECONDS);
+			assertEquals(1, slowTaskLatch.getCount());
+		}
+		finally {
+			slowTaskLatch.countDown();
+			scheduler.shutdown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void fixedRateTaskOverrunWithTaskExecutor() throws Exception {
+		ExecutorService executor = Executors.newCachedThreadPool();
+		HashedWheelTaskScheduler scheduler = initScheduler(executor);
+		AtomicInteger concurrentExecutions = new AtomicInteger();
+		AtomicInteger maxConcurrentExecutions = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(2);
+		try {
+			ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
+				maxConcurrentExecutions.accumulateAndGet(concurrentExecutions.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(50);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				concurrentExecutions.decrementAndGet();
+				latch.countDown();
+			}, 10);
+
+			assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+			future.cancel(false);
+			HashedWheelTaskScheduler.TaskStatistics statistics = scheduler.getTaskStatistics(future);
+			assertNotNull(statistics);
+			assertTrue(statistics.getExecutionCount() >= 1);
+			assertTrue(statistics.getOverrunCount() > 0);
+			assertTrue(statistics.getMaxDuration().toMillis() >= 50);
+			assertEquals(1, maxConcurrentExecutions.get());
+		}
+		finally {
+			scheduler.shutdown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void taskStatistics() throws Exception {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {}, new Date());
+		future.get(1000, TimeUnit.MILLISECONDS);
+
+		HashedWheelTaskScheduler.TaskStatistics statistics = this.scheduler.getTaskStatistics(future);
+		assertNotNull(statistics);
+		assertEquals(1, statistics.getExecutionCount());
+		assertEquals(0, statistics.getOverrunCount());
+		assertEquals(statistics.getLastDuration(), statistics.getAverageDuration());
+	}
+
+	@Test
+	public void scheduledTaskRegistrar() throws Exception {
+		CountDownLatch latch = new CountDownLatch(4);
+		ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+		registrar.setTaskScheduler(this.scheduler);
+		registrar.addFixedRateTask(latch::countDown, 20);
+		registrar.addFixedDelayTask(latch::countDown, 20);
+		registrar.afterPropertiesSet();
+
+		assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+		registrar.destroy();
+	}
+
+	@Test
+	public void shutdownCancelsTasks() {
+		ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(() -> {}, 1000);
+		this.scheduler.setAwaitTerminationSeconds(1);
+		this.scheduler.shutdown();
+
+		assertTrue(future.isCancelled());
+		try {
+			this.scheduler.schedule(() -> {}, new Date());
+			fail("Expected TaskRejectedException");
+		}
+		catch (TaskRejectedException ex) {
+			// expected
+		}
+	}
+
+
+	private static HashedWheelTaskScheduler initScheduler(ExecutorService executor) {
+		HashedWheelTaskScheduler scheduler = new HashedWheelTaskScheduler();
+		scheduler.setTickDuration(10);
+		scheduler.setTicksPerWheel(8);
+		scheduler.setTaskExecutor(executor);
+		scheduler.afterPropertiesSet();
+		return scheduler;
+	}
+
+	private static void awaitLatch(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
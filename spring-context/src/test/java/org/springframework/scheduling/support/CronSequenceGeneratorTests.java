@@ -16,7 +16,9 @@
 
 package org.springframework.scheduling.support;
 
+import java.util.Arrays;
 import java.util.Date;
+import java.util.TimeZone;
 
 import org.junit.Test;
 
@@ -47,6 +49,32 @@ public class CronSequenceGeneratorTests {
 				new CronSequenceGenerator("0 */2 1-4 * * *").next(new Date(2012, 6, 1, 9, 0)));
 	}
 
+	@Test
+	public void secondsResetWhenMovingToNextMinute() {
+		assertEquals(new Date(2012, 6, 1, 10, 0),
+				new CronSequenceGenerator("*/15 0/30 * * * *").next(new Date(2012, 6, 1, 9, 53, 1)));
+	}
+
+	@Test
+	public void dayOfMonthAndDayOfWeekMoreThanOneYearAhead() {
+		assertEquals(new Date(2032, 1, 29, 0, 0),
+				new CronSequenceGenerator("0 0 0 29 FEB MON").next(new Date(2012, 6, 1, 9, 0)));
+	}
+
+	@Test
+	public void nextCount() {
+		CronSequenceGenerator generator = new CronSequenceGenerator("0 0 12 * * MON-FRI", TimeZone.getTimeZone("UTC"));
+		Date date = new Date(1341144000000L);  // Sunday, 1 July 2012, 12:00 UTC
+		assertEquals(Arrays.asList(new Date(1341230400000L), new Date(1341316800000L), new Date(1341403200000L),
+				new Date(1341489600000L), new Date(1341576000000L), new Date(1341835200000L)),
+				generator.next(date, 6));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void withImpossibleDayOfMonth() {
+		new CronSequenceGenerator("0 0 0 30 FEB *").next(new Date(2012, 6, 1, 9, 0));
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void with0Increment() {
 		new CronSequenceGenerator("*/0 * * * * *").next(new Date(2012, 6, 1, 9, 0));
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for the common {@link AnnotationUtils} and
+ * {@link AnnotatedElementUtils} lookups on classes and methods,
+ * including meta-annotations with attribute overrides.
+ *
+ * @since 5.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AnnotationLookupBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Class<?> annotatedClass;
+
+		public Method annotatedMethod;
+
+		public Method inheritedMethod;
+
+		@Setup
+		public void setup() throws Exception {
+			this.annotatedClass = AnnotatedService.class;
+			this.annotatedMethod = AnnotatedService.class.getMethod("handle", String.class);
+			this.inheritedMethod = AnnotatedService.class.getMethod("inherited");
+		}
+	}
+
+
+	@Benchmark
+	public Object findAnnotationOnClass(BenchmarkState state) {
+		return AnnotationUtils.findAnnotation(state.annotatedClass, Stereotype.class);
+	}
+
+	@Benchmark
+	public Object findAnnotationOnInheritedMethod(BenchmarkState state) {
+		return AnnotationUtils.findAnnotation(state.inheritedMethod, Handler.class);
+	}
+
+	@Benchmark
+	public Object getMergedAnnotationOnClass(BenchmarkState state) {
+		return AnnotatedElementUtils.getMergedAnnotation(state.annotatedClass, Stereotype.class);
+	}
+
+	@Benchmark
+	public Object findMergedAnnotationOnMethod(BenchmarkState state) {
+		return AnnotatedElementUtils.findMergedAnnotation(state.annotatedMethod, Handler.class);
+	}
+
+	@Benchmark
+	public boolean hasAnnotationOnMethod(BenchmarkState state) {
+		return AnnotatedElementUtils.hasAnnotation(state.annotatedMethod, Handler.class);
+	}
+
+	@Benchmark
+	public Object getMergedAnnotationAttributesOnMethod(BenchmarkState state) {
+		return AnnotatedElementUtils.getMergedAnnotationAttributes(state.annotatedMethod, Handler.class);
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+	public @interface Stereotype {
+
+		String value() default "";
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	@Stereotype
+	public @interface Service {
+
+		@AliasFor(annotation = Stereotype.class)
+		String value() default "";
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	public @interface Handler {
+
+		@AliasFor("path")
+		String[] value() default {};
+
+		@AliasFor("value")
+		String[] path() default {};
+
+		String method() default "";
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.METHOD)
+	@Handler(method = "GET")
+	public @interface GetHandler {
+
+		@AliasFor(annotation = Handler.class)
+		String[] value() default {};
+	}
+
+	public interface ServiceContract {
+
+		@Handler("/inherited")
+		void inherited();
+	}
+
+	@Service("annotatedService")
+	public static class AnnotatedService implements ServiceContract {
+
+		@GetHandler("/handle")
+		public void handle(String input) {
+		}
+
+		@Override
+		public void inherited() {
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Invokes a specific {@link Method}, possibly through a generated class calling
+ * the method directly rather than through reflection.
+ *
+ * <p>Implementations follow the contract of {@link Method#invoke}, including the
+ * exceptions thrown: an exception thrown by the invoked method is wrapped in an
+ * {@link InvocationTargetException}, while an invalid target or invalid arguments
+ * lead to an {@link IllegalArgumentException}.
+ *
+ * @since 5.1
+ * @see MethodAccessorFactory#getAccessor(Method)
+ */
+@FunctionalInterface
+public interface MethodAccessor {
+
+	/**
+	 * Invoke the underlying method on the given target with the given arguments.
+	 * @param target the target object to invoke the method on
+	 * (or {@code null} for a static method)
+	 * @param args the arguments for the method invocation
+	 * @return the value returned by the method, or {@code null} for a
+	 * {@code void} method
+	 * @throws IllegalAccessException if the method is not accessible
+	 * @throws InvocationTargetException if the method threw an exception
+	 * @see Method#invoke(Object, Object...)
+	 */
+	@Nullable
+	Object invoke(@Nullable Object target, @Nullable Object... args)
+			throws IllegalAccessException, InvocationTargetException;
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cglib.core.SpringNamingPolicy;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Factory for {@link MethodAccessor} instances, cached per {@link Method}.
+ *
+ * <p>Where possible, the returned accessors invoke the method through a CGLIB
+ * {@link FastClass} generated for the declaring class, which calls the method
+ * directly instead of going through reflective dispatch. Private methods,
+ * methods declared by JDK classes and methods for which no such class can be
+ * generated fall back to {@link Method#invoke}, as do invocations with
+ * arguments that would require a widening conversion.
+ *
+ * @since 5.1
+ */
+public abstract class MethodAccessorFactory {
+
+	/**
+	 * System property that instructs Spring to always invoke methods through
+	 * reflection, not attempting to generate classes for direct invocation:
+	 * "spring.methodaccessor.ignore".
+	 * <p>The default is "false", generating accessor classes where possible.
+	 */
+	public static final String IGNORE_GENERATED_ACCESSORS_PROPERTY_NAME = "spring.methodaccessor.ignore";
+
+	private static final boolean shouldIgnoreGeneratedAccessors =
+			SpringProperties.getFlag(IGNORE_GENERATED_ACCESSORS_PROPERTY_NAME);
+
+	private static final Log logger = LogFactory.getLog(MethodAccessorFactory.class);
+
+	private static final Map<Method, MethodAccessor> accessorCache = new ConcurrentReferenceHashMap<>(256);
+
+
+	/**
+	 * Return a {@link MethodAccessor} for the given method.
+	 * @param method the method to invoke
+	 * @return the corresponding accessor (never {@code null})
+	 */
+	public static MethodAccessor getAccessor(Method method) {
+		Assert.notNull(method, "Method must not be null");
+		MethodAccessor accessor = accessorCache.get(method);
+		if (accessor == null) {
+			accessor = createAccessor(method);
+			accessorCache.put(method, accessor);
+		}
+		return accessor;
+	}
+
+	/**
+	 * Clear the accessor cache, removing all references to generated classes.
+	 */
+	public static void clearCache() {
+		accessorCache.clear();
+	}
+
+	private static MethodAccessor createAccessor(Method method) {
+		if (!shouldIgnoreGeneratedAccessors && isEligibleForGeneration(method)) {
+			try {
+				FastClass fastClass = createFastClass(method.getDeclaringClass());
+				int index = fastClass.getIndex(method.getName(), method.getParameterTypes());
+				if (index >= 0) {
+					return new FastClassMethodAccessor(method, fastClass, index);
+				}
+			}
+			catch (Throwable ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Falling back to reflective invocation of method [" + method + "]", ex);
+				}
+			}
+		}
+		return new ReflectiveMethodAccessor(method);
+	}
+
+	private static boolean isEligibleForGeneration(Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		return (!Modifier.isPrivate(method.getModifiers()) && declaringClass.getClassLoader() != null &&
+				!declaringClass.isArray() && !declaringClass.getName().startsWith("java."));
+	}
+
+	private static FastClass createFastClass(Class<?> type) {
+		FastClass.Generator generator = new FastClass.Generator();
+		generator.setType(type);
+		generator.setContextClass(type);
+		generator.setClassLoader(type.getClassLoader());
+		generator.setNamingPolicy(SpringNamingPolicy.INSTANCE);
+		return generator.create();
+	}
+
+
+	/**
+	 * {@link MethodAccessor} invoking the method through {@link Method#invoke}.
+	 */
+	private static class ReflectiveMethodAccessor implements MethodAccessor {
+
+		private final Method method;
+
+		public ReflectiveMethodAccessor(Method method) {
+			ReflectionUtils.makeAccessible(method);
+			this.method = method;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(@Nullable Object target, @Nullable Object... args)
+				throws IllegalAccessException, InvocationTargetException {
+
+			return this.method.invoke(target, args);
+		}
+	}
+
+
+	/**
+	 * {@link MethodAccessor} invoking the method directly through a generated
+	 * {@link FastClass}, as long as the target and the arguments match the method
+	 * signature exactly. Anything else is passed on to {@link Method#invoke},
+	 * applying its conversion rules and raising its exceptions.
+	 */
+	private static class FastClassMethodAccessor extends ReflectiveMethodAccessor {
+
+		private final Class<?> declaringClass;
+
+		private final Class<?>[] parameterTypes;
+
+		private final boolean isStatic;
+
+		private final FastClass fastClass;
+
+		private final int index;
+
+		public FastClassMethodAccessor(Method method, FastClass fastClass, int index) {
+			super(method);
+			this.declaringClass = method.getDeclaringClass();
+			this.parameterTypes = method.getParameterTypes();
+			this.isStatic = Modifier.isStatic(method.getModifiers());
+			this.fastClass = fastClass;
+			this.index = index;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(@Nullable Object target, @Nullable Object... args)
+				throws IllegalAccessException, InvocationTargetException {
+
+			if (isDirectlyInvocable(target, args)) {
+				return this.fastClass.invoke(this.index, target, args);
+			}
+			return super.invoke(target, args);
+		}
+
+		private boolean isDirectlyInvocable(@Nullable Object target, @Nullable Object[] args) {
+			if (!this.isStatic && !this.declaringClass.isInstance(target)) {
+				return false;
+			}
+			int argCount = (args != null ? args.length : 0);
+			if (argCount != this.parameterTypes.length) {
+				return false;
+			}
+			for (int i = 0; i < argCount; i++) {
+				// Not accepting widening conversions of primitive values, e.g. Integer to long
+				if (!ClassUtils.isAssignableValue(this.parameterTypes[i], args[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
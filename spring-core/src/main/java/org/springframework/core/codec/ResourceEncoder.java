@@ -16,7 +16,10 @@
 
 package org.springframework.core.codec;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Map;
 
 import reactor.core.publisher.Flux;
@@ -45,6 +48,8 @@ public class ResourceEncoder extends AbstractSingleValueEncoder<Resource> {
 
 	private final int bufferSize;
 
+	private long memoryMappingThreshold = 0;
+
 
 	public ResourceEncoder() {
 		this(DEFAULT_BUFFER_SIZE);
@@ -57,6 +62,27 @@ public class ResourceEncoder extends AbstractSingleValueEncoder<Resource> {
 	}
 
 
+	/**
+	 * Set the minimum size of file resources to wrap memory-mapped sections of,
+	 * rather than copying their content into allocated buffers.
+	 * <p>By default this is 0, i.e. files are never memory-mapped.
+	 * @param memoryMappingThreshold the minimum size in bytes, or 0 to disable
+	 * @since 5.1
+	 * @see DataBufferUtils#readMappedFileChannel
+	 */
+	public void setMemoryMappingThreshold(long memoryMappingThreshold) {
+		this.memoryMappingThreshold = memoryMappingThreshold;
+	}
+
+	/**
+	 * Return the minimum size of file resources to memory-map.
+	 * @since 5.1
+	 */
+	public long getMemoryMappingThreshold() {
+		return this.memoryMappingThreshold;
+	}
+
+
 	@Override
 	public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		Class<?> clazz = elementType.resolve(Object.class);
@@ -67,6 +93,20 @@ public class ResourceEncoder extends AbstractSingleValueEncoder<Resource> {
 	protected Flux<DataBuffer> encode(Resource resource, DataBufferFactory dataBufferFactory,
 			ResolvableType type, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
+		if (this.memoryMappingThreshold > 0 && resource.isFile()) {
+			try {
+				File file = resource.getFile();
+				long length = file.length();
+				if (length >= this.memoryMappingThreshold) {
+					return DataBufferUtils.readMappedFileChannel(
+							() -> FileChannel.open(file.toPath(), StandardOpenOption.READ),
+							0, length, dataBufferFactory, this.bufferSize);
+				}
+			}
+			catch (IOException ex) {
+				// fall back to regular reading, below
+			}
+		}
 		return DataBufferUtils.read(resource, dataBufferFactory, this.bufferSize);
 	}
 
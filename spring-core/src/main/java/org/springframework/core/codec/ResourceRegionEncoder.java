@@ -16,9 +16,12 @@
 
 package org.springframework.core.codec;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Map;
 import java.util.OptionalLong;
 
@@ -53,6 +56,8 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 
 	private final int bufferSize;
 
+	private long memoryMappingThreshold = 0;
+
 
 	public ResourceRegionEncoder() {
 		this(DEFAULT_BUFFER_SIZE);
@@ -64,6 +69,27 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 		this.bufferSize = bufferSize;
 	}
 
+	/**
+	 * Set the minimum size of regions of file resources to wrap memory-mapped
+	 * sections of, rather than copying their content into allocated buffers.
+	 * <p>By default this is 0, i.e. files are never memory-mapped.
+	 * @param memoryMappingThreshold the minimum size in bytes, or 0 to disable
+	 * @since 5.1
+	 * @see DataBufferUtils#readMappedFileChannel
+	 */
+	public void setMemoryMappingThreshold(long memoryMappingThreshold) {
+		this.memoryMappingThreshold = memoryMappingThreshold;
+	}
+
+	/**
+	 * Return the minimum size of regions of file resources to memory-map.
+	 * @since 5.1
+	 */
+	public long getMemoryMappingThreshold() {
+		return this.memoryMappingThreshold;
+	}
+
+
 	@Override
 	public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		return super.canEncode(elementType, mimeType)
@@ -115,6 +141,18 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 	private Flux<DataBuffer> writeResourceRegion(ResourceRegion region, DataBufferFactory bufferFactory) {
 		Resource resource = region.getResource();
 		long position = region.getPosition();
+		if (this.memoryMappingThreshold > 0 && region.getCount() >= this.memoryMappingThreshold &&
+				resource.isFile()) {
+			try {
+				File file = resource.getFile();
+				return DataBufferUtils.readMappedFileChannel(
+						() -> FileChannel.open(file.toPath(), StandardOpenOption.READ),
+						position, region.getCount(), bufferFactory, this.bufferSize);
+			}
+			catch (IOException ex) {
+				// fall back to regular reading, below
+			}
+		}
 		Flux<DataBuffer> in = DataBufferUtils.read(resource, position, bufferFactory, this.bufferSize);
 		return DataBufferUtils.takeUntilByteCount(in, region.getCount());
 	}
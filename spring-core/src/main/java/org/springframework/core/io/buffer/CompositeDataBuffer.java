@@ -0,0 +1,626 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link DataBuffer} that presents a sequence of other buffers as a single
+ * buffer, without copying their content. Created by
+ * {@link DefaultDataBufferFactory#join(List)}.
+ *
+ * <p>Reading, searching and {@linkplain #asInputStream() streaming} work across
+ * the underlying buffers. {@link #slice(int, int)} shares memory with the
+ * underlying buffers. {@link #asByteBuffer(int, int)} does so as well if the
+ * requested range lies within a single underlying buffer, and copies the
+ * requested range otherwise. {@link #asByteBuffers()} exposes the readable
+ * bytes of each underlying buffer without copying.
+ *
+ * <p>Writing beyond the capacity of a composite adds a new buffer obtained from
+ * the {@linkplain #factory() factory}. The underlying buffers are released
+ * when the composite itself is {@linkplain #release() released}. Slices share
+ * the reference count of the composite, so that a retained slice keeps the
+ * underlying buffers from being released. Byte buffers obtained from the
+ * composite must not be used once it has been released.
+ *
+ * @since 5.1
+ * @see DefaultDataBufferFactory#join(List)
+ */
+public class CompositeDataBuffer implements PooledDataBuffer {
+
+	private static final int MIN_COMPONENT_CAPACITY = 256;
+
+
+	private final DataBufferFactory dataBufferFactory;
+
+	// The composite that this one is a slice of, sharing its reference count
+	@Nullable
+	private final CompositeDataBuffer parent;
+
+	private final List<Component> components = new ArrayList<>();
+
+	private final List<DataBuffer> ownedBuffers = new ArrayList<>();
+
+	private final AtomicInteger refCount = new AtomicInteger(1);
+
+	private int readPosition;
+
+	private int writePosition;
+
+	private int capacity;
+
+
+	/**
+	 * Create a new {@code CompositeDataBuffer} for the readable bytes of the
+	 * given buffers, which are released along with the composite.
+	 * @param dataBufferFactory the factory to allocate additional buffers with
+	 * @param dataBuffers the buffers to compose
+	 */
+	CompositeDataBuffer(DataBufferFactory dataBufferFactory, List<? extends DataBuffer> dataBuffers) {
+		Assert.notNull(dataBufferFactory, "'dataBufferFactory' must not be null");
+		Assert.notNull(dataBuffers, "'dataBuffers' must not be null");
+		this.dataBufferFactory = dataBufferFactory;
+		this.parent = null;
+		for (DataBuffer dataBuffer : dataBuffers) {
+			if (dataBuffer instanceof CompositeDataBuffer) {
+				for (ByteBuffer byteBuffer : ((CompositeDataBuffer) dataBuffer).asByteBuffers()) {
+					addComponent(byteBuffer);
+				}
+			}
+			else {
+				addComponent(dataBuffer.asByteBuffer());
+			}
+			this.ownedBuffers.add(dataBuffer);
+		}
+		this.writePosition = this.capacity;
+	}
+
+	private CompositeDataBuffer(DataBufferFactory dataBufferFactory, CompositeDataBuffer parent) {
+		this.dataBufferFactory = dataBufferFactory;
+		this.parent = parent;
+	}
+
+
+	@Override
+	public DataBufferFactory factory() {
+		return this.dataBufferFactory;
+	}
+
+	@Override
+	public int indexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "'predicate' must not be null");
+
+		if (fromIndex < 0) {
+			fromIndex = 0;
+		}
+		else if (fromIndex >= this.writePosition) {
+			return -1;
+		}
+		for (int i = componentIndex(fromIndex); i < this.components.size(); i++) {
+			Component component = this.components.get(i);
+			int end = Math.min(component.end(), this.writePosition);
+			for (int j = Math.max(fromIndex, component.offset); j < end; j++) {
+				if (predicate.test(component.byteBuffer.get(j - component.offset))) {
+					return j;
+				}
+			}
+			if (end == this.writePosition) {
+				break;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "'predicate' must not be null");
+		int index = Math.min(fromIndex, this.writePosition - 1);
+		if (index < 0) {
+			return -1;
+		}
+		for (int i = componentIndex(index); i >= 0; i--) {
+			Component component = this.components.get(i);
+			for (int j = Math.min(index, component.end() - 1); j >= component.offset; j--) {
+				if (predicate.test(component.byteBuffer.get(j - component.offset))) {
+					return j;
+				}
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int readableByteCount() {
+		return this.writePosition - this.readPosition;
+	}
+
+	@Override
+	public int writableByteCount() {
+		return this.capacity - this.writePosition;
+	}
+
+	@Override
+	public int capacity() {
+		return this.capacity;
+	}
+
+	@Override
+	public CompositeDataBuffer capacity(int newCapacity) {
+		Assert.isTrue(newCapacity > 0,
+				String.format("'newCapacity' %d must be higher than 0", newCapacity));
+		if (this.parent != null) {
+			throw new UnsupportedOperationException(
+					"Changing the capacity of a sliced buffer is not supported");
+		}
+
+		if (newCapacity > this.capacity) {
+			DataBuffer dataBuffer = this.dataBufferFactory.allocateBuffer(newCapacity - this.capacity);
+			this.ownedBuffers.add(dataBuffer);
+			addComponent(dataBuffer.asByteBuffer(0, newCapacity - this.capacity));
+		}
+		else if (newCapacity < this.capacity) {
+			int index = componentIndex(newCapacity - 1);
+			Component last = this.components.get(index);
+			this.components.subList(index + 1, this.components.size()).clear();
+			this.components.set(index, new Component(slice(last.byteBuffer, 0, newCapacity - last.offset), last.offset));
+			this.capacity = newCapacity;
+			if (this.writePosition > newCapacity) {
+				this.writePosition = newCapacity;
+			}
+			if (this.readPosition > newCapacity) {
+				this.readPosition = newCapacity;
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public int readPosition() {
+		return this.readPosition;
+	}
+
+	@Override
+	public CompositeDataBuffer readPosition(int readPosition) {
+		assertIndex(readPosition >= 0, "'readPosition' %d must be >= 0", readPosition);
+		assertIndex(readPosition <= this.writePosition, "'readPosition' %d must be <= %d",
+				readPosition, this.writePosition);
+
+		this.readPosition = readPosition;
+		return this;
+	}
+
+	@Override
+	public int writePosition() {
+		return this.writePosition;
+	}
+
+	@Override
+	public CompositeDataBuffer writePosition(int writePosition) {
+		assertIndex(writePosition >= this.readPosition, "'writePosition' %d must be >= %d",
+				writePosition, this.readPosition);
+		assertIndex(writePosition <= this.capacity, "'writePosition' %d must be <= %d",
+				writePosition, this.capacity);
+
+		this.writePosition = writePosition;
+		return this;
+	}
+
+	@Override
+	public byte getByte(int index) {
+		assertIndex(index >= 0, "index %d must be >= 0", index);
+		assertIndex(index <= this.writePosition - 1, "index %d must be <= %d",
+				index, this.writePosition - 1);
+
+		Component component = this.components.get(componentIndex(index));
+		return component.byteBuffer.get(index - component.offset);
+	}
+
+	@Override
+	public byte read() {
+		assertIndex(this.readPosition <= this.writePosition - 1, "readPosition %d must be <= %d",
+				this.readPosition, this.writePosition - 1);
+		byte b = getByte(this.readPosition);
+		this.readPosition++;
+		return b;
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination) {
+		Assert.notNull(destination, "'destination' must not be null");
+		read(destination, 0, destination.length);
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination, int offset, int length) {
+		Assert.notNull(destination, "'destination' must not be null");
+		assertIndex(this.readPosition <= this.writePosition - length,
+				"readPosition %d and length %d should be smaller than writePosition %d",
+				this.readPosition, length, this.writePosition);
+
+		getBytes(this.readPosition, destination, offset, length);
+		this.readPosition += length;
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte b) {
+		ensureCapacity(1);
+		Component component = this.components.get(componentIndex(this.writePosition));
+		component.byteBuffer.put(this.writePosition - component.offset, b);
+		this.writePosition++;
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte[] source) {
+		Assert.notNull(source, "'source' must not be null");
+		write(source, 0, source.length);
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte[] source, int offset, int length) {
+		Assert.notNull(source, "'source' must not be null");
+		write(ByteBuffer.wrap(source, offset, length));
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(DataBuffer... buffers) {
+		if (!ObjectUtils.isEmpty(buffers)) {
+			ByteBuffer[] byteBuffers =
+					Arrays.stream(buffers).map(DataBuffer::asByteBuffer)
+							.toArray(ByteBuffer[]::new);
+			write(byteBuffers);
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(ByteBuffer... byteBuffers) {
+		Assert.notEmpty(byteBuffers, "'byteBuffers' must not be empty");
+		int capacity = Arrays.stream(byteBuffers).mapToInt(ByteBuffer::remaining).sum();
+		ensureCapacity(capacity);
+		for (ByteBuffer byteBuffer : byteBuffers) {
+			write(byteBuffer);
+		}
+		return this;
+	}
+
+	private void write(ByteBuffer source) {
+		ensureCapacity(source.remaining());
+		ByteBuffer remaining = source.duplicate();
+		for (int i = componentIndex(this.writePosition); remaining.hasRemaining(); i++) {
+			Component component = this.components.get(i);
+			int position = this.writePosition - component.offset;
+			int length = Math.min(remaining.remaining(), component.byteBuffer.capacity() - position);
+			ByteBuffer part = remaining.duplicate();
+			((Buffer) part).limit(part.position() + length);
+			ByteBuffer target = component.byteBuffer.duplicate();
+			((Buffer) target).position(position);
+			target.put(part);
+			((Buffer) remaining).position(remaining.position() + length);
+			this.writePosition += length;
+		}
+		((Buffer) source).position(source.limit());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The returned buffer shares memory with the underlying buffers, as well
+	 * as the reference count of this composite: retaining or releasing the slice
+	 * retains or releases this composite.
+	 */
+	@Override
+	public CompositeDataBuffer slice(int index, int length) {
+		checkIndex(index, length);
+		CompositeDataBuffer slice = new CompositeDataBuffer(
+				this.dataBufferFactory, (this.parent != null ? this.parent : this));
+		if (length == 0) {
+			return slice;
+		}
+		for (int i = componentIndex(index); slice.capacity < length; i++) {
+			Component component = this.components.get(i);
+			int position = Math.max(index - component.offset, 0);
+			int sliceLength = Math.min(length - slice.capacity, component.byteBuffer.capacity() - position);
+			slice.addComponent(slice(component.byteBuffer, position, sliceLength));
+		}
+		slice.writePosition = length;
+		return slice;
+	}
+
+	@Override
+	public ByteBuffer asByteBuffer() {
+		return asByteBuffer(this.readPosition, readableByteCount());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>If the requested range spans more than one underlying buffer, the
+	 * returned byte buffer contains a copy of the data. Otherwise it shares
+	 * memory with that buffer, and must not be used once this composite has
+	 * been released; {@linkplain #slice(int, int) slice} and retain the
+	 * composite first if the byte buffer needs to outlive it.
+	 */
+	@Override
+	public ByteBuffer asByteBuffer(int index, int length) {
+		checkIndex(index, length);
+		if (length == 0) {
+			return ByteBuffer.allocate(0);
+		}
+		Component component = this.components.get(componentIndex(index));
+		if (index + length <= component.end()) {
+			return slice(component.byteBuffer, index - component.offset, length);
+		}
+		byte[] bytes = new byte[length];
+		getBytes(index, bytes, 0, length);
+		return ByteBuffer.wrap(bytes);
+	}
+
+	/**
+	 * Expose the readable bytes of this buffer as a sequence of byte buffers,
+	 * sharing memory with the underlying buffers.
+	 * @return the byte buffers, one per underlying buffer with readable bytes
+	 */
+	public ByteBuffer[] asByteBuffers() {
+		List<ByteBuffer> result = new ArrayList<>(this.components.size());
+		int index = this.readPosition;
+		for (int i = componentIndex(index); i < this.components.size() && index < this.writePosition; i++) {
+			Component component = this.components.get(i);
+			int length = Math.min(component.end(), this.writePosition) - index;
+			if (length > 0) {
+				result.add(slice(component.byteBuffer, index - component.offset, length));
+				index += length;
+			}
+		}
+		return result.toArray(new ByteBuffer[0]);
+	}
+
+	@Override
+	public InputStream asInputStream() {
+		return new CompositeDataBufferInputStream(false);
+	}
+
+	@Override
+	public InputStream asInputStream(boolean releaseOnClose) {
+		return new CompositeDataBufferInputStream(releaseOnClose);
+	}
+
+	@Override
+	public OutputStream asOutputStream() {
+		return new CompositeDataBufferOutputStream();
+	}
+
+	@Override
+	public CompositeDataBuffer retain() {
+		if (this.parent != null) {
+			this.parent.retain();
+			return this;
+		}
+		while (true) {
+			int refCount = this.refCount.get();
+			assertNotReleased(refCount);
+			if (this.refCount.compareAndSet(refCount, refCount + 1)) {
+				return this;
+			}
+		}
+	}
+
+	@Override
+	public boolean release() {
+		if (this.parent != null) {
+			return this.parent.release();
+		}
+		while (true) {
+			int refCount = this.refCount.get();
+			assertNotReleased(refCount);
+			if (this.refCount.compareAndSet(refCount, refCount - 1)) {
+				if (refCount == 1) {
+					deallocate();
+					return true;
+				}
+				return false;
+			}
+		}
+	}
+
+	private void deallocate() {
+		this.components.clear();
+		this.readPosition = 0;
+		this.writePosition = 0;
+		this.capacity = 0;
+		for (DataBuffer dataBuffer : this.ownedBuffers) {
+			DataBufferUtils.release(dataBuffer);
+		}
+		this.ownedBuffers.clear();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CompositeDataBuffer (r: %d, w %d, c %d, components %d)", this.readPosition,
+				this.writePosition, this.capacity, this.components.size());
+	}
+
+
+	private void addComponent(ByteBuffer byteBuffer) {
+		if (byteBuffer.hasRemaining()) {
+			this.components.add(new Component(byteBuffer.slice(), this.capacity));
+			this.capacity += byteBuffer.remaining();
+		}
+	}
+
+	/**
+	 * Find the component that contains the given index, which must be lower
+	 * than the capacity.
+	 */
+	private int componentIndex(int index) {
+		int low = 0;
+		int high = this.components.size() - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (this.components.get(mid).offset <= index) {
+				low = mid;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	private void getBytes(int index, byte[] destination, int offset, int length) {
+		for (int i = componentIndex(index); length > 0; i++) {
+			Component component = this.components.get(i);
+			int position = index - component.offset;
+			int partLength = Math.min(length, component.byteBuffer.capacity() - position);
+			ByteBuffer source = component.byteBuffer.duplicate();
+			((Buffer) source).position(position);
+			source.get(destination, offset, partLength);
+			index += partLength;
+			offset += partLength;
+			length -= partLength;
+		}
+	}
+
+	private void ensureCapacity(int length) {
+		if (length <= writableByteCount()) {
+			return;
+		}
+		int additionalCapacity = Math.max(length - writableByteCount(), MIN_COMPONENT_CAPACITY);
+		capacity(this.capacity + additionalCapacity);
+	}
+
+	private void checkIndex(int index, int length) {
+		assertIndex(index >= 0, "index %d must be >= 0", index);
+		assertIndex(length >= 0, "length %d must be >= 0", length);
+		assertIndex(index + length <= this.capacity, "index %d and length %d must be <= %d",
+				index, length, this.capacity);
+	}
+
+	private static ByteBuffer slice(ByteBuffer byteBuffer, int index, int length) {
+		ByteBuffer duplicate = byteBuffer.duplicate();
+		// Explicit access via Buffer base type for compatibility
+		// with covariant return type on JDK 9's ByteBuffer...
+		((Buffer) duplicate).position(index).limit(index + length);
+		return duplicate.slice();
+	}
+
+	private static void assertIndex(boolean expression, String format, Object... args) {
+		if (!expression) {
+			String message = String.format(format, args);
+			throw new IndexOutOfBoundsException(message);
+		}
+	}
+
+	private static void assertNotReleased(int refCount) {
+		if (refCount <= 0) {
+			throw new IllegalStateException("CompositeDataBuffer has already been released");
+		}
+	}
+
+
+	/**
+	 * A part of the composite, located at the given offset.
+	 */
+	private static class Component {
+
+		final ByteBuffer byteBuffer;
+
+		final int offset;
+
+		Component(ByteBuffer byteBuffer, int offset) {
+			this.byteBuffer = byteBuffer;
+			this.offset = offset;
+		}
+
+		int end() {
+			return this.offset + this.byteBuffer.capacity();
+		}
+	}
+
+
+	private class CompositeDataBufferInputStream extends InputStream {
+
+		private final boolean releaseOnClose;
+
+		private boolean closed;
+
+		public CompositeDataBufferInputStream(boolean releaseOnClose) {
+			this.releaseOnClose = releaseOnClose;
+		}
+
+		@Override
+		public int available() {
+			return readableByteCount();
+		}
+
+		@Override
+		public int read() {
+			return available() > 0 ? CompositeDataBuffer.this.read() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) {
+			int available = available();
+			if (available > 0) {
+				len = Math.min(len, available);
+				CompositeDataBuffer.this.read(bytes, off, len);
+				return len;
+			}
+			else {
+				return -1;
+			}
+		}
+
+		@Override
+		public void close() {
+			if (this.releaseOnClose && !this.closed) {
+				this.closed = true;
+				release();
+			}
+		}
+	}
+
+
+	private class CompositeDataBufferOutputStream extends OutputStream {
+
+		@Override
+		public void write(int b) throws IOException {
+			CompositeDataBuffer.this.write((byte) b);
+		}
+
+		@Override
+		public void write(byte[] bytes, int off, int len) throws IOException {
+			CompositeDataBuffer.this.write(bytes, off, len);
+		}
+	}
+
+}
@@ -20,11 +20,14 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.StandardOpenOption;
@@ -232,6 +235,36 @@ public abstract class DataBufferUtils {
 				DataBufferUtils::closeChannel);
 	}
 
+	/**
+	 * Obtain a {@code FileChannel} from the given supplier, and read the given region
+	 * of it into a {@code Flux} of {@code DataBuffer}s that wrap memory-mapped sections
+	 * of the file, rather than copying its content into allocated buffers. Closes the
+	 * channel when the flux is terminated.
+	 * <p>Note that mapped memory is only unmapped once the buffers are garbage collected,
+	 * which on some platforms prevents the file from being deleted until then.
+	 * @param channelSupplier the supplier for the channel to read from
+	 * @param position the position to start reading from
+	 * @param count the maximum number of bytes to read
+	 * @param dataBufferFactory the factory to wrap the mapped sections with
+	 * @param bufferSize the maximum size of the data buffers
+	 * @return a flux of data buffers wrapping sections of the given channel
+	 * @since 5.1
+	 */
+	public static Flux<DataBuffer> readMappedFileChannel(Callable<FileChannel> channelSupplier,
+			long position, long count, DataBufferFactory dataBufferFactory, int bufferSize) {
+
+		Assert.notNull(channelSupplier, "'channelSupplier' must not be null");
+		Assert.notNull(dataBufferFactory, "'dataBufferFactory' must not be null");
+		Assert.isTrue(position >= 0, "'position' must be >= 0");
+		Assert.isTrue(count >= 0, "'count' must be >= 0");
+		Assert.isTrue(bufferSize > 0, "'bufferSize' must be > 0");
+
+		return Flux.using(channelSupplier,
+				channel -> Flux.generate(new MappedFileChannelGenerator(
+						channel, position, count, dataBufferFactory, bufferSize)),
+				DataBufferUtils::closeChannel);
+	}
+
 	/**
 	 * Read the given {@code Resource} into a {@code Flux} of {@code DataBuffer}s.
 	 * <p>If the resource is a file, it is read into an
@@ -548,6 +581,61 @@ public abstract class DataBufferUtils {
 	}
 
 
+	private static class MappedFileChannelGenerator implements Consumer<SynchronousSink<DataBuffer>> {
+
+		private static final int MAPPED_SECTION_SIZE = 8 * 1024 * 1024;
+
+		private final FileChannel channel;
+
+		private final DataBufferFactory dataBufferFactory;
+
+		private final int bufferSize;
+
+		private long position;
+
+		private final long end;
+
+		@Nullable
+		private MappedByteBuffer section;
+
+		public MappedFileChannelGenerator(FileChannel channel, long position, long count,
+				DataBufferFactory dataBufferFactory, int bufferSize) {
+
+			this.channel = channel;
+			this.position = position;
+			this.end = (Long.MAX_VALUE - position < count ? Long.MAX_VALUE : position + count);
+			this.dataBufferFactory = dataBufferFactory;
+			this.bufferSize = bufferSize;
+		}
+
+		@Override
+		public void accept(SynchronousSink<DataBuffer> sink) {
+			try {
+				MappedByteBuffer section = this.section;
+				if (section == null || !section.hasRemaining()) {
+					long remaining = Math.min(this.end, this.channel.size()) - this.position;
+					if (remaining <= 0) {
+						sink.complete();
+						return;
+					}
+					long size = Math.min(remaining, Math.max(MAPPED_SECTION_SIZE, this.bufferSize));
+					section = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, size);
+					this.section = section;
+				}
+				int length = Math.min(section.remaining(), this.bufferSize);
+				ByteBuffer slice = section.slice();
+				((Buffer) slice).limit(length);
+				((Buffer) section).position(section.position() + length);
+				this.position += length;
+				sink.next(this.dataBufferFactory.wrap(slice));
+			}
+			catch (IOException ex) {
+				sink.error(ex);
+			}
+		}
+	}
+
+
 	private static class AsynchronousFileChannelReadCompletionHandler
 			implements CompletionHandler<Integer, DataBuffer> {
 
@@ -58,7 +58,7 @@ public class DefaultDataBuffer implements DataBuffer {
 
 	private int capacity;
 
-	private DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
+	DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
 		Assert.notNull(dataBufferFactory, "'dataBufferFactory' must not be null");
 		Assert.notNull(byteBuffer, "'byteBuffer' must not be null");
 
@@ -90,7 +90,7 @@ public class DefaultDataBuffer implements DataBuffer {
 		return this.byteBuffer;
 	}
 
-	private void setNativeBuffer(ByteBuffer byteBuffer) {
+	void setNativeBuffer(ByteBuffer byteBuffer) {
 		this.byteBuffer = byteBuffer;
 		this.capacity = byteBuffer.remaining();
 	}
@@ -218,7 +218,13 @@ public class DefaultDataBuffer implements DataBuffer {
 		return this;
 	}
 
-	private static ByteBuffer allocate(int capacity, boolean direct) {
+	/**
+	 * Allocate the native buffer to switch to when changing the capacity.
+	 * <p>Overridden by {@link PooledDirectDataBuffer} for taking memory from its pool.
+	 * @param capacity the new capacity
+	 * @param direct whether the current native buffer is a direct buffer
+	 */
+	ByteBuffer allocate(int capacity, boolean direct) {
 		return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
 	}
 
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Reference-counted {@link DefaultDataBuffer} backed by direct memory taken
+ * from a {@link PooledDirectDataBufferFactory}, to which the memory is
+ * returned once the buffer has been {@linkplain #release() released}.
+ *
+ * <p>A released buffer has a capacity of 0 and can no longer be used.
+ * {@linkplain #slice(int, int) Slices} share both the memory and the reference
+ * count of this buffer: retaining or releasing a slice retains or releases this
+ * buffer, so that a retained slice keeps the memory from returning to the pool.
+ * {@linkplain #asByteBuffer() Byte buffers} obtained from this buffer share its
+ * memory as well, and therefore must not be used after the buffer has been
+ * released. Memory that slices or byte buffers were obtained from is not
+ * returned to the pool when the {@linkplain #capacity(int) capacity} changes,
+ * but only once this buffer is released.
+ *
+ * @since 5.1
+ * @see PooledDirectDataBufferFactory
+ */
+public class PooledDirectDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+	private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocateDirect(0);
+
+
+	private final PooledDirectDataBufferFactory dataBufferFactory;
+
+	private final AtomicInteger refCount = new AtomicInteger(1);
+
+	@Nullable
+	private ByteBuffer chunk;
+
+	// Whether slices or byte buffers were obtained from the current chunk
+	private boolean chunkShared;
+
+	// Former chunks still referenced by slices or byte buffers
+	@Nullable
+	private List<ByteBuffer> retiredChunks;
+
+	@Nullable
+	private PooledDirectDataBufferFactory.LeakRecord leakRecord;
+
+
+	PooledDirectDataBuffer(PooledDirectDataBufferFactory dataBufferFactory, @Nullable ByteBuffer chunk,
+			int capacity) {
+
+		super(dataBufferFactory, nativeBuffer(chunk, capacity));
+		this.dataBufferFactory = dataBufferFactory;
+		this.chunk = chunk;
+	}
+
+	void setLeakRecord(PooledDirectDataBufferFactory.LeakRecord leakRecord) {
+		this.leakRecord = leakRecord;
+	}
+
+
+	@Override
+	public PooledDirectDataBufferFactory factory() {
+		return this.dataBufferFactory;
+	}
+
+	@Override
+	public PooledDirectDataBuffer retain() {
+		while (true) {
+			int refCount = this.refCount.get();
+			assertNotReleased(refCount);
+			if (this.refCount.compareAndSet(refCount, refCount + 1)) {
+				return this;
+			}
+		}
+	}
+
+	@Override
+	public boolean release() {
+		while (true) {
+			int refCount = this.refCount.get();
+			assertNotReleased(refCount);
+			if (this.refCount.compareAndSet(refCount, refCount - 1)) {
+				if (refCount == 1) {
+					deallocate();
+					return true;
+				}
+				return false;
+			}
+		}
+	}
+
+	private void deallocate() {
+		readPosition(0);
+		writePosition(0);
+		setNativeBuffer(EMPTY_BUFFER);
+		if (this.leakRecord != null) {
+			this.dataBufferFactory.untrack(this.leakRecord);
+			this.leakRecord = null;
+		}
+		ByteBuffer chunk = this.chunk;
+		if (chunk != null) {
+			this.chunk = null;
+			this.dataBufferFactory.release(chunk);
+		}
+		List<ByteBuffer> retiredChunks = this.retiredChunks;
+		if (retiredChunks != null) {
+			this.retiredChunks = null;
+			for (ByteBuffer retiredChunk : retiredChunks) {
+				this.dataBufferFactory.release(retiredChunk);
+			}
+		}
+	}
+
+	@Override
+	public DefaultDataBuffer capacity(int newCapacity) {
+		ByteBuffer oldChunk = this.chunk;
+		boolean oldChunkShared = this.chunkShared;
+		super.capacity(newCapacity);
+		if (oldChunk != null && oldChunk != this.chunk) {
+			if (oldChunkShared) {
+				if (this.retiredChunks == null) {
+					this.retiredChunks = new ArrayList<>(2);
+				}
+				this.retiredChunks.add(oldChunk);
+			}
+			else {
+				this.dataBufferFactory.release(oldChunk);
+			}
+		}
+		if (this.leakRecord != null) {
+			this.leakRecord.setChunks(this.chunk, this.retiredChunks);
+		}
+		return this;
+	}
+
+	@Override
+	ByteBuffer allocate(int capacity, boolean direct) {
+		assertNotReleased(this.refCount.get());
+		ByteBuffer chunk = this.dataBufferFactory.acquire(capacity);
+		this.chunk = chunk;
+		this.chunkShared = false;
+		return nativeBuffer(chunk, capacity);
+	}
+
+	@Override
+	public DefaultDataBuffer slice(int index, int length) {
+		ByteBuffer slice = asByteBuffer(index, length);
+		return new SlicedPooledDirectDataBuffer(this, slice, length);
+	}
+
+	@Override
+	public ByteBuffer asByteBuffer(int index, int length) {
+		this.chunkShared = true;
+		return super.asByteBuffer(index, length);
+	}
+
+	@Override
+	public InputStream asInputStream(boolean releaseOnClose) {
+		InputStream inputStream = asInputStream();
+		if (!releaseOnClose) {
+			return inputStream;
+		}
+		return new FilterInputStream(inputStream) {
+			private boolean closed;
+			@Override
+			public void close() throws IOException {
+				if (!this.closed) {
+					this.closed = true;
+					release();
+				}
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PooledDirectDataBuffer (r: %d, w %d, c %d)", readPosition(),
+				writePosition(), capacity());
+	}
+
+	private static void assertNotReleased(int refCount) {
+		if (refCount <= 0) {
+			throw new IllegalStateException("PooledDirectDataBuffer has already been released");
+		}
+	}
+
+	private static ByteBuffer nativeBuffer(@Nullable ByteBuffer chunk, int capacity) {
+		if (chunk == null) {
+			return ByteBuffer.allocateDirect(capacity);
+		}
+		ByteBuffer duplicate = chunk.duplicate();
+		((Buffer) duplicate).clear().limit(capacity);
+		return duplicate.slice();
+	}
+
+
+	/**
+	 * Slice of a {@link PooledDirectDataBuffer}, sharing the reference count of
+	 * the buffer it was obtained from.
+	 */
+	private static class SlicedPooledDirectDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private final PooledDirectDataBuffer parent;
+
+		SlicedPooledDirectDataBuffer(PooledDirectDataBuffer parent, ByteBuffer byteBuffer, int length) {
+			super(parent.factory(), byteBuffer);
+			this.parent = parent;
+			writePosition(length);
+		}
+
+		@Override
+		public SlicedPooledDirectDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			throw new UnsupportedOperationException(
+					"Changing the capacity of a sliced buffer is not supported");
+		}
+
+		@Override
+		public DefaultDataBuffer slice(int index, int length) {
+			ByteBuffer slice = asByteBuffer(index, length);
+			return new SlicedPooledDirectDataBuffer(this.parent, slice, length);
+		}
+	}
+
+}
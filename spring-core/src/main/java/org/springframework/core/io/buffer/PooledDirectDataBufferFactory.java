@@ -0,0 +1,452 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Extension of {@link DefaultDataBufferFactory} that allocates
+ * {@link PooledDirectDataBuffer PooledDirectDataBuffers} from a pool of direct
+ * memory, as an alternative to {@link NettyDataBufferFactory} for runtimes that
+ * do not have Netty on the classpath.
+ *
+ * <p>Requested capacities are rounded up to power-of-two size classes, from
+ * 256 bytes up to the {@linkplain #getMaxPooledCapacity() maximum pooled capacity}.
+ * Memory for each size class is allocated in slabs of direct memory that are cut
+ * into chunks; chunks returned through {@link PooledDataBuffer#release()} are
+ * kept in a small per-thread cache first, and in a shared queue per size class
+ * otherwise. Larger buffers, and buffers requested once the
+ * {@linkplain #getMaxPooledMemory() maximum pooled memory} has been reached,
+ * are allocated as unpooled direct buffers.
+ *
+ * <p>Chunks cached by threads that have terminated are handed back to the
+ * shared queues once the pool is exhausted. Buffers that are garbage collected
+ * without having been released do not return their memory to the pool, since
+ * byte buffers obtained from them may still be in use. To help track these
+ * down, a sample of the allocated buffers is tracked: leaked buffers of that
+ * sample have their allocation site logged at error level, and their chunks
+ * are no longer counted against the maximum pooled memory. The memory of other
+ * leaked buffers remains counted, so that repeated leaks eventually lead to
+ * unpooled allocations rather than to an ever-growing pool.
+ *
+ * <p>An instance may be set on server adapters through
+ * {@code setDataBufferFactory}, e.g. on the {@code ServletHttpHandlerAdapter}
+ * and the {@code UndertowHttpHandlerAdapter}, from where it is used by the
+ * encoders and decoders through the request and response.
+ *
+ * @since 5.1
+ * @see PooledDirectDataBuffer
+ */
+public class PooledDirectDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The default maximum capacity of pooled buffers.
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default maximum amount of direct memory held by the pool.
+	 */
+	public static final long DEFAULT_MAX_POOLED_MEMORY = 32 * 1024 * 1024;
+
+	/**
+	 * The default number of chunks cached per thread and size class.
+	 */
+	public static final int DEFAULT_THREAD_CACHE_SIZE = 16;
+
+	/**
+	 * The default interval for sampling buffers for leak detection,
+	 * i.e. on average one out of that many buffers is checked.
+	 */
+	public static final int DEFAULT_LEAK_DETECTION_SAMPLING_INTERVAL = 128;
+
+	private static final int MIN_POOLED_CAPACITY = 256;
+
+	private static final int MIN_POOLED_CAPACITY_SHIFT = 8;
+
+	private static final int SLAB_CAPACITY = 1024 * 1024;
+
+
+	private static final Log logger = LogFactory.getLog(PooledDirectDataBufferFactory.class);
+
+	private final int maxPooledCapacity;
+
+	private final long maxPooledMemory;
+
+	private final Queue<ByteBuffer>[] sharedChunks;
+
+	private final AtomicLong pooledMemory = new AtomicLong();
+
+	private final ThreadLocal<ThreadCache> threadCaches =
+			new NamedThreadLocal<ThreadCache>("Pooled DataBuffer chunks") {
+				@Override
+				protected ThreadCache initialValue() {
+					ThreadCache threadCache = new ThreadCache(sharedChunks.length, threadCacheSize);
+					if (threadCacheSize > 0) {
+						liveThreadCaches.add(threadCache);
+					}
+					return threadCache;
+				}
+			};
+
+	private volatile int threadCacheSize = DEFAULT_THREAD_CACHE_SIZE;
+
+	private volatile int leakDetectionSamplingInterval = DEFAULT_LEAK_DETECTION_SAMPLING_INTERVAL;
+
+	private final Set<ThreadCache> liveThreadCaches = ConcurrentHashMap.newKeySet();
+
+	private final ReferenceQueue<PooledDirectDataBuffer> leakQueue = new ReferenceQueue<>();
+
+	private final Set<LeakRecord> leakRecords = ConcurrentHashMap.newKeySet();
+
+
+	/**
+	 * Create a new {@code PooledDirectDataBufferFactory} with default settings.
+	 */
+	public PooledDirectDataBufferFactory() {
+		this(DEFAULT_MAX_POOLED_CAPACITY, DEFAULT_MAX_POOLED_MEMORY);
+	}
+
+	/**
+	 * Create a new {@code PooledDirectDataBufferFactory}.
+	 * @param maxPooledCapacity the maximum capacity of pooled buffers, as a
+	 * power of two of at least 256; larger buffers are not pooled
+	 * @param maxPooledMemory the maximum amount of direct memory held by the pool
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public PooledDirectDataBufferFactory(int maxPooledCapacity, long maxPooledMemory) {
+		super(true);
+		Assert.isTrue(maxPooledCapacity >= MIN_POOLED_CAPACITY && Integer.bitCount(maxPooledCapacity) == 1,
+				"'maxPooledCapacity' must be a power of two of at least " + MIN_POOLED_CAPACITY);
+		Assert.isTrue(maxPooledMemory >= 0, "'maxPooledMemory' must not be negative");
+		this.maxPooledCapacity = maxPooledCapacity;
+		this.maxPooledMemory = maxPooledMemory;
+		this.sharedChunks = new Queue[sizeClassIndex(maxPooledCapacity) + 1];
+		for (int i = 0; i < this.sharedChunks.length; i++) {
+			this.sharedChunks[i] = new ConcurrentLinkedQueue<>();
+		}
+	}
+
+
+	/**
+	 * Return the maximum capacity of pooled buffers.
+	 */
+	public int getMaxPooledCapacity() {
+		return this.maxPooledCapacity;
+	}
+
+	/**
+	 * Return the maximum amount of direct memory held by the pool.
+	 */
+	public long getMaxPooledMemory() {
+		return this.maxPooledMemory;
+	}
+
+	/**
+	 * Return the amount of direct memory currently allocated for the pool,
+	 * including the memory of buffers that are in use, but excluding the
+	 * memory of buffers that were garbage collected without having been released.
+	 */
+	public long getPooledMemory() {
+		return this.pooledMemory.get();
+	}
+
+	/**
+	 * Set the number of released chunks to cache per thread and size class,
+	 * before handing them back to the shared pool.
+	 * <p>The default is {@value #DEFAULT_THREAD_CACHE_SIZE}. A value of 0
+	 * disables the per-thread caches. Changes only apply to threads that have
+	 * not allocated or released a buffer from this factory yet.
+	 */
+	public void setThreadCacheSize(int threadCacheSize) {
+		Assert.isTrue(threadCacheSize >= 0, "'threadCacheSize' must not be negative");
+		this.threadCacheSize = threadCacheSize;
+	}
+
+	/**
+	 * Return the number of released chunks cached per thread and size class.
+	 */
+	public int getThreadCacheSize() {
+		return this.threadCacheSize;
+	}
+
+	/**
+	 * Set the interval for sampling allocated buffers for leak detection:
+	 * on average one out of that many buffers records its allocation site,
+	 * which is logged if the buffer gets garbage collected without having
+	 * been released, in which case its memory is also taken out of the
+	 * pooled memory.
+	 * <p>The default is {@value #DEFAULT_LEAK_DETECTION_SAMPLING_INTERVAL}.
+	 * A value of 1 checks every buffer, while 0 disables leak detection.
+	 */
+	public void setLeakDetectionSamplingInterval(int leakDetectionSamplingInterval) {
+		Assert.isTrue(leakDetectionSamplingInterval >= 0, "'leakDetectionSamplingInterval' must not be negative");
+		this.leakDetectionSamplingInterval = leakDetectionSamplingInterval;
+	}
+
+	/**
+	 * Return the interval for sampling allocated buffers for leak detection.
+	 */
+	public int getLeakDetectionSamplingInterval() {
+		return this.leakDetectionSamplingInterval;
+	}
+
+
+	@Override
+	public PooledDirectDataBuffer allocateBuffer() {
+		return (PooledDirectDataBuffer) super.allocateBuffer();
+	}
+
+	@Override
+	public PooledDirectDataBuffer allocateBuffer(int initialCapacity) {
+		reclaimLeaks();
+		ByteBuffer chunk = acquire(initialCapacity);
+		PooledDirectDataBuffer dataBuffer = new PooledDirectDataBuffer(this, chunk, initialCapacity);
+		int samplingInterval = this.leakDetectionSamplingInterval;
+		if (samplingInterval > 0 && ThreadLocalRandom.current().nextInt(samplingInterval) == 0) {
+			LeakRecord leakRecord = new LeakRecord(dataBuffer, this.leakQueue);
+			leakRecord.setChunks(chunk, null);
+			this.leakRecords.add(leakRecord);
+			dataBuffer.setLeakRecord(leakRecord);
+		}
+		return dataBuffer;
+	}
+
+	@Override
+	public String toString() {
+		return "PooledDirectDataBufferFactory (maxPooledCapacity=" + this.maxPooledCapacity +
+				", maxPooledMemory=" + this.maxPooledMemory + ")";
+	}
+
+
+	/**
+	 * Take a chunk for the given capacity from the pool.
+	 * @param capacity the requested capacity
+	 * @return a chunk with a capacity of at least the requested one, or
+	 * {@code null} if the capacity is not pooled or the pool is exhausted
+	 */
+	@Nullable
+	ByteBuffer acquire(int capacity) {
+		if (capacity > this.maxPooledCapacity) {
+			return null;
+		}
+		int index = sizeClassIndex(capacity);
+		ByteBuffer chunk = this.threadCaches.get().poll(index);
+		if (chunk == null) {
+			chunk = this.sharedChunks[index].poll();
+			if (chunk == null) {
+				chunk = allocateChunks(index);
+				if (chunk == null && reclaimThreadCaches()) {
+					chunk = this.sharedChunks[index].poll();
+				}
+			}
+		}
+		return chunk;
+	}
+
+	/**
+	 * Return a chunk previously obtained from {@link #acquire(int)} to the pool.
+	 */
+	void release(ByteBuffer chunk) {
+		int index = sizeClassIndex(chunk.capacity());
+		if (!this.threadCaches.get().offer(index, chunk)) {
+			this.sharedChunks[index].offer(chunk);
+		}
+	}
+
+	/**
+	 * Stop tracking the given buffer, as it has been released.
+	 */
+	void untrack(LeakRecord leakRecord) {
+		leakRecord.clear();
+		this.leakRecords.remove(leakRecord);
+	}
+
+	@Nullable
+	private ByteBuffer allocateChunks(int index) {
+		int chunkCapacity = MIN_POOLED_CAPACITY << index;
+		int chunkCount = Math.max(SLAB_CAPACITY / chunkCapacity, 1);
+		if (!reserve((long) chunkCount * chunkCapacity)) {
+			if (chunkCount == 1 || !reserve(chunkCapacity)) {
+				return null;
+			}
+			chunkCount = 1;
+		}
+		ByteBuffer slab = ByteBuffer.allocateDirect(chunkCount * chunkCapacity);
+		for (int i = 1; i < chunkCount; i++) {
+			this.sharedChunks[index].offer(slice(slab, i * chunkCapacity, chunkCapacity));
+		}
+		return slice(slab, 0, chunkCapacity);
+	}
+
+	private boolean reserve(long capacity) {
+		while (true) {
+			long current = this.pooledMemory.get();
+			if (current + capacity > this.maxPooledMemory) {
+				return false;
+			}
+			if (this.pooledMemory.compareAndSet(current, current + capacity)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Hand the chunks cached by terminated threads back to the shared queues.
+	 * @return {@code true} if any chunks were reclaimed
+	 */
+	private boolean reclaimThreadCaches() {
+		boolean reclaimed = false;
+		for (ThreadCache threadCache : this.liveThreadCaches) {
+			if (!threadCache.isOwnerAlive() && this.liveThreadCaches.remove(threadCache)) {
+				for (int i = 0; i < this.sharedChunks.length; i++) {
+					ByteBuffer chunk;
+					while ((chunk = threadCache.poll(i)) != null) {
+						this.sharedChunks[i].offer(chunk);
+						reclaimed = true;
+					}
+				}
+			}
+		}
+		return reclaimed;
+	}
+
+	/**
+	 * Take the chunks of buffers that were garbage collected without having
+	 * been released out of the pooled memory, logging sampled allocation sites.
+	 */
+	private void reclaimLeaks() {
+		Reference<? extends PooledDirectDataBuffer> reference;
+		while ((reference = this.leakQueue.poll()) != null) {
+			LeakRecord leakRecord = (LeakRecord) reference;
+			if (this.leakRecords.remove(leakRecord)) {
+				this.pooledMemory.addAndGet(-leakRecord.chunkCapacity);
+				if (logger.isErrorEnabled()) {
+					logger.error("PooledDirectDataBuffer was garbage collected without having been released; " +
+							"its memory is lost to the pool. Allocation site:", leakRecord.allocationSite);
+				}
+			}
+		}
+	}
+
+	private static int sizeClassIndex(int capacity) {
+		if (capacity <= MIN_POOLED_CAPACITY) {
+			return 0;
+		}
+		return 32 - Integer.numberOfLeadingZeros(capacity - 1) - MIN_POOLED_CAPACITY_SHIFT;
+	}
+
+	private static ByteBuffer slice(ByteBuffer byteBuffer, int index, int length) {
+		ByteBuffer duplicate = byteBuffer.duplicate();
+		// Explicit access via Buffer base type for compatibility
+		// with covariant return type on JDK 9's ByteBuffer...
+		((Buffer) duplicate).position(index).limit(index + length);
+		return duplicate.slice();
+	}
+
+
+	/**
+	 * Per-thread cache of released chunks, indexed by size class.
+	 */
+	private static class ThreadCache {
+
+		private final ArrayDeque<ByteBuffer>[] chunks;
+
+		private final int size;
+
+		private final WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+
+		@SuppressWarnings({"rawtypes", "unchecked"})
+		public ThreadCache(int sizeClasses, int size) {
+			this.chunks = new ArrayDeque[sizeClasses];
+			this.size = size;
+		}
+
+		public boolean isOwnerAlive() {
+			Thread thread = this.owner.get();
+			return (thread != null && thread.isAlive());
+		}
+
+		@Nullable
+		public ByteBuffer poll(int index) {
+			ArrayDeque<ByteBuffer> deque = this.chunks[index];
+			return (deque != null ? deque.pollLast() : null);
+		}
+
+		public boolean offer(int index, ByteBuffer chunk) {
+			if (this.size == 0) {
+				return false;
+			}
+			ArrayDeque<ByteBuffer> deque = this.chunks[index];
+			if (deque == null) {
+				deque = new ArrayDeque<>(this.size);
+				this.chunks[index] = deque;
+			}
+			else if (deque.size() >= this.size) {
+				return false;
+			}
+			deque.addLast(chunk);
+			return true;
+		}
+	}
+
+
+	/**
+	 * Weak reference to a sampled buffer along with the capacity of the
+	 * chunks it holds, and the stack trace of its allocation.
+	 */
+	static class LeakRecord extends WeakReference<PooledDirectDataBuffer> {
+
+		private final Throwable allocationSite = new Throwable("Allocation site");
+
+		private volatile int chunkCapacity;
+
+		public LeakRecord(PooledDirectDataBuffer dataBuffer, ReferenceQueue<PooledDirectDataBuffer> queue) {
+			super(dataBuffer, queue);
+		}
+
+		public void setChunks(@Nullable ByteBuffer chunk, @Nullable List<ByteBuffer> retiredChunks) {
+			int chunkCapacity = (chunk != null ? chunk.capacity() : 0);
+			if (retiredChunks != null) {
+				for (ByteBuffer retiredChunk : retiredChunks) {
+					chunkCapacity += retiredChunk.capacity();
+				}
+			}
+			this.chunkCapacity = chunkCapacity;
+		}
+	}
+
+}
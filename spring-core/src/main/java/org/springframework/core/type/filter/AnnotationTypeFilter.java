@@ -88,6 +88,14 @@ public class AnnotationTypeFilter extends AbstractTypeHierarchyTraversingFilter
 		return this.annotationType;
 	}
 
+	/**
+	 * Return whether this filter also matches on meta-annotations.
+	 * @since 5.1
+	 */
+	public final boolean isConsiderMetaAnnotations() {
+		return this.considerMetaAnnotations;
+	}
+
 	@Override
 	protected boolean matchSelf(MetadataReader metadataReader) {
 		AnnotationMetadata metadata = metadataReader.getAnnotationMetadata();
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link MethodAccessorFactory}.
+ */
+public class MethodAccessorFactoryTests {
+
+	@Test
+	public void invokePublicMethod() throws Exception {
+		MethodAccessor accessor = MethodAccessorFactory.getAccessor(
+				TestBean.class.getMethod("concat", String.class, int.class));
+
+		assertEquals("a1", accessor.invoke(new TestBean(), "a", 1));
+		assertNull(accessor.invoke(new TestBean(), null, 2));
+	}
+
+	@Test
+	public void invokeWithWideningConversion() throws Exception {
+		MethodAccessor accessor = MethodAccessorFactory.getAccessor(
+				TestBean.class.getMethod("increment", long.class));
+
+		assertEquals(3L, accessor.invoke(new TestBean(), 2L));
+		assertEquals(3L, accessor.invoke(new TestBean(), 2));
+	}
+
+	@Test
+	public void invokeNonPublicMethods() throws Exception {
+		MethodAccessor accessor = MethodAccessorFactory.getAccessor(
+				TestBean.class.getDeclaredMethod("packageVisible"));
+		assertEquals("package", accessor.invoke(new TestBean()));
+
+		accessor = MethodAccessorFactory.getAccessor(TestBean.class.getDeclaredMethod("privateMethod"));
+		assertEquals("private", accessor.invoke(new TestBean()));
+	}
+
+	@Test
+	public void invokeStaticMethod() throws Exception {
+		MethodAccessor accessor = MethodAccessorFactory.getAccessor(
+				TestBean.class.getMethod("staticMethod", String.class));
+
+		assertEquals("static-a", accessor.invoke(null, "a"));
+	}
+
+	@Test
+	public void invokeInterfaceMethod() throws Exception {
+		MethodAccessor accessor = MethodAccessorFactory.getAccessor(Greeter.class.getMethod("greet"));
+
+		assertEquals("hello", accessor.invoke(new TestBean()));
+		assertEquals("hi", accessor.invoke((Greeter) () -> "hi"));
+	}
+
+	@Test
+	public void invokeJdkMethod() throws Exception {
+		MethodAccessor accessor = MethodAccessorFactory.getAccessor(String.class.getMethod("length"));
+
+		assertEquals(3, accessor.invoke("abc"));
+	}
+
+	@Test
+	public void exceptionIsWrapped() throws Exception {
+		MethodAccessor accessor = MethodAccessorFactory.getAccessor(TestBean.class.getMethod("fail"));
+		try {
+			accessor.invoke(new TestBean());
+			fail("Expected InvocationTargetException");
+		}
+		catch (InvocationTargetException ex) {
+			assertTrue(ex.getTargetException() instanceof IOException);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidTarget() throws Exception {
+		MethodAccessorFactory.getAccessor(TestBean.class.getMethod("fail")).invoke("not a TestBean");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidArgument() throws Exception {
+		MethodAccessorFactory.getAccessor(TestBean.class.getMethod("concat", String.class, int.class))
+				.invoke(new TestBean(), "a", "b");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidArgumentCount() throws Exception {
+		MethodAccessorFactory.getAccessor(TestBean.class.getMethod("concat", String.class, int.class))
+				.invoke(new TestBean(), "a");
+	}
+
+	@Test
+	public void accessorIsCached() throws Exception {
+		Method method = TestBean.class.getMethod("concat", String.class, int.class);
+		MethodAccessor accessor = MethodAccessorFactory.getAccessor(method);
+
+		assertSame(accessor, MethodAccessorFactory.getAccessor(method));
+		assertSame(accessor, MethodAccessorFactory.getAccessor(
+				TestBean.class.getMethod("concat", String.class, int.class)));
+	}
+
+
+	public interface Greeter {
+
+		String greet();
+	}
+
+
+	public static class TestBean implements Greeter {
+
+		public String concat(String value, int number) {
+			return (value != null ? value + number : null);
+		}
+
+		public long increment(long value) {
+			return value + 1;
+		}
+
+		@Override
+		public String greet() {
+			return "hello";
+		}
+
+		public void fail() throws IOException {
+			throw new IOException("expected");
+		}
+
+		String packageVisible() {
+			return "package";
+		}
+
+		@SuppressWarnings("unused")
+		private String privateMethod() {
+			return "private";
+		}
+
+		public static String staticMethod(String value) {
+			return "static-" + value;
+		}
+	}
+
+}
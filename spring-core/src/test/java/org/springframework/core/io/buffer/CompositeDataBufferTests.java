@@ -0,0 +1,205 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import org.springframework.core.io.buffer.support.DataBufferTestUtils;
+import org.springframework.util.StreamUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CompositeDataBuffer}.
+ */
+public class CompositeDataBufferTests {
+
+	private final PooledDirectDataBufferFactory bufferFactory = new PooledDirectDataBufferFactory();
+
+
+	@Test
+	public void joinDoesNotCopy() {
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer composite = this.bufferFactory.join(Arrays.asList(foo, stringBuffer("bar")));
+
+		assertTrue(composite instanceof CompositeDataBuffer);
+		foo.asByteBuffer().put(0, (byte) 'F');
+		assertEquals("Foobar", DataBufferTestUtils.dumpString(composite, StandardCharsets.UTF_8));
+		release(composite);
+	}
+
+	@Test
+	public void joinSingleBuffer() {
+		DataBuffer buffer = stringBuffer("foo");
+
+		assertSame(buffer, this.bufferFactory.join(Arrays.asList(buffer)));
+		release(buffer);
+	}
+
+	@Test
+	public void readAcrossComponents() {
+		DataBuffer composite = join("ab", "", "cde", "f");
+
+		assertEquals(6, composite.readableByteCount());
+		assertEquals('a', composite.read());
+		byte[] bytes = new byte[4];
+		composite.read(bytes);
+		assertArrayEquals("bcde".getBytes(StandardCharsets.UTF_8), bytes);
+		assertEquals('f', composite.getByte(5));
+		release(composite);
+	}
+
+	@Test
+	public void indexOf() {
+		DataBuffer composite = join("ab", "cd", "ce");
+
+		assertEquals(2, composite.indexOf(b -> b == 'c', 0));
+		assertEquals(4, composite.indexOf(b -> b == 'c', 3));
+		assertEquals(-1, composite.indexOf(b -> b == 'z', 0));
+		assertEquals(4, composite.lastIndexOf(b -> b == 'c', 5));
+		assertEquals(2, composite.lastIndexOf(b -> b == 'c', 3));
+		assertEquals(-1, composite.lastIndexOf(b -> b == 'e', 4));
+		release(composite);
+	}
+
+	@Test
+	public void writeBeyondCapacity() {
+		DataBuffer composite = join("foo", "bar");
+		composite.write("baz".getBytes(StandardCharsets.UTF_8));
+		composite.write((byte) '!');
+
+		assertEquals("foobarbaz!", DataBufferTestUtils.dumpString(composite, StandardCharsets.UTF_8));
+		release(composite);
+	}
+
+	@Test
+	public void decreaseCapacity() {
+		DataBuffer composite = join("foo", "bar");
+		composite.capacity(4);
+
+		assertEquals(4, composite.capacity());
+		assertEquals("foob", DataBufferTestUtils.dumpString(composite, StandardCharsets.UTF_8));
+		release(composite);
+	}
+
+	@Test
+	public void slice() {
+		DataBuffer composite = join("foo", "bar");
+
+		DataBuffer slice = composite.slice(1, 2);
+		assertEquals("oo", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+
+		slice = composite.slice(2, 3);
+		assertEquals("oba", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+		release(composite);
+	}
+
+	@Test
+	public void retainedSliceKeepsComponentsAfterCompositeIsReleased() {
+		DataBuffer composite = join("foo", "bar");
+		DataBuffer slice = DataBufferUtils.retain(composite.slice(2, 3));
+
+		assertFalse(DataBufferUtils.release(composite));
+		DataBuffer foo = stringBuffer("xxx");
+		DataBuffer bar = stringBuffer("xxx");
+		assertEquals("oba", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+		release(slice);
+		release(foo);
+		release(bar);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void sliceCapacityCannotBeChanged() {
+		DataBuffer composite = join("foo", "bar");
+		try {
+			composite.slice(1, 4).capacity(8);
+		}
+		finally {
+			release(composite);
+		}
+	}
+
+	@Test
+	public void asByteBuffer() {
+		DataBuffer composite = join("foo", "bar");
+
+		assertEquals(ByteBuffer.wrap("ob".getBytes(StandardCharsets.UTF_8)), composite.asByteBuffer(2, 2));
+		composite.read();
+		assertEquals(ByteBuffer.wrap("oobar".getBytes(StandardCharsets.UTF_8)), composite.asByteBuffer());
+
+		ByteBuffer[] byteBuffers = ((CompositeDataBuffer) composite).asByteBuffers();
+		assertEquals(2, byteBuffers.length);
+		assertEquals(ByteBuffer.wrap("oo".getBytes(StandardCharsets.UTF_8)), byteBuffers[0]);
+		assertEquals(ByteBuffer.wrap("bar".getBytes(StandardCharsets.UTF_8)), byteBuffers[1]);
+		release(composite);
+	}
+
+	@Test
+	public void asInputStream() throws Exception {
+		DataBuffer composite = join("foo", "bar", "baz");
+
+		try (InputStream inputStream = composite.asInputStream(true)) {
+			assertEquals("foobarbaz", StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8));
+		}
+		assertEquals(0, composite.capacity());
+	}
+
+	@Test
+	public void releaseReleasesComponents() {
+		PooledDataBuffer foo = stringBuffer("foo");
+		PooledDataBuffer bar = stringBuffer("bar");
+		DataBuffer composite = this.bufferFactory.join(Arrays.asList(foo, bar));
+
+		DataBufferUtils.retain(composite);
+		assertFalse(DataBufferUtils.release(composite));
+		assertTrue(DataBufferUtils.release(composite));
+		assertEquals(0, foo.capacity());
+		assertEquals(0, bar.capacity());
+	}
+
+	@Test
+	public void joinComposites() {
+		DataBuffer composite = this.bufferFactory.join(Arrays.asList(join("a", "b"), join("c", "d")));
+
+		assertEquals(4, ((CompositeDataBuffer) composite).asByteBuffers().length);
+		assertEquals("abcd", DataBufferTestUtils.dumpString(composite, StandardCharsets.UTF_8));
+		release(composite);
+	}
+
+
+	private PooledDirectDataBuffer stringBuffer(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		PooledDirectDataBuffer buffer = this.bufferFactory.allocateBuffer(bytes.length);
+		buffer.write(bytes);
+		return buffer;
+	}
+
+	private DataBuffer join(String... values) {
+		return this.bufferFactory.join(Arrays.stream(values).map(this::stringBuffer).collect(Collectors.toList()));
+	}
+
+	private void release(DataBuffer buffer) {
+		assertTrue(DataBufferUtils.release(buffer));
+	}
+
+}
@@ -97,6 +97,35 @@ public class DataBufferUtilsTests extends AbstractDataBufferAllocatingTestCase {
 				.verify(Duration.ofSeconds(5));
 	}
 
+	@Test
+	public void readMappedFileChannel() throws Exception {
+		URI uri = DataBufferUtilsTests.class.getResource("DataBufferUtilsTests.txt").toURI();
+		Flux<DataBuffer> flux = DataBufferUtils.readMappedFileChannel(
+				() -> FileChannel.open(Paths.get(uri), StandardOpenOption.READ),
+				3, Long.MAX_VALUE, this.bufferFactory, 3);
+
+		StepVerifier.create(flux)
+				.consumeNextWith(stringConsumer("bar"))
+				.consumeNextWith(stringConsumer("baz"))
+				.consumeNextWith(stringConsumer("qux"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void readMappedFileChannelCount() throws Exception {
+		URI uri = DataBufferUtilsTests.class.getResource("DataBufferUtilsTests.txt").toURI();
+		Flux<DataBuffer> flux = DataBufferUtils.readMappedFileChannel(
+				() -> FileChannel.open(Paths.get(uri), StandardOpenOption.READ),
+				2, 5, this.bufferFactory, 3);
+
+		StepVerifier.create(flux)
+				.consumeNextWith(stringConsumer("oba"))
+				.consumeNextWith(stringConsumer("rb"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
 	@Test
 	public void readInputStream() throws Exception {
 		Flux<DataBuffer> flux = DataBufferUtils.readInputStream(
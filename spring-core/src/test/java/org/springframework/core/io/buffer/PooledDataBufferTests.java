@@ -41,7 +41,8 @@ public class PooledDataBufferTests {
 				{new NettyDataBufferFactory(new UnpooledByteBufAllocator(true))},
 				{new NettyDataBufferFactory(new UnpooledByteBufAllocator(false))},
 				{new NettyDataBufferFactory(new PooledByteBufAllocator(true))},
-				{new NettyDataBufferFactory(new PooledByteBufAllocator(false))}};
+				{new NettyDataBufferFactory(new PooledByteBufAllocator(false))},
+				{new PooledDirectDataBufferFactory()}};
 	}
 
 	private PooledDataBuffer createDataBuffer(int capacity) {
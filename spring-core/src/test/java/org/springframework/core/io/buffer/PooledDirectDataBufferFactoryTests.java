@@ -0,0 +1,233 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import org.springframework.core.io.buffer.support.DataBufferTestUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PooledDirectDataBufferFactory}.
+ */
+public class PooledDirectDataBufferFactoryTests {
+
+	private final PooledDirectDataBufferFactory factory = new PooledDirectDataBufferFactory();
+
+
+	@Test
+	public void allocateBuffer() {
+		PooledDirectDataBuffer buffer = this.factory.allocateBuffer(300);
+
+		assertEquals(300, buffer.capacity());
+		assertTrue(buffer.getNativeBuffer().isDirect());
+		assertSame(this.factory, buffer.factory());
+		assertEquals(1024 * 1024, this.factory.getPooledMemory());
+		assertTrue(buffer.release());
+	}
+
+	@Test
+	public void releasedMemoryIsReused() {
+		for (int i = 0; i < 10000; i++) {
+			PooledDirectDataBuffer buffer = this.factory.allocateBuffer(1000);
+			buffer.write(new byte[1000]);
+			buffer.release();
+		}
+		assertEquals(1024 * 1024, this.factory.getPooledMemory());
+	}
+
+	@Test
+	public void increaseCapacity() {
+		PooledDirectDataBuffer buffer = this.factory.allocateBuffer(1);
+		byte[] bytes = "Hello World!".getBytes(StandardCharsets.UTF_8);
+		for (int i = 0; i < 100; i++) {
+			buffer.write(bytes);
+		}
+
+		assertEquals(1200, buffer.readableByteCount());
+		byte[] result = new byte[bytes.length];
+		buffer.read(result);
+		assertArrayEquals(bytes, result);
+		buffer.readPosition(1188);
+		buffer.read(result);
+		assertArrayEquals(bytes, result);
+		assertTrue(buffer.release());
+		// One slab for each size class from 256 up to 2048 bytes
+		assertEquals(4 * 1024 * 1024, this.factory.getPooledMemory());
+	}
+
+	@Test
+	public void largeBuffersAreNotPooled() {
+		PooledDirectDataBuffer buffer = this.factory.allocateBuffer(
+				PooledDirectDataBufferFactory.DEFAULT_MAX_POOLED_CAPACITY + 1);
+
+		assertTrue(buffer.getNativeBuffer().isDirect());
+		assertEquals(0, this.factory.getPooledMemory());
+		assertTrue(buffer.release());
+	}
+
+	@Test
+	public void maxPooledMemory() {
+		PooledDirectDataBufferFactory factory = new PooledDirectDataBufferFactory(1024, 512);
+		PooledDirectDataBuffer buffer1 = factory.allocateBuffer(256);
+		PooledDirectDataBuffer buffer2 = factory.allocateBuffer(256);
+		PooledDirectDataBuffer buffer3 = factory.allocateBuffer(256);
+
+		assertEquals(512, factory.getPooledMemory());
+		buffer3.write(new byte[256]);
+		assertEquals(256, buffer3.readableByteCount());
+		buffer1.release();
+		buffer2.release();
+		buffer3.release();
+		assertEquals(512, factory.getPooledMemory());
+	}
+
+	@Test
+	public void chunksCachedByTerminatedThreadAreReclaimed() throws Exception {
+		PooledDirectDataBufferFactory factory = new PooledDirectDataBufferFactory(1024, 512);
+		Thread thread = new Thread(() -> {
+			PooledDirectDataBuffer buffer1 = factory.allocateBuffer(256);
+			PooledDirectDataBuffer buffer2 = factory.allocateBuffer(256);
+			buffer1.write(new byte[] {'a'});
+			buffer2.write(new byte[] {'a'});
+			buffer1.release();
+			buffer2.release();
+		});
+		thread.start();
+		thread.join();
+
+		PooledDirectDataBuffer buffer1 = factory.allocateBuffer(256);
+		PooledDirectDataBuffer buffer2 = factory.allocateBuffer(256);
+		assertEquals('a', buffer1.getNativeBuffer().get(0));
+		assertEquals('a', buffer2.getNativeBuffer().get(0));
+		assertEquals(512, factory.getPooledMemory());
+		buffer1.release();
+		buffer2.release();
+	}
+
+	@Test
+	public void leakedBuffersAreNotCountedAgainstMaxPooledMemory() throws Exception {
+		PooledDirectDataBufferFactory factory = new PooledDirectDataBufferFactory(1024, 512);
+		factory.setLeakDetectionSamplingInterval(1);
+		factory.allocateBuffer(256);
+		factory.allocateBuffer(256);
+		assertEquals(512, factory.getPooledMemory());
+
+		for (int i = 0; i < 100 && factory.getPooledMemory() == 512; i++) {
+			System.gc();
+			Thread.sleep(10);
+			factory.allocateBuffer(256).release();
+		}
+		assertTrue(factory.getPooledMemory() < 512);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void maxPooledCapacityMustBePowerOfTwo() {
+		new PooledDirectDataBufferFactory(1000, 1024 * 1024);
+	}
+
+	@Test
+	public void retainAndRelease() {
+		PooledDirectDataBuffer buffer = this.factory.allocateBuffer(10);
+		buffer.retain();
+
+		assertFalse(buffer.release());
+		assertTrue(buffer.release());
+		assertEquals(0, buffer.capacity());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void retainAfterRelease() {
+		PooledDirectDataBuffer buffer = this.factory.allocateBuffer(10);
+		buffer.release();
+		buffer.retain();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void writeAfterRelease() {
+		PooledDirectDataBuffer buffer = this.factory.allocateBuffer(10);
+		buffer.release();
+		buffer.write(new byte[10]);
+	}
+
+	@Test
+	public void asInputStreamReleasingOnClose() throws Exception {
+		PooledDirectDataBuffer buffer = this.factory.allocateBuffer(10);
+		buffer.write((byte) 'a');
+		try (InputStream inputStream = buffer.asInputStream(true)) {
+			assertEquals('a', inputStream.read());
+		}
+
+		try {
+			buffer.release();
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void retainedSliceKeepsMemoryAfterParentIsReleased() {
+		PooledDirectDataBufferFactory factory = new PooledDirectDataBufferFactory();
+		factory.setThreadCacheSize(1);
+		PooledDirectDataBuffer buffer = factory.allocateBuffer(256);
+		buffer.write("foo,bar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer slice = DataBufferUtils.retain(buffer.slice(0, 3));
+
+		assertFalse(buffer.release());
+		PooledDirectDataBuffer other = factory.allocateBuffer(256);
+		other.write(new byte[256]);
+		assertEquals("foo", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+		assertTrue(DataBufferUtils.release(slice));
+		other.release();
+	}
+
+	@Test
+	public void sliceKeepsMemoryAfterCapacityIncrease() {
+		PooledDirectDataBufferFactory factory = new PooledDirectDataBufferFactory();
+		factory.setThreadCacheSize(1);
+		PooledDirectDataBuffer buffer = factory.allocateBuffer(256);
+		buffer.write("foo".getBytes(StandardCharsets.UTF_8));
+		DataBuffer slice = buffer.slice(0, 3);
+		buffer.write(new byte[1024]);
+
+		PooledDirectDataBuffer other = factory.allocateBuffer(256);
+		other.write(new byte[256]);
+		assertEquals("foo", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+		other.release();
+		assertTrue(DataBufferUtils.release(slice));
+		assertEquals(0, buffer.capacity());
+	}
+
+	@Test
+	public void join() {
+		DataBuffer buffer1 = this.factory.allocateBuffer(3).write("foo".getBytes(StandardCharsets.UTF_8));
+		DataBuffer buffer2 = this.factory.allocateBuffer(3).write("bar".getBytes(StandardCharsets.UTF_8));
+
+		DataBuffer result = this.factory.join(Arrays.asList(buffer1, buffer2));
+
+		assertEquals("foobar", DataBufferTestUtils.dumpString(result, StandardCharsets.UTF_8));
+		assertTrue(DataBufferUtils.release(result));
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for parsing and evaluating SpEL expressions, both interpreted
+ * and with the {@link SpelCompilerMode#IMMEDIATE immediate} compiler mode.
+ *
+ * @since 5.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class SpelEvaluationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"OFF", "IMMEDIATE"})
+		public SpelCompilerMode compilerMode;
+
+		@Param({"name", "address.city", "name.length() > 3 and age >= 18", "'key-' + age"})
+		public String expressionString;
+
+		public final Person person = new Person("Juliet", 30, new Address("Verona"));
+
+		public SpelExpressionParser parser;
+
+		public Expression expression;
+
+		public StandardEvaluationContext context;
+
+		@Setup
+		public void setup() {
+			this.parser = new SpelExpressionParser(new SpelParserConfiguration(this.compilerMode, null));
+			this.expression = this.parser.parseExpression(this.expressionString);
+			this.context = new StandardEvaluationContext(this.person);
+			// warm up the compiler so that the benchmark measures compiled execution
+			this.expression.getValue(this.context);
+			this.expression.getValue(this.context);
+		}
+	}
+
+
+	@Benchmark
+	public Object parse(BenchmarkState state) {
+		return state.parser.parseExpression(state.expressionString);
+	}
+
+	@Benchmark
+	public Object evaluate(BenchmarkState state) {
+		return state.expression.getValue(state.context);
+	}
+
+	@Benchmark
+	public Object evaluateWithNewContext(BenchmarkState state) {
+		return state.expression.getValue(new StandardEvaluationContext(state.person));
+	}
+
+
+	public static class Person {
+
+		private final String name;
+
+		private final int age;
+
+		private final Address address;
+
+		public Person(String name, int age, Address address) {
+			this.name = name;
+			this.age = age;
+			this.address = address;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+	}
+
+
+	public static class Address {
+
+		private final String city;
+
+		public Address(String city) {
+			this.city = city;
+		}
+
+		public String getCity() {
+			return this.city;
+		}
+	}
+
+}
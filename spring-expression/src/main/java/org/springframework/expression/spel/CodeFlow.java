@@ -85,9 +85,17 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * The variables holding the active context object within selections and
+	 * projections, innermost first. The target is the active context object
+	 * outside of them.
+	 */
+	private final Deque<Integer> contextObjectVariables = new ArrayDeque<>();
 
 
 	/**
@@ -105,11 +113,34 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the active context object
+	 * within a selection or projection.
 	 * @param mv the visitor into which the load instruction should be inserted
+	 * @see #enterContextObjectScope
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer variable = this.contextObjectVariables.peek();
+		mv.visitVarInsn(ALOAD, (variable != null ? variable : 1));
+	}
+
+	/**
+	 * Use the object in the given variable as the active context object, i.e. as
+	 * the target loaded by {@link #loadTarget}, until the matching call to
+	 * {@link #exitContextObjectScope()}.
+	 * @param variable the variable holding the active context object
+	 * @since 5.1
+	 */
+	public void enterContextObjectScope(int variable) {
+		this.contextObjectVariables.push(variable);
+	}
+
+	/**
+	 * Restore the active context object that was in use before the last call
+	 * to {@link #enterContextObjectScope}.
+	 * @since 5.1
+	 */
+	public void exitContextObjectScope() {
+		this.contextObjectVariables.pop();
 	}
 
 	/**
@@ -420,6 +451,48 @@ public class CodeFlow implements Opcodes {
 	}
 
 
+	/**
+	 * Determine whether a value of the type described by the stack descriptor can
+	 * be converted to the type described by the target descriptor with a widening
+	 * primitive conversion, unboxing and boxing as necessary, e.g. an {@code int}
+	 * or {@code Integer} to a {@code long} or {@code Long}.
+	 * @param stackDescriptor the descriptor of the operand on top of the stack
+	 * @param targetDescriptor the descriptor of the target type
+	 * @return {@code true} if the conversion is a widening numeric conversion
+	 * @since 5.1
+	 * @see #insertNumericWideningConversion
+	 */
+	public static boolean isNumericWideningConversion(@Nullable String stackDescriptor, String targetDescriptor) {
+		if (stackDescriptor == null || !isPrimitiveOrUnboxableSupportedNumber(stackDescriptor) ||
+				!isPrimitiveOrUnboxableSupportedNumber(targetDescriptor)) {
+			return false;
+		}
+		String order = "IJFD";
+		return (order.indexOf(toPrimitiveTargetDesc(stackDescriptor)) <
+				order.indexOf(toPrimitiveTargetDesc(targetDescriptor)));
+	}
+
+	/**
+	 * Insert the bytecodes for a widening numeric conversion.
+	 * @param mv the method visitor into which instructions should be inserted
+	 * @param stackDescriptor the descriptor of the operand on top of the stack
+	 * @param targetDescriptor the descriptor of the target type
+	 * @since 5.1
+	 * @see #isNumericWideningConversion
+	 */
+	public static void insertNumericWideningConversion(MethodVisitor mv, String stackDescriptor, String targetDescriptor) {
+		char stackTop = toPrimitiveTargetDesc(stackDescriptor);
+		if (!isPrimitive(stackDescriptor)) {
+			insertUnboxInsns(mv, stackTop, stackDescriptor);
+		}
+		char target = toPrimitiveTargetDesc(targetDescriptor);
+		insertAnyNecessaryTypeConversionBytecodes(mv, target, String.valueOf(stackTop));
+		if (!isPrimitive(targetDescriptor)) {
+			insertBoxIfNecessary(mv, target);
+		}
+	}
+
+
 	/**
 	 * Create the JVM signature descriptor for a method. This consists of the descriptors
 	 * for the method parameters surrounded with parentheses, followed by the
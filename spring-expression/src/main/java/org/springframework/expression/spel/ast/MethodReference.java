@@ -291,7 +291,7 @@ public class MethodReference extends SpelNodeImpl {
 		}
 
 		ReflectiveMethodExecutor executor = (ReflectiveMethodExecutor) executorToCheck.get();
-		if (executor.didArgumentConversionOccur()) {
+		if (executor.didArgumentConversionOccur() && !areNumericWideningConversions(executor)) {
 			return false;
 		}
 		Class<?> clazz = executor.getMethod().getDeclaringClass();
@@ -301,7 +301,28 @@ public class MethodReference extends SpelNodeImpl {
 
 		return true;
 	}
-	
+
+	/**
+	 * Determine whether the arguments that had to be converted to the parameter
+	 * types of the executor's method were only subject to widening numeric
+	 * conversions, which compiled code can perform as well, e.g. an {@code int}
+	 * argument for a {@code long} parameter.
+	 */
+	private boolean areNumericWideningConversions(ReflectiveMethodExecutor executor) {
+		Method method = executor.getMethod();
+		if (method.isVarArgs()) {
+			return false;
+		}
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (executor.didArgumentConversionOccur(i) && !CodeFlow.isNumericWideningConversion(
+					this.children[i].exitTypeDescriptor, CodeFlow.toDescriptor(parameterTypes[i]))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		CachedMethodExecutor executorToCheck = this.cachedExecutor;
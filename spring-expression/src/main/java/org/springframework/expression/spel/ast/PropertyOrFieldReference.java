@@ -176,9 +176,14 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 
 		PropertyAccessor accessorToUse = this.cachedReadAccessor;
 		if (accessorToUse != null) {
-			if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
+			// An optimal accessor is not registered with the context itself but can be reused
+			// for targets of the same type while the accessor that created it is registered
+			if (accessorToUse instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor ?
+					((ReflectivePropertyAccessor.OptimalPropertyAccessor) accessorToUse).isReusableFor(
+							evalContext, targetObject) :
+					evalContext.getPropertyAccessors().contains(accessorToUse)) {
 				try {
-					return accessorToUse.read(evalContext, contextObject.getValue(), name);
+					return accessorToUse.read(evalContext, targetObject, name);
 				}
 				catch (Exception ex) {
 					// This is OK - it may have gone stale due to a class change,
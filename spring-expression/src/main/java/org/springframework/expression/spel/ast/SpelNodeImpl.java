@@ -268,8 +268,11 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		String lastDesc = cf.lastDescriptor();
 		Assert.state(lastDesc != null, "No last descriptor");
 		boolean primitiveOnStack = CodeFlow.isPrimitive(lastDesc);
+		if (CodeFlow.isNumericWideningConversion(lastDesc, paramDesc)) {
+			CodeFlow.insertNumericWideningConversion(mv, lastDesc, paramDesc);
+		}
 		// Check if need to box it for the method reference?
-		if (primitiveOnStack && paramDesc.charAt(0) == 'L') {
+		else if (primitiveOnStack && paramDesc.charAt(0) == 'L') {
 			CodeFlow.insertBoxIfNecessary(mv, lastDesc.charAt(0));
 		}
 		else if (paramDesc.length() == 1 && !primitiveOnStack) {
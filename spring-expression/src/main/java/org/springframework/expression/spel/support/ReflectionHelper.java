@@ -264,13 +264,38 @@ public abstract class ReflectionHelper {
 	static boolean convertArguments(TypeConverter converter, Object[] arguments, Executable executable,
 			@Nullable Integer varargsPosition) throws EvaluationException {
 
+		return convertArguments(converter, arguments, executable, varargsPosition, null);
+	}
+
+	/**
+	 * Takes an input set of argument values and converts them to the types specified as the
+	 * required parameter types, recording which of the arguments have been converted.
+	 * @param converter the type converter to use for attempting conversions
+	 * @param arguments the actual arguments that need conversion
+	 * @param executable the target Method or Constructor
+	 * @param varargsPosition the known position of the varargs argument, if any
+	 * ({@code null} if not varargs)
+	 * @param convertedArguments an array of the same length as the arguments, to be
+	 * populated with whether each of the arguments has been converted (may be {@code null})
+	 * @return {@code true} if some kind of conversion occurred on an argument
+	 * @throws EvaluationException if a problem occurs during conversion
+	 * @since 5.1
+	 */
+	static boolean convertArguments(TypeConverter converter, Object[] arguments, Executable executable,
+			@Nullable Integer varargsPosition, @Nullable boolean[] convertedArguments) throws EvaluationException {
+
 		boolean conversionOccurred = false;
 		if (varargsPosition == null) {
 			for (int i = 0; i < arguments.length; i++) {
 				TypeDescriptor targetType = new TypeDescriptor(MethodParameter.forExecutable(executable, i));
 				Object argument = arguments[i];
 				arguments[i] = converter.convertValue(argument, TypeDescriptor.forObject(argument), targetType);
-				conversionOccurred |= (argument != arguments[i]);
+				if (argument != arguments[i]) {
+					conversionOccurred = true;
+					if (convertedArguments != null) {
+						convertedArguments[i] = true;
+					}
+				}
 			}
 		}
 		else {
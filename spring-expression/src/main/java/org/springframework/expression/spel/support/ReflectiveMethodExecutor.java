@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,6 +47,9 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 
 	private boolean argumentConversionOccurred = false;
 
+	@Nullable
+	private boolean[] convertedArguments;
+
 
 	public ReflectiveMethodExecutor(Method method) {
 		this.method = method;
@@ -106,12 +109,26 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 		return this.argumentConversionOccurred;
 	}
 
+	/**
+	 * Determine whether the argument at the given index had to be converted to
+	 * the corresponding parameter type on the last invocation of this executor.
+	 * Arguments passed to a varargs parameter are not tracked individually.
+	 * @param index the index of the argument
+	 * @since 5.1
+	 */
+	public boolean didArgumentConversionOccur(int index) {
+		boolean[] converted = this.convertedArguments;
+		return (converted != null && index < converted.length && converted[index]);
+	}
+
 
 	@Override
 	public TypedValue execute(EvaluationContext context, Object target, Object... arguments) throws AccessException {
 		try {
+			boolean[] converted = new boolean[arguments.length];
 			this.argumentConversionOccurred = ReflectionHelper.convertArguments(
-					context.getTypeConverter(), arguments, this.method, this.varargsPosition);
+					context.getTypeConverter(), arguments, this.method, this.varargsPosition, converted);
+			this.convertedArguments = converted;
 			if (this.method.isVarArgs()) {
 				arguments = ReflectionHelper.setupArgumentsForVarargsInvocation(
 						this.method.getParameterTypes(), arguments);
@@ -16,8 +16,12 @@
 
 package org.springframework.expression.spel.support;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -51,6 +55,9 @@ import org.springframework.util.StringUtils;
  * <p>A property can be referenced through a public getter method (when being read)
  * or a public setter method (when being written), and also as a public field.
  *
+ * <p>As of 5.1, resolved getters and fields are read through a {@link MethodHandle}
+ * rather than through reflective invocation.
+ *
  * @author Andy Clement
  * @author Juergen Hoeller
  * @author Phillip Webb
@@ -184,8 +191,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 			}
 			if (method != null) {
 				try {
-					ReflectionUtils.makeAccessible(method);
-					Object value = method.invoke(target);
+					Object value = invoker.read(target);
 					return new TypedValue(value, invoker.typeDescriptor.narrow(value));
 				}
 				catch (Exception ex) {
@@ -206,8 +212,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 			}
 			if (field != null) {
 				try {
-					ReflectionUtils.makeAccessible(field);
-					Object value = field.get(target);
+					Object value = invoker.read(target);
 					return new TypedValue(value, invoker.typeDescriptor.narrow(value));
 				}
 				catch (Exception ex) {
@@ -536,7 +541,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 				}
 			}
 			if (method != null) {
-				return new OptimalPropertyAccessor(invocationTarget);
+				return new OptimalPropertyAccessor(invocationTarget, this, clazz, target instanceof Class);
 			}
 		}
 
@@ -551,7 +556,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 				}
 			}
 			if (field != null) {
-				return new OptimalPropertyAccessor(invocationTarget);
+				return new OptimalPropertyAccessor(invocationTarget, this, clazz, target instanceof Class);
 			}
 		}
 
@@ -565,14 +570,60 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 	 */
 	private static class InvokerPair {
 
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
 		final Member member;
 
 		final TypeDescriptor typeDescriptor;
 
+		@Nullable
+		private volatile MethodHandle getter;
+
 		public InvokerPair(Member member, TypeDescriptor typeDescriptor) {
 			this.member = member;
 			this.typeDescriptor = typeDescriptor;
 		}
+
+		/**
+		 * Read the value of the member from the given target, with the same
+		 * exception semantics as {@link Method#invoke} and {@link Field#get}.
+		 */
+		@Nullable
+		Object read(@Nullable Object target) throws IllegalAccessException, InvocationTargetException {
+			MethodHandle getter = this.getter;
+			if (getter == null) {
+				getter = createGetter();
+				this.getter = getter;
+			}
+			if (!Modifier.isStatic(this.member.getModifiers()) &&
+					!this.member.getDeclaringClass().isInstance(target)) {
+				throw new IllegalArgumentException("Object is not an instance of declaring class");
+			}
+			try {
+				return (Object) getter.invokeExact(target);
+			}
+			catch (Throwable ex) {
+				throw new InvocationTargetException(ex);
+			}
+		}
+
+		private MethodHandle createGetter() throws IllegalAccessException {
+			MethodHandle getter;
+			if (this.member instanceof Method) {
+				Method method = (Method) this.member;
+				ReflectionUtils.makeAccessible(method);
+				getter = MethodHandles.lookup().unreflect(method);
+			}
+			else {
+				Field field = (Field) this.member;
+				ReflectionUtils.makeAccessible(field);
+				getter = MethodHandles.lookup().unreflectGetter(field);
+			}
+			if (Modifier.isStatic(this.member.getModifiers())) {
+				getter = MethodHandles.dropArguments(getter, 0, Object.class);
+			}
+			return getter.asType(GETTER_TYPE);
+		}
 	}
 
 
@@ -639,9 +690,45 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		private final TypeDescriptor typeDescriptor;
 
-		OptimalPropertyAccessor(InvokerPair target) {
+		private final InvokerPair invoker;
+
+		private final PropertyAccessor originalAccessor;
+
+		private final Class<?> targetType;
+
+		private final boolean targetIsClass;
+
+		OptimalPropertyAccessor(InvokerPair target, PropertyAccessor originalAccessor,
+				Class<?> targetType, boolean targetIsClass) {
+
 			this.member = target.member;
 			this.typeDescriptor = target.typeDescriptor;
+			this.invoker = target;
+			this.originalAccessor = originalAccessor;
+			this.targetType = targetType;
+			this.targetIsClass = targetIsClass;
+		}
+
+		/**
+		 * Determine whether this accessor may be reused for reading the same
+		 * property from the given target: that is, whether the target is of the
+		 * exact type that this accessor has been created for, and whether the
+		 * {@code ReflectivePropertyAccessor} that created it is still registered
+		 * with the given context.
+		 * <p>Allows callers to keep a monomorphic inline cache of the accessor,
+		 * skipping accessor resolution for repeated reads of the same property.
+		 * @param context the evaluation context in which the read happens
+		 * @param target the target object to read from
+		 * @since 5.1
+		 */
+		public boolean isReusableFor(EvaluationContext context, @Nullable Object target) {
+			if (target == null) {
+				return false;
+			}
+			boolean targetIsClass = (target instanceof Class);
+			Class<?> type = (targetIsClass ? (Class<?>) target : target.getClass());
+			return (type == this.targetType && targetIsClass == this.targetIsClass &&
+					context.getPropertyAccessors().contains(this.originalAccessor));
 		}
 
 		@Override
@@ -678,10 +765,8 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 		@Override
 		public TypedValue read(EvaluationContext context, @Nullable Object target, String name) throws AccessException {
 			if (this.member instanceof Method) {
-				Method method = (Method) this.member;
 				try {
-					ReflectionUtils.makeAccessible(method);
-					Object value = method.invoke(target);
+					Object value = this.invoker.read(target);
 					return new TypedValue(value, this.typeDescriptor.narrow(value));
 				}
 				catch (Exception ex) {
@@ -689,10 +774,8 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 				}
 			}
 			else {
-				Field field = (Field) this.member;
 				try {
-					ReflectionUtils.makeAccessible(field);
-					Object value = field.get(target);
+					Object value = this.invoker.read(target);
 					return new TypedValue(value, this.typeDescriptor.narrow(value));
 				}
 				catch (Exception ex) {
@@ -254,6 +254,26 @@ public class PropertyAccessTests extends AbstractExpressionTests {
 		assertEquals("p4", expr.getValue(context, target));
 	}
 
+	@Test
+	public void propertyReadWithCachedAccessor() {
+		Expression expr = parser.parseExpression("name");
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		assertEquals("p1", expr.getValue(context, new Person("p1")));
+		assertEquals("p2", expr.getValue(context, new Person("p2")));
+		assertEquals("java.lang.String", expr.getValue(context, (Object) String.class));
+		assertEquals("p3", expr.getValue(context, new Person("p3")));
+
+		expr = parser.parseExpression("class");
+		assertEquals(String.class, expr.getValue(context, "a"));
+		try {
+			expr.getValue(SimpleEvaluationContext.forReadOnlyDataBinding().build(), "a");
+			fail("Should have thrown SpelEvaluationException");
+		}
+		catch (SpelEvaluationException ex) {
+			// expected
+		}
+	}
+
 	@Test
 	public void propertyAccessWithoutMethodResolver() {
 		EvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding().build();
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -1028,6 +1029,100 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertFalse(((SpelNodeImpl)((SpelExpression) expression).getAST()).isCompilable());
 	}
 
+	@Test
+	public void selection() throws Exception {
+		List<String> names = Arrays.asList("Andy", "Sam", "Juergen", "Rob");
+
+		expression = parser.parseExpression("?[length() > 3]");
+		assertEquals(Arrays.asList("Andy", "Juergen"), expression.getValue(names));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("Andy", "Juergen"), expression.getValue(names));
+		assertEquals(Collections.emptyList(), expression.getValue(Arrays.asList("Al")));
+
+		expression = parser.parseExpression("^[length() > 3]");
+		assertEquals("Andy", expression.getValue(names));
+		assertCanCompile(expression);
+		assertEquals("Andy", expression.getValue(names));
+
+		expression = parser.parseExpression("$[length() > 3]");
+		assertEquals("Juergen", expression.getValue(names));
+		assertCanCompile(expression);
+		assertEquals("Juergen", expression.getValue(names));
+		assertNull(expression.getValue(Arrays.asList("Al")));
+
+		expression = parser.parseExpression("?[#this.startsWith('R') or length() == 4].size()");
+		assertEquals(2, expression.getValue(names));
+		assertCanCompile(expression);
+		assertEquals(2, expression.getValue(names));
+	}
+
+	@Test
+	public void projection() throws Exception {
+		List<String> names = Arrays.asList("Andy", "Sam", "Juergen");
+
+		expression = parser.parseExpression("![length()]");
+		assertEquals(Arrays.asList(4, 3, 7), expression.getValue(names));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(4, 3, 7), expression.getValue(names));
+
+		expression = parser.parseExpression("?[length() > 3].![toUpperCase()]");
+		assertEquals(Arrays.asList("ANDY", "JUERGEN"), expression.getValue(names));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("ANDY", "JUERGEN"), expression.getValue(names));
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("names", names);
+		expression = parser.parseExpression("#names?.![length()]");
+		assertEquals(Arrays.asList(4, 3, 7), expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(4, 3, 7), expression.getValue(context));
+		context.setVariable("names", null);
+		assertNull(expression.getValue(context));
+
+		// Projection of an array is not compilable
+		expression = parser.parseExpression("![length()]");
+		assertEquals(3, expression.getValue(new String[] {"Andy", "Sam", "Juergen"}, Object[].class).length);
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void thisReference() throws Exception {
+		expression = parser.parseExpression("#this");
+		assertEquals("abc", expression.getValue("abc"));
+		assertCanCompile(expression);
+		assertEquals("abc", expression.getValue("abc"));
+	}
+
+	@Test
+	public void methodReferenceWithWideningArgumentConversion() throws Exception {
+		expression = parser.parseExpression("T(Long).toHexString(255)");
+		assertEquals("ff", expression.getValue());
+		assertCanCompile(expression);
+		assertEquals("ff", expression.getValue());
+
+		expression = parser.parseExpression("T(Math).sqrt(#root)");
+		assertEquals(3.0d, expression.getValue(9));
+		assertCanCompile(expression);
+		assertEquals(3.0d, expression.getValue(9));
+	}
+
+	@Test
+	public void methodReferenceWithCollectionArgumentConversion() throws Exception {
+		Summer root = new Summer(Arrays.asList(1, 2, 3));
+		String summer = Summer.class.getName();
+
+		// The argument type matches the parameter type but its elements are converted
+		expression = parser.parseExpression("T(" + summer + ").sum(ids)");
+		assertEquals(6L, expression.getValue(root));
+		assertCantCompile(expression);
+		assertEquals(6L, expression.getValue(root));
+
+		expression = new SpelExpressionParser(new SpelParserConfiguration(
+				SpelCompilerMode.IMMEDIATE, getClass().getClassLoader())).parseExpression("T(" + summer + ").sum(ids)");
+		assertEquals(6L, expression.getValue(root));
+		assertEquals(6L, expression.getValue(root));
+	}
+
 	@Test
 	public void functionReferenceVarargs_SPR12359() throws Exception {
 		StandardEvaluationContext context = new StandardEvaluationContext();
@@ -6060,4 +6155,27 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		}
 	}
 
+
+
+	public static class Summer {
+
+		private final List<Integer> ids;
+
+		public Summer(List<Integer> ids) {
+			this.ids = ids;
+		}
+
+		public List<Integer> getIds() {
+			return this.ids;
+		}
+
+		public static long sum(List<Long> values) {
+			long sum = 0;
+			for (Long value : values) {
+				sum += value;
+			}
+			return sum;
+		}
+	}
+
 }
@@ -20,11 +20,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
 
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.AccessException;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.ParseException;
 import org.springframework.expression.PropertyAccessor;
@@ -402,6 +404,32 @@ public class ReflectionHelperTests extends AbstractExpressionTests {
 		}
 	}
 
+	@Test
+	public void testOptimalReflectivePropertyAccessorReuse() throws Exception {
+		ReflectivePropertyAccessor rpa = new ReflectivePropertyAccessor();
+		Tester t = new Tester();
+		t.setProperty("hello");
+		StandardEvaluationContext ctx = new StandardEvaluationContext(t);
+		ctx.setPropertyAccessors(Collections.singletonList(rpa));
+
+		ReflectivePropertyAccessor.OptimalPropertyAccessor optA =
+				(ReflectivePropertyAccessor.OptimalPropertyAccessor) rpa.createOptimalAccessor(ctx, t, "property");
+		assertTrue(optA.isReusableFor(ctx, t));
+		assertTrue(optA.isReusableFor(ctx, new Tester()));
+		assertFalse(optA.isReusableFor(ctx, null));
+		assertFalse(optA.isReusableFor(ctx, "hello"));
+		assertFalse(optA.isReusableFor(ctx, Tester.class));
+		assertFalse(optA.isReusableFor(new StandardEvaluationContext(t), t));
+		assertEquals("hello", optA.read(ctx, t, "property").getValue());
+		try {
+			optA.read(ctx, "hello", "property");
+			fail();
+		}
+		catch (AccessException ex) {
+			// success
+		}
+	}
+
 
 	/**
 	 * Used to validate the match returned from a compareArguments call.
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Benchmarks for {@link JdbcTemplate} row mapping against an embedded H2 database,
+ * comparing a hand-written {@link RowMapper} with {@link BeanPropertyRowMapper}
+ * and {@link ColumnMapRowMapper}.
+ *
+ * @since 5.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class JdbcTemplateRowMappingBenchmark {
+
+	private static final String SELECT = "select id, first_name, last_name, age, balance from person";
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1", "1000"})
+		public int rowCount;
+
+		public EmbeddedDatabase database;
+
+		public JdbcTemplate jdbcTemplate;
+
+		public final RowMapper<Person> beanPropertyRowMapper = new BeanPropertyRowMapper<>(Person.class);
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+					.setType(EmbeddedDatabaseType.H2).build();
+			this.jdbcTemplate = new JdbcTemplate(this.database);
+			this.jdbcTemplate.execute("create table person (id bigint primary key, " +
+					"first_name varchar(50), last_name varchar(50), age integer, balance double)");
+			for (int i = 0; i < this.rowCount; i++) {
+				this.jdbcTemplate.update("insert into person values (?, ?, ?, ?, ?)",
+						i, "first" + i, "last" + i, i % 100, i * 10.5d);
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.database.shutdown();
+		}
+	}
+
+
+	@Benchmark
+	public List<Person> customRowMapper(BenchmarkState state) {
+		return state.jdbcTemplate.query(SELECT, (rs, rowNum) -> {
+			Person person = new Person();
+			person.setId(rs.getLong(1));
+			person.setFirstName(rs.getString(2));
+			person.setLastName(rs.getString(3));
+			person.setAge(rs.getInt(4));
+			person.setBalance(rs.getDouble(5));
+			return person;
+		});
+	}
+
+	@Benchmark
+	public List<Person> beanPropertyRowMapper(BenchmarkState state) {
+		return state.jdbcTemplate.query(SELECT, state.beanPropertyRowMapper);
+	}
+
+	@Benchmark
+	public Object columnMapRowMapper(BenchmarkState state) {
+		return state.jdbcTemplate.queryForList(SELECT);
+	}
+
+
+	public static class Person {
+
+		private long id;
+
+		private String firstName;
+
+		private String lastName;
+
+		private int age;
+
+		private double balance;
+
+		public long getId() {
+			return this.id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getFirstName() {
+			return this.firstName;
+		}
+
+		public void setFirstName(String firstName) {
+			this.firstName = firstName;
+		}
+
+		public String getLastName() {
+			return this.lastName;
+		}
+
+		public void setLastName(String lastName) {
+			this.lastName = lastName;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public double getBalance() {
+			return this.balance;
+		}
+
+		public void setBalance(double balance) {
+			this.balance = balance;
+		}
+	}
+
+}
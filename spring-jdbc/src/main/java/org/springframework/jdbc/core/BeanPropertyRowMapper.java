@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,19 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -31,9 +38,12 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.NotWritablePropertyException;
 import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.KotlinDetector;
+import org.springframework.core.MethodAccessor;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.dao.DataRetrievalFailureException;
@@ -42,6 +52,7 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -67,8 +78,13 @@ import org.springframework.util.StringUtils;
  * Be aware that if you use the values from the generated bean to update the database the primitive value
  * will have been set to the primitive's default value instead of null.
  *
- * <p>Please note that this class is designed to provide convenience rather than high performance.
- * For best performance, consider using a custom {@link RowMapper} implementation.
+ * <p>As of 5.1, the association between columns and bean properties is resolved once per
+ * column layout and reused for subsequent rows with the same layout. Values which do not
+ * need any conversion are passed straight to the corresponding setter through the same
+ * {@link MethodAccessor} that a {@link BeanWrapper} would use, bypassing the BeanWrapper
+ * itself unless {@link #initBeanWrapper} has been overridden or a custom
+ * {@link #setConversionService ConversionService} has been set. For best performance,
+ * consider using a custom {@link RowMapper} implementation nevertheless.
  *
  * @author Thomas Risberg
  * @author Juergen Hoeller
@@ -101,6 +117,13 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Nullable
 	private Set<String> mappedProperties;
 
+	/** Whether a subclass customizes the BeanWrapper, requiring it for every property */
+	private final boolean customBeanWrapper = isInitBeanWrapperOverridden();
+
+	/** Column mappings resolved for the most recently encountered column layout */
+	@Nullable
+	private volatile ColumnMappings<T> columnMappings;
+
 
 	/**
 	 * Create a new {@code BeanPropertyRowMapper} for bean-style configuration.
@@ -195,6 +218,9 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	 * or {@code null} for none.
 	 * <p>Default is a {@link DefaultConversionService}, as of Spring 4.3. This
 	 * provides support for {@code java.time} conversion and other special types.
+	 * <p>A ConversionService other than the shared {@link DefaultConversionService}
+	 * instance is applied to all values, including values which are assignable to
+	 * the property type as-is, through a {@link BeanWrapper} for each row.
 	 * @since 4.3
 	 * @see #initBeanWrapper(BeanWrapper)
 	 */
@@ -219,6 +245,7 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	 */
 	protected void initialize(Class<T> mappedClass) {
 		this.mappedClass = mappedClass;
+		this.columnMappings = null;
 		this.mappedFields = new HashMap<>();
 		this.mappedProperties = new HashSet<>();
 		PropertyDescriptor[] pds = BeanUtils.getPropertyDescriptors(mappedClass);
@@ -281,71 +308,125 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Override
 	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
 		Assert.state(this.mappedClass != null, "Mapped class was not specified");
-		T mappedObject = BeanUtils.instantiateClass(this.mappedClass);
-		BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
-		initBeanWrapper(bw);
+		ColumnMappings<T> columnMappings = getColumnMappings(rs);
+		T mappedObject = columnMappings.instantiate();
+		BeanWrapper bw = null;
+		if (this.customBeanWrapper) {
+			bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
+			initBeanWrapper(bw);
+		}
+		// A custom ConversionService may convert assignable values as well
+		ConversionService cs = getConversionService();
+		boolean directAssignment = (cs == null || cs == DefaultConversionService.getSharedInstance());
+
+		for (ColumnMapping mapping : columnMappings.mappings) {
+			PropertyDescriptor pd = mapping.propertyDescriptor;
+			try {
+				Object value = getColumnValue(rs, mapping.index, pd);
+				if (bw == null && directAssignment && mapping.isDirectlyAssignable(value)) {
+					mapping.setValue(mappedObject, value);
+					continue;
+				}
+				if (bw == null) {
+					bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
+					initBeanWrapper(bw);
+				}
+				try {
+					bw.setPropertyValue(pd.getName(), value);
+				}
+				catch (TypeMismatchException ex) {
+					if (value == null && this.primitivesDefaultedForNullValue) {
+						if (logger.isDebugEnabled()) {
+							logger.debug("Intercepted TypeMismatchException for row " + rowNumber +
+									" and column '" + mapping.column + "' with null value when setting property '" +
+									pd.getName() + "' of type '" +
+									ClassUtils.getQualifiedName(pd.getPropertyType()) +
+									"' on object: " + mappedObject, ex);
+						}
+					}
+					else {
+						throw ex;
+					}
+				}
+			}
+			catch (NotWritablePropertyException ex) {
+				throw new DataRetrievalFailureException(
+						"Unable to map column '" + mapping.column + "' to property '" + pd.getName() + "'", ex);
+			}
+		}
+
+		if (isCheckFullyPopulated() && !columnMappings.populatedProperties.equals(this.mappedProperties)) {
+			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
+					"necessary to populate object of class [" + this.mappedClass.getName() + "]: " +
+					this.mappedProperties);
+		}
+
+		return mappedObject;
+	}
+
+	/**
+	 * Return the column mappings for the given result set, reusing the mappings
+	 * of the previous invocation if the column layout is unchanged. The layout
+	 * is only checked against the result set meta-data once per result set.
+	 */
+	private ColumnMappings<T> getColumnMappings(ResultSet rs) throws SQLException {
+		ColumnMappings<T> columnMappings = this.columnMappings;
+		if (columnMappings == null || !columnMappings.isVerifiedFor(rs)) {
+			ResultSetMetaData rsmd = rs.getMetaData();
+			if (columnMappings == null || !columnMappings.matches(rsmd)) {
+				columnMappings = resolveColumnMappings(rsmd);
+				this.columnMappings = columnMappings;
+			}
+			columnMappings.setVerifiedFor(rs);
+		}
+		return columnMappings;
+	}
 
-		ResultSetMetaData rsmd = rs.getMetaData();
+	/**
+	 * Resolve the bean property for each column in the given result set meta-data.
+	 */
+	private ColumnMappings<T> resolveColumnMappings(ResultSetMetaData rsmd) throws SQLException {
+		Assert.state(this.mappedClass != null, "Mapped class was not specified");
 		int columnCount = rsmd.getColumnCount();
-		Set<String> populatedProperties = (isCheckFullyPopulated() ? new HashSet<>() : null);
+		String[] columns = new String[columnCount];
+		List<ColumnMapping> mappings = new ArrayList<>(columnCount);
+		Set<String> populatedProperties = new HashSet<>();
 
 		for (int index = 1; index <= columnCount; index++) {
 			String column = JdbcUtils.lookupColumnName(rsmd, index);
-			String field = lowerCaseName(column.replaceAll(" ", ""));
+			columns[index - 1] = column;
+			String field = lowerCaseName(StringUtils.delete(column, " "));
 			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
 			if (pd != null) {
-				try {
-					Object value = getColumnValue(rs, index, pd);
-					if (rowNumber == 0 && logger.isDebugEnabled()) {
-						logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
-								"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
-					}
-					try {
-						bw.setPropertyValue(pd.getName(), value);
-					}
-					catch (TypeMismatchException ex) {
-						if (value == null && this.primitivesDefaultedForNullValue) {
-							if (logger.isDebugEnabled()) {
-								logger.debug("Intercepted TypeMismatchException for row " + rowNumber +
-										" and column '" + column + "' with null value when setting property '" +
-										pd.getName() + "' of type '" +
-										ClassUtils.getQualifiedName(pd.getPropertyType()) +
-										"' on object: " + mappedObject, ex);
-							}
-						}
-						else {
-							throw ex;
-						}
-					}
-					if (populatedProperties != null) {
-						populatedProperties.add(pd.getName());
-					}
-				}
-				catch (NotWritablePropertyException ex) {
-					throw new DataRetrievalFailureException(
-							"Unable to map column '" + column + "' to property '" + pd.getName() + "'", ex);
+				if (logger.isDebugEnabled()) {
+					logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
+							"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
 				}
+				mappings.add(new ColumnMapping(index, column, pd, !this.customBeanWrapper));
+				populatedProperties.add(pd.getName());
 			}
 			else {
 				// No PropertyDescriptor found
-				if (rowNumber == 0 && logger.isDebugEnabled()) {
+				if (logger.isDebugEnabled()) {
 					logger.debug("No property found for column '" + column + "' mapped to field '" + field + "'");
 				}
 			}
 		}
 
-		if (populatedProperties != null && !populatedProperties.equals(this.mappedProperties)) {
-			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
-					"necessary to populate object of class [" + this.mappedClass.getName() + "]: " +
-					this.mappedProperties);
-		}
+		return new ColumnMappings<>(this.mappedClass, columns, mappings, populatedProperties);
+	}
 
-		return mappedObject;
+	private boolean isInitBeanWrapperOverridden() {
+		Method method = ReflectionUtils.findMethod(getClass(), "initBeanWrapper", BeanWrapper.class);
+		return (method != null && method.getDeclaringClass() != BeanPropertyRowMapper.class);
 	}
 
 	/**
 	 * Initialize the given BeanWrapper to be used for row mapping.
 	 * To be called for each row.
+	 * <p>Note that overriding this method routes every property through the
+	 * BeanWrapper, disabling the direct setter invocation for values which do
+	 * not need any conversion.
 	 * <p>The default implementation applies the configured {@link ConversionService},
 	 * if any. Can be overridden in subclasses.
 	 * @param bw the BeanWrapper to initialize
@@ -387,4 +468,136 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return new BeanPropertyRowMapper<>(mappedClass);
 	}
 
+
+	/**
+	 * The bean properties resolved for a specific column layout.
+	 */
+	private static class ColumnMappings<T> {
+
+		private final Class<T> mappedClass;
+
+		@Nullable
+		private final Constructor<T> constructor;
+
+		private final String[] columns;
+
+		private final ColumnMapping[] mappings;
+
+		private final Set<String> populatedProperties;
+
+		// The result set that the column layout was last verified against, not kept reachable
+		@Nullable
+		private volatile WeakReference<ResultSet> verifiedResultSet;
+
+		public ColumnMappings(Class<T> mappedClass, String[] columns, List<ColumnMapping> mappings,
+				Set<String> populatedProperties) {
+
+			this.mappedClass = mappedClass;
+			this.constructor = findDefaultConstructor(mappedClass);
+			this.columns = columns;
+			this.mappings = mappings.toArray(new ColumnMapping[0]);
+			this.populatedProperties = populatedProperties;
+		}
+
+		@Nullable
+		private static <T> Constructor<T> findDefaultConstructor(Class<T> mappedClass) {
+			if (mappedClass.isInterface() || KotlinDetector.isKotlinType(mappedClass)) {
+				return null;
+			}
+			try {
+				return mappedClass.getDeclaredConstructor();
+			}
+			catch (NoSuchMethodException | LinkageError ex) {
+				return null;
+			}
+		}
+
+		public boolean matches(ResultSetMetaData rsmd) throws SQLException {
+			if (rsmd.getColumnCount() != this.columns.length) {
+				return false;
+			}
+			for (int i = 0; i < this.columns.length; i++) {
+				if (!this.columns[i].equals(JdbcUtils.lookupColumnName(rsmd, i + 1))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		public boolean isVerifiedFor(ResultSet rs) {
+			WeakReference<ResultSet> verifiedResultSet = this.verifiedResultSet;
+			return (verifiedResultSet != null && verifiedResultSet.get() == rs);
+		}
+
+		public void setVerifiedFor(ResultSet rs) {
+			this.verifiedResultSet = new WeakReference<>(rs);
+		}
+
+		public T instantiate() {
+			// Let BeanUtils raise the appropriate exception if there is no default constructor
+			return (this.constructor != null ? BeanUtils.instantiateClass(this.constructor) :
+					BeanUtils.instantiateClass(this.mappedClass));
+		}
+	}
+
+
+	/**
+	 * The association between a column and the bean property it maps to.
+	 */
+	private static class ColumnMapping {
+
+		private final int index;
+
+		private final String column;
+
+		private final PropertyDescriptor propertyDescriptor;
+
+		@Nullable
+		private final MethodAccessor writeAccessor;
+
+		public ColumnMapping(int index, String column, PropertyDescriptor pd, boolean directAccess) {
+			this.index = index;
+			this.column = column;
+			this.propertyDescriptor = pd;
+			Method writeMethod = pd.getWriteMethod();
+			if (directAccess && writeMethod != null && System.getSecurityManager() == null &&
+					BeanUtils.isSimpleValueType(pd.getPropertyType())) {
+				ReflectionUtils.makeAccessible(writeMethod);
+				this.writeAccessor = BeanUtils.getWriteMethodAccessor(pd);
+			}
+			else {
+				this.writeAccessor = null;
+			}
+		}
+
+		/**
+		 * Determine whether the given value can be passed to the setter as-is,
+		 * i.e. without any conversion or null handling by the BeanWrapper.
+		 */
+		public boolean isDirectlyAssignable(@Nullable Object value) {
+			if (this.writeAccessor == null) {
+				return false;
+			}
+			Class<?> propertyType = this.propertyDescriptor.getPropertyType();
+			return (value != null ? ClassUtils.isAssignableValue(propertyType, value) : !propertyType.isPrimitive());
+		}
+
+		public void setValue(Object target, @Nullable Object value) {
+			Assert.state(this.writeAccessor != null, "No write accessor");
+			try {
+				this.writeAccessor.invoke(target, value);
+			}
+			catch (InvocationTargetException ex) {
+				PropertyChangeEvent pce =
+						new PropertyChangeEvent(target, this.propertyDescriptor.getName(), null, value);
+				throw new MethodInvocationException(pce, ex.getTargetException());
+			}
+			catch (Exception ex) {
+				PropertyChangeEvent pce =
+						new PropertyChangeEvent(target, this.propertyDescriptor.getName(), null, value);
+				throw new MethodInvocationException(pce, ex);
+			}
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.jdbc.core;
 
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.util.List;
 
 import org.junit.Rule;
@@ -23,6 +25,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.core.test.ConcretePerson;
 import org.springframework.jdbc.core.test.DatePerson;
@@ -31,6 +34,7 @@ import org.springframework.jdbc.core.test.Person;
 import org.springframework.jdbc.core.test.SpacePerson;
 
 import static org.junit.Assert.*;
+import static org.mockito.BDDMockito.*;
 
 /**
  * @author Thomas Risberg
@@ -141,4 +145,57 @@ public class BeanPropertyRowMapperTests extends AbstractRowMapperTests {
 		mock.verifyClosed();
 	}
 
+	@Test
+	public void testQueriesWithDifferentColumnLayouts() throws Exception {
+		BeanPropertyRowMapper<SpacePerson> mapper = new BeanPropertyRowMapper<>(SpacePerson.class);
+		Mock mock = new Mock(MockType.THREE);
+		List<SpacePerson> result = mock.getJdbcTemplate().query(
+				"select last_name as \"Last Name\", age, birth_date, balance from people", mapper);
+		assertEquals(1, result.size());
+		verifyPerson(result.get(0));
+
+		mock = new Mock();
+		result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people", mapper);
+		assertEquals(1, result.size());
+		assertNull(result.get(0).getLastName());
+		assertEquals(22L, result.get(0).getAge());
+
+		mock = new Mock(MockType.THREE);
+		result = mock.getJdbcTemplate().query(
+				"select last_name as \"Last Name\", age, birth_date, balance from people", mapper);
+		assertEquals(1, result.size());
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	public void testMappingWithCustomConversionService() throws Exception {
+		Mock mock = new Mock();
+		DefaultConversionService conversionService = new DefaultConversionService();
+		conversionService.addConverter(String.class, String.class, String::toUpperCase);
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		mapper.setConversionService(conversionService);
+		List<Person> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people", mapper);
+		assertEquals(1, result.size());
+		assertEquals("BUBBA", result.get(0).getName());
+		mock.verifyClosed();
+	}
+
+	@Test
+	public void testColumnLayoutVerifiedOncePerResultSet() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		ResultSetMetaData resultSetMetaData = mock(ResultSetMetaData.class);
+		given(resultSet.getMetaData()).willReturn(resultSetMetaData);
+		given(resultSet.getString(1)).willReturn("Bubba", "Bud");
+		given(resultSetMetaData.getColumnCount()).willReturn(1);
+		given(resultSetMetaData.getColumnLabel(1)).willReturn("name");
+
+		assertEquals("Bubba", mapper.mapRow(resultSet, 0).getName());
+		assertEquals("Bud", mapper.mapRow(resultSet, 1).getName());
+		verify(resultSet, times(1)).getMetaData();
+	}
+
 }
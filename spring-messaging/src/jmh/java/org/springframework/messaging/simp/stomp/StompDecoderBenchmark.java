@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.simp.stomp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.messaging.Message;
+
+/**
+ * Benchmarks for {@link StompDecoder} and {@link BufferingStompDecoder},
+ * decoding batches of STOMP {@code MESSAGE} frames.
+ *
+ * @since 5.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class StompDecoderBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1", "32"})
+		public int frameCount;
+
+		@Param({"64", "4096"})
+		public int payloadSize;
+
+		public final StompDecoder decoder = new StompDecoder();
+
+		public byte[] frames;
+
+		@Setup
+		public void setup() {
+			StringBuilder payload = new StringBuilder(this.payloadSize);
+			for (int i = 0; i < this.payloadSize; i++) {
+				payload.append((char) ('a' + i % 26));
+			}
+			String frame = "MESSAGE\n" +
+					"subscription:sub-0\n" +
+					"message-id:m-1234\n" +
+					"destination:/topic/prices.stock.NASDAQ.ACME\n" +
+					"content-type:application/json\n" +
+					"content-length:" + this.payloadSize + "\n" +
+					"\n" + payload + "\0";
+			StringBuilder all = new StringBuilder();
+			for (int i = 0; i < this.frameCount; i++) {
+				all.append(frame);
+			}
+			this.frames = all.toString().getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+
+	@Benchmark
+	public List<Message<byte[]>> decode(BenchmarkState state) {
+		return state.decoder.decode(ByteBuffer.wrap(state.frames));
+	}
+
+	@Benchmark
+	public List<Message<byte[]>> decodeSplitFrames(BenchmarkState state) {
+		BufferingStompDecoder decoder = new BufferingStompDecoder(state.decoder, 64 * 1024 * 1024);
+		int half = state.frames.length / 2;
+		decoder.decode(ByteBuffer.wrap(state.frames, 0, half));
+		return decoder.decode(ByteBuffer.wrap(state.frames, half, state.frames.length - half));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,8 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.MethodAccessor;
+import org.springframework.core.MethodAccessorFactory;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.SynthesizingMethodParameter;
@@ -69,6 +71,9 @@ public class HandlerMethod {
 	@Nullable
 	private HandlerMethod resolvedFromHandlerMethod;
 
+	@Nullable
+	private volatile MethodAccessor methodAccessor;
+
 
 	/**
 	 * Create an instance from a bean instance and a method.
@@ -132,6 +137,7 @@ public class HandlerMethod {
 		this.bridgedMethod = handlerMethod.bridgedMethod;
 		this.parameters = handlerMethod.parameters;
 		this.resolvedFromHandlerMethod = handlerMethod.resolvedFromHandlerMethod;
+		this.methodAccessor = handlerMethod.methodAccessor;
 	}
 
 	/**
@@ -147,6 +153,7 @@ public class HandlerMethod {
 		this.bridgedMethod = handlerMethod.bridgedMethod;
 		this.parameters = handlerMethod.parameters;
 		this.resolvedFromHandlerMethod = handlerMethod;
+		this.methodAccessor = handlerMethod.methodAccessor;
 	}
 
 
@@ -254,6 +261,25 @@ public class HandlerMethod {
 		return this.resolvedFromHandlerMethod;
 	}
 
+	/**
+	 * Return a {@link MethodAccessor} for invoking the bridged method.
+	 * <p>The accessor is resolved on first access and shared with the
+	 * {@code HandlerMethod} that this instance was resolved from, so that
+	 * copies created per invocation do not need to look it up again.
+	 * @since 5.1
+	 * @see MethodAccessorFactory#getAccessor(Method)
+	 */
+	protected MethodAccessor getMethodAccessor() {
+		MethodAccessor accessor = this.methodAccessor;
+		if (accessor == null) {
+			accessor = (this.resolvedFromHandlerMethod != null ?
+					this.resolvedFromHandlerMethod.getMethodAccessor() :
+					MethodAccessorFactory.getAccessor(this.bridgedMethod));
+			this.methodAccessor = accessor;
+		}
+		return accessor;
+	}
+
 	/**
 	 * If the provided instance contains a bean name rather than an object instance,
 	 * the bean name is resolved before a {@link HandlerMethod} is created and returned.
@@ -16,7 +16,6 @@
 
 package org.springframework.messaging.simp.broker;
 
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -55,6 +54,14 @@ import org.springframework.util.StringUtils;
  * header on subscription messages with Spring EL expressions evaluated against
  * the headers to filter out messages in addition to destination matching.
  *
+ * <p>As of 5.1, subscriptions are indexed by destination, so that resolving
+ * the subscriptions for a destination that is not in the cache performs one
+ * {@code PathMatcher} match per distinct subscribed destination rather than
+ * one per subscription. With the default {@link AntPathMatcher} settings,
+ * subscriptions to destinations without patterns are further looked up by
+ * hash, leaving one match per distinct destination pattern. Look-ups do not
+ * hold the lock that guards updates of the cache.
+ *
  * @author Rossen Stoyanchev
  * @author Sebastien Deleuze
  * @author Juergen Hoeller
@@ -177,12 +184,9 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	@Override
 	protected void removeSubscriptionInternal(String sessionId, String subsId, Message<?> message) {
-		SessionSubscriptionInfo info = this.subscriptionRegistry.getSubscriptions(sessionId);
-		if (info != null) {
-			String destination = info.removeSubscription(subsId);
-			if (destination != null) {
-				this.destinationCache.updateAfterRemovedSubscription(sessionId, subsId);
-			}
+		String destination = this.subscriptionRegistry.removeSubscription(sessionId, subsId);
+		if (destination != null) {
+			this.destinationCache.updateAfterRemovedSubscription(destination, sessionId, subsId);
 		}
 	}
 
@@ -240,6 +244,33 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		return result;
 	}
 
+	/**
+	 * Whether the given destination is matched by another destination only if
+	 * the two are equal, so that subscriptions to it can be looked up by hash.
+	 * <p>This holds only for an {@link AntPathMatcher} with case-sensitive,
+	 * untrimmed matching, and only for destinations without patterns, URI
+	 * template variables or empty path segments: custom {@code PathMatcher}
+	 * implementations may match any destination in their own way.
+	 */
+	private boolean isExactMatchDestination(String destination) {
+		return (isExactMatchSupported() && !getPathMatcher().isPattern(destination) &&
+				destination.indexOf('{') == -1 && !hasEmptyPathSegment(destination));
+	}
+
+	private boolean isExactMatchSupported() {
+		PathMatcher pathMatcher = getPathMatcher();
+		if (pathMatcher.getClass() != AntPathMatcher.class) {
+			return false;
+		}
+		AntPathMatcher antPathMatcher = (AntPathMatcher) pathMatcher;
+		return (antPathMatcher.isCaseSensitive() && !antPathMatcher.isTrimTokens());
+	}
+
+	private boolean hasEmptyPathSegment(String destination) {
+		String pathSeparator = ((AntPathMatcher) getPathMatcher()).getPathSeparator();
+		return destination.contains(pathSeparator + pathSeparator);
+	}
+
 	@Override
 	public String toString() {
 		return "DefaultSubscriptionRegistry[" + this.destinationCache + ", " + this.subscriptionRegistry + "]";
@@ -273,71 +304,116 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 				};
 
 
+		/** Number of updates to the cache, used to detect updates during a look-up */
+		private volatile int updateCount;
+
+
 		public LinkedMultiValueMap<String, String> getSubscriptions(String destination, Message<?> message) {
 			LinkedMultiValueMap<String, String> result = this.accessCache.get(destination);
 			if (result == null) {
-				synchronized (this.updateCache) {
-					result = new LinkedMultiValueMap<>();
-					for (SessionSubscriptionInfo info : subscriptionRegistry.getAllSubscriptions()) {
-						for (String destinationPattern : info.getDestinations()) {
-							if (getPathMatcher().match(destinationPattern, destination)) {
-								for (Subscription sub : info.getSubscriptions(destinationPattern)) {
-									result.add(info.sessionId, sub.getId());
-								}
-							}
+				int updateCountBefore = this.updateCount;
+				result = subscriptionRegistry.findSubscriptions(destination);
+				if (!result.isEmpty() && isCacheable(destination)) {
+					synchronized (this.updateCache) {
+						// Cache only if no subscription was added or removed during the look-up
+						if (updateCountBefore == this.updateCount) {
+							this.updateCache.put(destination, result.deepCopy());
+							this.accessCache.put(destination, result);
 						}
 					}
-					if (!result.isEmpty()) {
-						this.updateCache.put(destination, result.deepCopy());
-						this.accessCache.put(destination, result);
-					}
 				}
 			}
 			return result;
 		}
 
+		/**
+		 * A destination with empty path segments is matched by subscriptions to
+		 * the same destination without them, which would escape the exact-match
+		 * updates in {@link #updateAfterNewSubscription}, so it is not cached.
+		 */
+		private boolean isCacheable(String destination) {
+			return (!isExactMatchSupported() || !hasEmptyPathSegment(destination));
+		}
+
 		public void updateAfterNewSubscription(String destination, String sessionId, String subsId) {
 			synchronized (this.updateCache) {
+				this.updateCount++;
+				if (isExactMatchDestination(destination)) {
+					LinkedMultiValueMap<String, String> subscriptions = this.updateCache.get(destination);
+					if (subscriptions != null) {
+						addSubscription(destination, subscriptions, sessionId, subsId);
+					}
+					return;
+				}
 				this.updateCache.forEach((cachedDestination, subscriptions) -> {
 					if (getPathMatcher().match(destination, cachedDestination)) {
-						// Subscription id's may also be populated via getSubscriptions()
-						List<String> subsForSession = subscriptions.get(sessionId);
-						if (subsForSession == null || !subsForSession.contains(subsId)) {
-							subscriptions.add(sessionId, subsId);
-							this.accessCache.put(cachedDestination, subscriptions.deepCopy());
-						}
+						addSubscription(cachedDestination, subscriptions, sessionId, subsId);
 					}
 				});
 			}
 		}
 
-		public void updateAfterRemovedSubscription(String sessionId, String subsId) {
+		private void addSubscription(String cachedDestination,
+				LinkedMultiValueMap<String, String> subscriptions, String sessionId, String subsId) {
+
+			// Subscription id's may also be populated via getSubscriptions()
+			List<String> subsForSession = subscriptions.get(sessionId);
+			if (subsForSession == null || !subsForSession.contains(subsId)) {
+				subscriptions.add(sessionId, subsId);
+				this.accessCache.put(cachedDestination, subscriptions.deepCopy());
+			}
+		}
+
+		public void updateAfterRemovedSubscription(String destination, String sessionId, String subsId) {
 			synchronized (this.updateCache) {
+				this.updateCount++;
+				if (isExactMatchDestination(destination)) {
+					LinkedMultiValueMap<String, String> sessionMap = this.updateCache.get(destination);
+					if (sessionMap != null && !removeSubscription(destination, sessionMap, sessionId, subsId)) {
+						this.updateCache.remove(destination);
+						this.accessCache.remove(destination);
+					}
+					return;
+				}
 				Set<String> destinationsToRemove = new HashSet<>();
-				this.updateCache.forEach((destination, sessionMap) -> {
-					List<String> subscriptions = sessionMap.get(sessionId);
-					if (subscriptions != null) {
-						subscriptions.remove(subsId);
-						if (subscriptions.isEmpty()) {
-							sessionMap.remove(sessionId);
-						}
-						if (sessionMap.isEmpty()) {
-							destinationsToRemove.add(destination);
-						}
-						else {
-							this.accessCache.put(destination, sessionMap.deepCopy());
-						}
+				this.updateCache.forEach((cachedDestination, sessionMap) -> {
+					if (!removeSubscription(cachedDestination, sessionMap, sessionId, subsId)) {
+						destinationsToRemove.add(cachedDestination);
 					}
 				});
-				for (String destination : destinationsToRemove) {
-					this.updateCache.remove(destination);
-					this.accessCache.remove(destination);
+				for (String cachedDestination : destinationsToRemove) {
+					this.updateCache.remove(cachedDestination);
+					this.accessCache.remove(cachedDestination);
+				}
+			}
+		}
+
+		/**
+		 * Remove the given subscription from a cached destination.
+		 * @return whether there are remaining subscriptions for the destination
+		 */
+		private boolean removeSubscription(String cachedDestination,
+				LinkedMultiValueMap<String, String> sessionMap, String sessionId, String subsId) {
+
+			List<String> subscriptions = sessionMap.get(sessionId);
+			if (subscriptions != null) {
+				subscriptions.remove(subsId);
+				if (subscriptions.isEmpty()) {
+					sessionMap.remove(sessionId);
+				}
+				if (sessionMap.isEmpty()) {
+					return false;
+				}
+				else {
+					this.accessCache.put(cachedDestination, sessionMap.deepCopy());
 				}
 			}
+			return true;
 		}
 
 		public void updateAfterRemovedSession(SessionSubscriptionInfo info) {
 			synchronized (this.updateCache) {
+				this.updateCount++;
 				Set<String> destinationsToRemove = new HashSet<>();
 				this.updateCache.forEach((destination, sessionMap) -> {
 					if (sessionMap.remove(info.getSessionId()) != null) {
@@ -364,22 +440,27 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 
 	/**
-	 * Provide access to session subscriptions by sessionId.
+	 * Provide access to session subscriptions by sessionId, and to the
+	 * sessions with subscriptions by destination.
 	 */
-	private static class SessionSubscriptionRegistry {
+	private class SessionSubscriptionRegistry {
 
 		// sessionId -> SessionSubscriptionInfo
 		private final ConcurrentMap<String, SessionSubscriptionInfo> sessions = new ConcurrentHashMap<>();
 
+		// exact-match destination -> sessionId -> SessionSubscriptionInfo
+		private final ConcurrentMap<String, Map<String, SessionSubscriptionInfo>> destinations =
+				new ConcurrentHashMap<>();
+
+		// any other destination, matched via PathMatcher -> sessionId -> SessionSubscriptionInfo
+		private final ConcurrentMap<String, Map<String, SessionSubscriptionInfo>> destinationPatterns =
+				new ConcurrentHashMap<>();
+
 		@Nullable
 		public SessionSubscriptionInfo getSubscriptions(String sessionId) {
 			return this.sessions.get(sessionId);
 		}
 
-		public Collection<SessionSubscriptionInfo> getAllSubscriptions() {
-			return this.sessions.values();
-		}
-
 		public SessionSubscriptionInfo addSubscription(String sessionId, String subscriptionId,
 				String destination, @Nullable Expression selectorExpression) {
 
@@ -392,12 +473,98 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 				}
 			}
 			info.addSubscription(destination, subscriptionId, selectorExpression);
+			SessionSubscriptionInfo infoToIndex = info;
+			getIndex(destination).compute(destination, (key, sessionMap) -> {
+				if (sessionMap == null) {
+					sessionMap = new ConcurrentHashMap<>(4);
+				}
+				sessionMap.put(sessionId, infoToIndex);
+				return sessionMap;
+			});
 			return info;
 		}
 
+		/**
+		 * Remove a subscription of the given session.
+		 * @return the destination of the removed subscription, or {@code null}
+		 * if there was no such subscription
+		 */
+		@Nullable
+		public String removeSubscription(String sessionId, String subscriptionId) {
+			SessionSubscriptionInfo info = this.sessions.get(sessionId);
+			if (info == null) {
+				return null;
+			}
+			String destination = info.removeSubscription(subscriptionId);
+			if (destination != null) {
+				getIndex(destination).computeIfPresent(destination, (key, sessionMap) -> {
+					if (info.getSubscriptions(destination) == null) {
+						sessionMap.remove(sessionId, info);
+					}
+					return (sessionMap.isEmpty() ? null : sessionMap);
+				});
+			}
+			return destination;
+		}
+
 		@Nullable
 		public SessionSubscriptionInfo removeSubscriptions(String sessionId) {
-			return this.sessions.remove(sessionId);
+			SessionSubscriptionInfo info = this.sessions.remove(sessionId);
+			if (info != null) {
+				for (String destination : info.getDestinations()) {
+					getIndex(destination).computeIfPresent(destination, (key, sessionMap) -> {
+						sessionMap.remove(sessionId, info);
+						return (sessionMap.isEmpty() ? null : sessionMap);
+					});
+				}
+			}
+			return info;
+		}
+
+		/**
+		 * Find all subscriptions that match the given destination.
+		 * @return a new map from sessionId to subscription ids
+		 */
+		public LinkedMultiValueMap<String, String> findSubscriptions(String destination) {
+			LinkedMultiValueMap<String, String> result = new LinkedMultiValueMap<>();
+			if (isExactMatchDestination(destination)) {
+				Map<String, SessionSubscriptionInfo> sessionMap = this.destinations.get(destination);
+				if (sessionMap != null) {
+					addSubscriptions(destination, sessionMap, result);
+				}
+			}
+			else {
+				addMatchingSubscriptions(this.destinations, destination, result);
+			}
+			addMatchingSubscriptions(this.destinationPatterns, destination, result);
+			return result;
+		}
+
+		private void addMatchingSubscriptions(Map<String, Map<String, SessionSubscriptionInfo>> index,
+				String destination, LinkedMultiValueMap<String, String> result) {
+
+			index.forEach((subscribedDestination, sessionMap) -> {
+				if (getPathMatcher().match(subscribedDestination, destination)) {
+					addSubscriptions(subscribedDestination, sessionMap, result);
+				}
+			});
+		}
+
+		private void addSubscriptions(String destination, Map<String, SessionSubscriptionInfo> sessionMap,
+				LinkedMultiValueMap<String, String> result) {
+
+			for (SessionSubscriptionInfo info : sessionMap.values()) {
+				Set<Subscription> subscriptions = info.getSubscriptions(destination);
+				if (subscriptions != null) {
+					for (Subscription sub : subscriptions) {
+						result.add(info.getSessionId(), sub.getId());
+					}
+				}
+			}
+		}
+
+		private ConcurrentMap<String, Map<String, SessionSubscriptionInfo>> getIndex(String destination) {
+			return (isExactMatchDestination(destination) ? this.destinations : this.destinationPatterns);
 		}
 
 		@Override
@@ -430,6 +597,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			return this.destinationLookup.keySet();
 		}
 
+		@Nullable
 		public Set<Subscription> getSubscriptions(String destination) {
 			return this.destinationLookup.get(destination);
 		}
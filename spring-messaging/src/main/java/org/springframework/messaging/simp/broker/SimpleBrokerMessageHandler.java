@@ -21,11 +21,17 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.SubscribableChannel;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
@@ -34,6 +40,7 @@ import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.messaging.support.MessageHeaderInitializer;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.PathMatcher;
@@ -43,12 +50,27 @@ import org.springframework.util.PathMatcher;
  * {@link SimpMessageType}, keeps track of subscriptions with the help of a
  * {@link SubscriptionRegistry} and sends messages to subscribers.
  *
+ * <p>By default messages are sent to subscribers on the thread that handles
+ * the message. When a {@link #setShardCount shard count} is configured,
+ * messages are instead handed off to one of several single-threaded shards
+ * based on the hash of their destination. Messages to the same destination
+ * are then sent to subscribers in the order in which they were handled,
+ * while messages to different destinations are sent in parallel.
+ * Subscription changes are still applied on the thread that handles them,
+ * so they are not ordered with respect to messages waiting in a shard.
+ *
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
  * @since 4.0
  */
 public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 
+	/**
+	 * The default capacity of the queue of each shard: 1024.
+	 * @since 5.1
+	 */
+	public static final int DEFAULT_SHARD_QUEUE_CAPACITY = 1024;
+
 	private static final byte[] EMPTY_PAYLOAD = new byte[0];
 
 
@@ -70,6 +92,12 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	@Nullable
 	private MessageHeaderInitializer headerInitializer;
 
+	private int shardCount = 0;
+
+	private int shardQueueCapacity = DEFAULT_SHARD_QUEUE_CAPACITY;
+
+	private OverflowStrategy shardOverflowStrategy = OverflowStrategy.BLOCK;
+
 
 	private SubscriptionRegistry subscriptionRegistry;
 
@@ -78,6 +106,9 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	@Nullable
 	private ScheduledFuture<?> heartbeatFuture;
 
+	@Nullable
+	private volatile BrokerShard[] shards;
+
 
 	/**
 	 * Create a SimpleBrokerMessageHandler instance with the given message channels
@@ -249,9 +280,105 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		return this.headerInitializer;
 	}
 
+	/**
+	 * Configure the number of shards, i.e. single-threaded queues, that
+	 * messages are distributed to by destination, before being sent to
+	 * subscribers. This guarantees that messages to the same destination
+	 * are sent to subscribers in order, and spreads the work of sending
+	 * messages to subscribers across threads.
+	 * <p>Note that SUBSCRIBE, UNSUBSCRIBE and DISCONNECT messages are not
+	 * sharded, since a subscription may span several shards through a
+	 * destination pattern, and an UNSUBSCRIBE has no destination. They take
+	 * effect immediately, so a subscription may receive messages that were
+	 * handled before it was registered but had not yet been sent, and miss
+	 * messages handled before it was removed that had not yet been sent.
+	 * <p>By default this is 0, i.e. messages are sent to subscribers on the
+	 * thread that handles them.
+	 * <p>This must be configured before the broker is started.
+	 * @since 5.1
+	 */
+	public void setShardCount(int shardCount) {
+		Assert.isTrue(shardCount >= 0, "Shard count must not be negative");
+		this.shardCount = shardCount;
+	}
+
+	/**
+	 * Return the configured number of shards.
+	 * @since 5.1
+	 */
+	public int getShardCount() {
+		return this.shardCount;
+	}
+
+	/**
+	 * Configure the maximum number of messages queued per shard, after which
+	 * the {@link #setShardOverflowStrategy overflow strategy} applies.
+	 * <p>By default this is {@value #DEFAULT_SHARD_QUEUE_CAPACITY}.
+	 * @since 5.1
+	 */
+	public void setShardQueueCapacity(int shardQueueCapacity) {
+		Assert.isTrue(shardQueueCapacity > 0, "Shard queue capacity must be greater than 0");
+		this.shardQueueCapacity = shardQueueCapacity;
+	}
+
+	/**
+	 * Return the configured maximum number of messages queued per shard.
+	 * @since 5.1
+	 */
+	public int getShardQueueCapacity() {
+		return this.shardQueueCapacity;
+	}
+
+	/**
+	 * Configure what to do with a message when the queue of its shard is full.
+	 * <p>By default this is {@link OverflowStrategy#BLOCK}.
+	 * @since 5.1
+	 */
+	public void setShardOverflowStrategy(OverflowStrategy shardOverflowStrategy) {
+		Assert.notNull(shardOverflowStrategy, "OverflowStrategy must not be null");
+		this.shardOverflowStrategy = shardOverflowStrategy;
+	}
+
+	/**
+	 * Return the configured shard overflow strategy.
+	 * @since 5.1
+	 */
+	public OverflowStrategy getShardOverflowStrategy() {
+		return this.shardOverflowStrategy;
+	}
+
+	/**
+	 * Return a String describing the number of messages queued, sent and
+	 * dropped per shard, or "sharding disabled" if not configured or running.
+	 * @since 5.1
+	 */
+	public String getShardStatsInfo() {
+		BrokerShard[] shards = this.shards;
+		if (shards == null) {
+			return "sharding disabled";
+		}
+		StringBuilder queued = new StringBuilder();
+		long completed = 0;
+		long dropped = 0;
+		for (BrokerShard shard : shards) {
+			queued.append(queued.length() > 0 ? ", " : "").append(shard.getQueueSize());
+			completed += shard.getCompletedCount();
+			dropped += shard.getDroppedCount();
+		}
+		return shards.length + " shards, queued [" + queued + "], " +
+				"completed " + completed + ", dropped " + dropped;
+	}
+
 
 	@Override
 	public void startInternal() {
+		if (this.shardCount > 0) {
+			BrokerShard[] shards = new BrokerShard[this.shardCount];
+			for (int i = 0; i < shards.length; i++) {
+				shards[i] = new BrokerShard(i);
+			}
+			this.shards = shards;
+		}
 		publishBrokerAvailableEvent();
 		if (this.taskScheduler != null) {
 			long interval = initHeartbeatTaskDelay();
@@ -284,6 +411,13 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		if (this.heartbeatFuture != null) {
 			this.heartbeatFuture.cancel(true);
 		}
+		BrokerShard[] shards = this.shards;
+		if (shards != null) {
+			this.shards = null;
+			for (BrokerShard shard : shards) {
+				shard.shutdown();
+			}
+		}
 	}
 
 	@Override
@@ -301,7 +435,14 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 
 		if (SimpMessageType.MESSAGE.equals(messageType)) {
 			logMessage(message);
-			sendMessageToSubscribers(destination, message);
+			BrokerShard[] shards = this.shards;
+			if (shards != null) {
+				int index = (destination != null ? (destination.hashCode() & Integer.MAX_VALUE) % shards.length : 0);
+				shards[index].execute(destination, message);
+			}
+			else {
+				sendMessageToSubscribers(destination, message);
+			}
 		}
 		else if (SimpMessageType.CONNECT.equals(messageType)) {
 			logMessage(message);
@@ -396,7 +537,7 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 				try {
 					getClientOutboundChannel().send(reply);
 				}
-				catch (Throwable ex) {
+				catch (RuntimeException ex) {
 					if (logger.isErrorEnabled()) {
 						logger.error("Failed to send " + message, ex);
 					}
@@ -417,6 +558,129 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	}
 
 
+	/**
+	 * Strategy for handling a message when the queue of its shard is full.
+	 * @since 5.1
+	 * @see #setShardOverflowStrategy
+	 */
+	public enum OverflowStrategy {
+
+		/**
+		 * Block the thread handling the message until there is space in the queue.
+		 */
+		BLOCK,
+
+		/**
+		 * Drop the message.
+		 */
+		DROP,
+
+		/**
+		 * Raise a {@link MessageDeliveryException}.
+		 */
+		REJECT
+	}
+
+
+	/**
+	 * A single-threaded executor with a bounded queue that sends messages
+	 * to subscribers for a subset of destinations.
+	 */
+	private class BrokerShard implements RejectedExecutionHandler {
+
+		private final ThreadPoolExecutor executor;
+
+		private final AtomicLong droppedCount = new AtomicLong();
+
+		public BrokerShard(int index) {
+			this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<>(getShardQueueCapacity()),
+					new CustomizableThreadFactory("simpBroker-" + index + "-"), this);
+			this.executor.prestartCoreThread();
+		}
+
+		public void execute(@Nullable String destination, Message<?> message) {
+			this.executor.execute(new ShardTask(destination, message));
+		}
+
+		@Override
+		public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+			Message<?> message = ((ShardTask) task).message;
+			if (executor.isShutdown()) {
+				this.droppedCount.incrementAndGet();
+				return;
+			}
+			switch (getShardOverflowStrategy()) {
+				case BLOCK:
+					try {
+						executor.getQueue().put(task);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new MessageDeliveryException(message, "Interrupted while waiting for shard queue");
+					}
+					// The shard may have been shut down while waiting, with no thread left to run the task
+					if (executor.isShutdown() && executor.getQueue().remove(task)) {
+						this.droppedCount.incrementAndGet();
+					}
+					break;
+				case DROP:
+					this.droppedCount.incrementAndGet();
+					if (logger.isDebugEnabled()) {
+						logger.debug("Shard queue full, dropping " + message);
+					}
+					break;
+				default:
+					this.droppedCount.incrementAndGet();
+					throw new MessageDeliveryException(message, "Shard queue full (capacity " +
+							getShardQueueCapacity() + ")");
+			}
+		}
+
+		public int getQueueSize() {
+			return this.executor.getQueue().size();
+		}
+
+		public long getCompletedCount() {
+			return this.executor.getCompletedTaskCount();
+		}
+
+		public long getDroppedCount() {
+			return this.droppedCount.get();
+		}
+
+		public void shutdown() {
+			this.executor.shutdown();
+		}
+	}
+
+
+	private class ShardTask implements Runnable {
+
+		@Nullable
+		private final String destination;
+
+		private final Message<?> message;
+
+		public ShardTask(@Nullable String destination, Message<?> message) {
+			this.destination = destination;
+			this.message = message;
+		}
+
+		@Override
+		public void run() {
+			try {
+				sendMessageToSubscribers(this.destination, this.message);
+			}
+			catch (RuntimeException ex) {
+				if (logger.isErrorEnabled()) {
+					logger.error("Failed to send " + this.message, ex);
+				}
+			}
+		}
+	}
+
+
 	private static class SessionInfo {
 
 		/* STOMP spec: receiver SHOULD take into account an error margin */
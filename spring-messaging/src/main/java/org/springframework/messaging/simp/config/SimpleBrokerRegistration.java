@@ -39,6 +39,15 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 	@Nullable
 	private String selectorHeaderName = "selector";
 
+	@Nullable
+	private Integer shardCount;
+
+	@Nullable
+	private Integer shardQueueCapacity;
+
+	@Nullable
+	private SimpleBrokerMessageHandler.OverflowStrategy shardOverflowStrategy;
+
 
 	public SimpleBrokerRegistration(SubscribableChannel inChannel, MessageChannel outChannel, String[] prefixes) {
 		super(inChannel, outChannel, prefixes);
@@ -89,6 +98,43 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 		this.selectorHeaderName = selectorHeaderName;
 	}
 
+	/**
+	 * Configure the number of single-threaded shards that messages are
+	 * distributed to by destination, so that messages to the same destination
+	 * are sent to subscribers in order, and messages to different destinations
+	 * in parallel.
+	 * <p>By default this is not set, i.e. messages are sent to subscribers on
+	 * the thread that handles them.
+	 * @since 5.1
+	 * @see SimpleBrokerMessageHandler#setShardCount
+	 */
+	public SimpleBrokerRegistration setShardCount(int shardCount) {
+		this.shardCount = shardCount;
+		return this;
+	}
+
+	/**
+	 * Configure the maximum number of messages queued per shard.
+	 * @since 5.1
+	 * @see SimpleBrokerMessageHandler#setShardQueueCapacity
+	 */
+	public SimpleBrokerRegistration setShardQueueCapacity(int shardQueueCapacity) {
+		this.shardQueueCapacity = shardQueueCapacity;
+		return this;
+	}
+
+	/**
+	 * Configure what to do with a message when the queue of its shard is full.
+	 * @since 5.1
+	 * @see SimpleBrokerMessageHandler#setShardOverflowStrategy
+	 */
+	public SimpleBrokerRegistration setShardOverflowStrategy(
+			SimpleBrokerMessageHandler.OverflowStrategy shardOverflowStrategy) {
+
+		this.shardOverflowStrategy = shardOverflowStrategy;
+		return this;
+	}
+
 
 	@Override
 	protected SimpleBrokerMessageHandler getMessageHandler(SubscribableChannel brokerChannel) {
@@ -101,6 +147,15 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 			handler.setHeartbeatValue(this.heartbeat);
 		}
 		handler.setSelectorHeaderName(this.selectorHeaderName);
+		if (this.shardCount != null) {
+			handler.setShardCount(this.shardCount);
+		}
+		if (this.shardQueueCapacity != null) {
+			handler.setShardQueueCapacity(this.shardQueueCapacity);
+		}
+		if (this.shardOverflowStrategy != null) {
+			handler.setShardOverflowStrategy(this.shardOverflowStrategy);
+		}
 		return handler;
 	}
 
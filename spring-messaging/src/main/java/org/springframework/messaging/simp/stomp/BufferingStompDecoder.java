@@ -16,11 +16,10 @@
 
 package org.springframework.messaging.simp.stomp;
 
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
@@ -42,6 +41,10 @@ import org.springframework.util.MultiValueMap;
  * be used any more as its internal state is not guaranteed to be consistent.
  * It is expected that the underlying session is closed at that point.
  *
+ * <p>Incomplete content is accumulated in a single buffer that grows as more
+ * data arrives, so that each byte is copied at most once while a frame is
+ * incomplete, except for moving leftover content to the start of the buffer.
+ *
  * @author Rossen Stoyanchev
  * @since 4.0.3
  * @see StompDecoder
@@ -52,7 +55,8 @@ public class BufferingStompDecoder {
 
 	private final int bufferSizeLimit;
 
-	private final Queue<ByteBuffer> chunks = new LinkedBlockingQueue<>();
+	@Nullable
+	private ByteBuffer partialBuffer;
 
 	@Nullable
 	private volatile Integer expectedContentLength;
@@ -101,51 +105,70 @@ public class BufferingStompDecoder {
 	 * @throws StompConversionException raised in case of decoding issues
 	 */
 	public List<Message<byte[]>> decode(ByteBuffer newBuffer) {
-		this.chunks.add(newBuffer);
-		checkBufferLimits();
+		checkBufferLimits(getBufferSize() + newBuffer.remaining());
 
 		Integer contentLength = this.expectedContentLength;
-		if (contentLength != null && getBufferSize() < contentLength) {
+		if (contentLength != null && getBufferSize() + newBuffer.remaining() < contentLength) {
+			this.partialBuffer = append(newBuffer);
 			return Collections.emptyList();
 		}
 
-		ByteBuffer bufferToDecode = assembleChunksAndReset();
+		ByteBuffer bufferToDecode = (this.partialBuffer != null ? append(newBuffer) : newBuffer);
 		MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
 		List<Message<byte[]>> messages = this.stompDecoder.decode(bufferToDecode, headers);
 
-		if (bufferToDecode.hasRemaining()) {
-			this.chunks.add(bufferToDecode);
+		if (!bufferToDecode.hasRemaining()) {
+			this.partialBuffer = null;
+			this.expectedContentLength = null;
+		}
+		else {
+			if (bufferToDecode == newBuffer) {
+				this.partialBuffer = append(newBuffer);
+			}
+			else {
+				bufferToDecode.compact();
+				// Explicit cast for compatibility with covariant return type on JDK 9's ByteBuffer
+				((Buffer) bufferToDecode).flip();
+				this.partialBuffer = bufferToDecode;
+			}
 			this.expectedContentLength = StompHeaderAccessor.getContentLength(headers);
 		}
 
 		return messages;
 	}
 
-	private ByteBuffer assembleChunksAndReset() {
-		ByteBuffer result;
-		if (this.chunks.size() == 1) {
-			result = this.chunks.remove();
-		}
-		else {
-			result = ByteBuffer.allocate(getBufferSize());
-			for (ByteBuffer partial : this.chunks) {
+	/**
+	 * Append the remaining content of the given buffer to the buffered content,
+	 * which starts at position 0 of the partial buffer.
+	 * @return the partial buffer, positioned at the start of the buffered content
+	 */
+	private ByteBuffer append(ByteBuffer newBuffer) {
+		ByteBuffer partial = this.partialBuffer;
+		int size = (partial != null ? partial.remaining() : 0) + newBuffer.remaining();
+		if (partial == null || partial.capacity() < size) {
+			int capacity = (partial != null ? Math.max(size, Math.min(partial.capacity() * 2, this.bufferSizeLimit)) : size);
+			ByteBuffer result = ByteBuffer.allocate(capacity);
+			if (partial != null) {
 				result.put(partial);
 			}
-			result.flip();
+			result.put(newBuffer);
+			((Buffer) result).flip();
+			return result;
 		}
-		this.chunks.clear();
-		this.expectedContentLength = null;
-		return result;
+		((Buffer) partial).limit(size).position(size - newBuffer.remaining());
+		partial.put(newBuffer);
+		((Buffer) partial).position(0);
+		return partial;
 	}
 
-	private void checkBufferLimits() {
+	private void checkBufferLimits(int bufferSize) {
 		Integer contentLength = this.expectedContentLength;
 		if (contentLength != null && contentLength > this.bufferSizeLimit) {
 			throw new StompConversionException(
 					"STOMP 'content-length' header value " + this.expectedContentLength +
 					"  exceeds configured buffer size limit " + this.bufferSizeLimit);
 		}
-		if (getBufferSize() > this.bufferSizeLimit) {
+		if (bufferSize > this.bufferSizeLimit) {
 			throw new StompConversionException("The configured STOMP buffer size limit of " +
 					this.bufferSizeLimit + " bytes has been exceeded");
 		}
@@ -155,11 +178,8 @@ public class BufferingStompDecoder {
 	 * Calculate the current buffer size.
 	 */
 	public int getBufferSize() {
-		int size = 0;
-		for (ByteBuffer buffer : this.chunks) {
-			size = size + buffer.remaining();
-		}
-		return size;
+		ByteBuffer partial = this.partialBuffer;
+		return (partial != null ? partial.remaining() : 0);
 	}
 
 	/**
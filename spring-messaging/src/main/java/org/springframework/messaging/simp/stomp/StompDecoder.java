@@ -16,12 +16,14 @@
 
 package org.springframework.messaging.simp.stomp;
 
-import java.io.ByteArrayOutputStream;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -43,6 +45,10 @@ import org.springframework.util.MultiValueMap;
  * partial content. The caller is then responsible for dealing with that
  * incomplete content by buffering until there is more input available.
  *
+ * <p>Frames are parsed in place, without copying command and header lines.
+ * The strings for header names, and for values of headers that commonly recur
+ * such as "destination" or "subscription", are cached and shared across frames.
+ *
  * @author Andy Wilkinson
  * @author Rossen Stoyanchev
  * @since 4.0
@@ -53,6 +59,14 @@ public class StompDecoder {
 
 	private static final Log logger = LogFactory.getLog(StompDecoder.class);
 
+	private static final Set<String> CACHED_VALUE_HEADERS = new HashSet<>(Arrays.asList(
+			StompHeaderAccessor.STOMP_DESTINATION_HEADER, StompHeaderAccessor.STOMP_SUBSCRIPTION_HEADER,
+			StompHeaderAccessor.STOMP_CONTENT_TYPE_HEADER, StompHeaderAccessor.STOMP_ACK_HEADER,
+			StompHeaderAccessor.STOMP_ID_HEADER));
+
+
+	private final HeaderStringCache headerStringCache = new HeaderStringCache();
+
 	@Nullable
 	private MessageHeaderInitializer headerInitializer;
 
@@ -207,36 +221,32 @@ public class StompDecoder {
 	}
 
 	private String readCommand(ByteBuffer byteBuffer) {
-		ByteArrayOutputStream command = new ByteArrayOutputStream(256);
-		while (byteBuffer.remaining() > 0 && !tryConsumeEndOfLine(byteBuffer)) {
-			command.write(byteBuffer.get());
+		int start = byteBuffer.position();
+		int end = readLine(byteBuffer);
+		if (byteBuffer.position() == end) {
+			// Incomplete line
+			return decode(byteBuffer, start, end);
 		}
-		return new String(command.toByteArray(), StandardCharsets.UTF_8);
+		return this.headerStringCache.get(byteBuffer, start, end);
 	}
 
 	private void readHeaders(ByteBuffer byteBuffer, StompHeaderAccessor headerAccessor) {
 		while (true) {
-			ByteArrayOutputStream headerStream = new ByteArrayOutputStream(256);
-			boolean headerComplete = false;
-			while (byteBuffer.hasRemaining()) {
-				if (tryConsumeEndOfLine(byteBuffer)) {
-					headerComplete = true;
-					break;
-				}
-				headerStream.write(byteBuffer.get());
-			}
-			if (headerStream.size() > 0 && headerComplete) {
-				String header = new String(headerStream.toByteArray(), StandardCharsets.UTF_8);
-				int colonIndex = header.indexOf(':');
-				if (colonIndex <= 0) {
+			int start = byteBuffer.position();
+			int end = readLine(byteBuffer);
+			boolean headerComplete = (byteBuffer.position() > end);
+			if (end > start && headerComplete) {
+				int colonIndex = indexOf(byteBuffer, (byte) ':', start, end);
+				if (colonIndex <= start) {
 					if (byteBuffer.remaining() > 0) {
-						throw new StompConversionException("Illegal header: '" + header +
+						throw new StompConversionException("Illegal header: '" + decode(byteBuffer, start, end) +
 								"'. A header must be of the form <name>:[<value>].");
 					}
 				}
 				else {
-					String headerName = unescape(header.substring(0, colonIndex));
-					String headerValue = unescape(header.substring(colonIndex + 1));
+					String headerName = readHeaderString(byteBuffer, start, colonIndex, true);
+					String headerValue = readHeaderString(byteBuffer, colonIndex + 1, end,
+							CACHED_VALUE_HEADERS.contains(headerName));
 					try {
 						headerAccessor.addNativeHeader(headerName, headerValue);
 					}
@@ -253,6 +263,13 @@ public class StompDecoder {
 		}
 	}
 
+	private String readHeaderString(ByteBuffer byteBuffer, int start, int end, boolean cache) {
+		if (indexOf(byteBuffer, (byte) '\\', start, end) != -1) {
+			return unescape(decode(byteBuffer, start, end));
+		}
+		return (cache ? this.headerStringCache.get(byteBuffer, start, end) : decode(byteBuffer, start, end));
+	}
+
 	/**
 	 * See STOMP Spec 1.2:
 	 * <a href="http://stomp.github.io/stomp-specification-1.2.html#Value_Encoding">"Value Encoding"</a>.
@@ -319,18 +336,66 @@ public class StompDecoder {
 			}
 		}
 		else {
-			ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
-			while (byteBuffer.remaining() > 0) {
-				byte b = byteBuffer.get();
-				if (b == 0) {
-					return payload.toByteArray();
+			int end = indexOf(byteBuffer, (byte) 0, byteBuffer.position(), byteBuffer.limit());
+			if (end != -1) {
+				byte[] payload = new byte[end - byteBuffer.position()];
+				byteBuffer.get(payload);
+				byteBuffer.get();
+				return payload;
+			}
+			// Explicit cast for compatibility with covariant return type on JDK 9's ByteBuffer
+			((Buffer) byteBuffer).position(byteBuffer.limit());
+		}
+		return null;
+	}
+
+	/**
+	 * Read a line, incrementing the buffer position past the EOL if there is one,
+	 * or to the limit of the buffer otherwise.
+	 * @return the index at which the line content ends, which is equal to the
+	 * buffer position after this call only if the line is incomplete
+	 */
+	private int readLine(ByteBuffer byteBuffer) {
+		int limit = byteBuffer.limit();
+		for (int i = byteBuffer.position(); i < limit; i++) {
+			byte b = byteBuffer.get(i);
+			if (b == '\n') {
+				((Buffer) byteBuffer).position(i + 1);
+				return i;
+			}
+			else if (b == '\r') {
+				if (i + 1 < limit && byteBuffer.get(i + 1) == '\n') {
+					((Buffer) byteBuffer).position(i + 2);
+					return i;
 				}
 				else {
-					payload.write(b);
+					throw new StompConversionException("'\\r' must be followed by '\\n'");
 				}
 			}
 		}
-		return null;
+		((Buffer) byteBuffer).position(limit);
+		return limit;
+	}
+
+	private static int indexOf(ByteBuffer byteBuffer, byte value, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (byteBuffer.get(i) == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static String decode(ByteBuffer byteBuffer, int start, int end) {
+		if (byteBuffer.hasArray()) {
+			return new String(byteBuffer.array(), byteBuffer.arrayOffset() + start, end - start,
+					StandardCharsets.UTF_8);
+		}
+		byte[] bytes = new byte[end - start];
+		for (int i = start; i < end; i++) {
+			bytes[i - start] = byteBuffer.get(i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
 	}
 
 	/**
@@ -357,4 +422,66 @@ public class StompDecoder {
 		return false;
 	}
 
+
+	/**
+	 * Direct-mapped cache of strings decoded from header bytes. Entries are
+	 * immutable, so that concurrent decoding of frames, e.g. for different
+	 * sessions, at worst replaces an entry that another thread just added.
+	 */
+	private static final class HeaderStringCache {
+
+		private static final int SIZE = 1024;
+
+		private static final int MAX_LENGTH = 256;
+
+		private final Entry[] entries = new Entry[SIZE];
+
+		public String get(ByteBuffer byteBuffer, int start, int end) {
+			if (end - start > MAX_LENGTH) {
+				return decode(byteBuffer, start, end);
+			}
+			int hash = 0;
+			for (int i = start; i < end; i++) {
+				hash = 31 * hash + byteBuffer.get(i);
+			}
+			int index = (hash ^ (hash >>> 16)) & (SIZE - 1);
+			Entry entry = this.entries[index];
+			if (entry != null && entry.matches(byteBuffer, start, end)) {
+				return entry.value;
+			}
+			byte[] bytes = new byte[end - start];
+			for (int i = start; i < end; i++) {
+				bytes[i - start] = byteBuffer.get(i);
+			}
+			String value = new String(bytes, StandardCharsets.UTF_8);
+			this.entries[index] = new Entry(bytes, value);
+			return value;
+		}
+
+
+		private static final class Entry {
+
+			private final byte[] bytes;
+
+			private final String value;
+
+			Entry(byte[] bytes, String value) {
+				this.bytes = bytes;
+				this.value = value;
+			}
+
+			boolean matches(ByteBuffer byteBuffer, int start, int end) {
+				if (this.bytes.length != end - start) {
+					return false;
+				}
+				for (int i = 0; i < this.bytes.length; i++) {
+					if (this.bytes[i] != byteBuffer.get(start + i)) {
+						return false;
+					}
+				}
+				return true;
+			}
+		}
+	}
+
 }
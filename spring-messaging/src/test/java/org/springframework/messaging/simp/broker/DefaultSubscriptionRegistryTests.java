@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.MultiValueMap;
 
 import static org.junit.Assert.assertEquals;
@@ -439,6 +440,61 @@ public class DefaultSubscriptionRegistryTests {
 		assertEquals(2, this.registry.findSubscriptions(createMessage("/bar")).size());
 	}
 
+	@Test
+	public void cachedDestinationUpdatedAfterSubscriptionChanges() {
+		this.registry.registerSubscription(subscribeMessage("sess1", "1", "/topic/prices.*"));
+		assertEquals(1, this.registry.findSubscriptions(createMessage("/topic/prices.abc")).size());
+
+		this.registry.registerSubscription(subscribeMessage("sess2", "1", "/topic/prices.abc"));
+		this.registry.registerSubscription(subscribeMessage("sess3", "1", "/topic/prices.xyz"));
+		this.registry.registerSubscription(subscribeMessage("sess3", "2", "/topic/**"));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("/topic/prices.abc"));
+		assertEquals(3, actual.size());
+		assertEquals(Collections.singletonList("1"), actual.get("sess1"));
+		assertEquals(Collections.singletonList("1"), actual.get("sess2"));
+		assertEquals(Collections.singletonList("2"), actual.get("sess3"));
+
+		this.registry.unregisterSubscription(unsubscribeMessage("sess2", "1"));
+		this.registry.unregisterSubscription(unsubscribeMessage("sess3", "2"));
+
+		actual = this.registry.findSubscriptions(createMessage("/topic/prices.abc"));
+		assertEquals(1, actual.size());
+		assertEquals(Collections.singletonList("1"), actual.get("sess1"));
+
+		this.registry.unregisterAllSubscriptions("sess1");
+		assertEquals(0, this.registry.findSubscriptions(createMessage("/topic/prices.abc")).size());
+		assertEquals(1, this.registry.findSubscriptions(createMessage("/topic/prices.xyz")).size());
+	}
+
+	@Test
+	public void customPathMatcherMatchesDestinationWithoutPattern() {
+		AntPathMatcher pathMatcher = new AntPathMatcher(".");
+		pathMatcher.setCaseSensitive(false);
+		this.registry.setPathMatcher(pathMatcher);
+
+		this.registry.registerSubscription(subscribeMessage("sess1", "1", "Topic.Prices"));
+		assertEquals(1, this.registry.findSubscriptions(createMessage("topic.prices")).size());
+
+		this.registry.registerSubscription(subscribeMessage("sess2", "1", "TOPIC.PRICES"));
+		assertEquals(2, this.registry.findSubscriptions(createMessage("topic.prices")).size());
+
+		this.registry.unregisterSubscription(unsubscribeMessage("sess1", "1"));
+		assertEquals(Collections.singletonList("1"),
+				this.registry.findSubscriptions(createMessage("topic.prices")).get("sess2"));
+	}
+
+	@Test
+	public void destinationsMatchedByNonEqualDestinationWithoutPattern() {
+		this.registry.registerSubscription(subscribeMessage("sess1", "1", "/topic/{id}"));
+		this.registry.registerSubscription(subscribeMessage("sess2", "1", "/topic//prices"));
+		assertEquals(2, this.registry.findSubscriptions(createMessage("/topic/prices")).size());
+
+		assertEquals(1, this.registry.findSubscriptions(createMessage("/topic//abc")).size());
+		this.registry.registerSubscription(subscribeMessage("sess3", "1", "/topic/abc"));
+		assertEquals(2, this.registry.findSubscriptions(createMessage("/topic//abc")).size());
+	}
+
 	private Message<?> createMessage(String destination) {
 		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
 		accessor.setDestination(destination);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.messaging.simp.broker;
 
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ScheduledFuture;
@@ -48,6 +49,7 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -113,6 +115,38 @@ public class SimpleBrokerMessageHandlerTests {
 		assertTrue(messageCaptured("sess2", "sub3", "/bar"));
 	}
 
+	@Test
+	public void subscribePublishWithShards() {
+
+		this.messageHandler.setShardCount(2);
+		this.messageHandler.start();
+
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub2", "/bar"));
+
+		for (int i = 0; i < 10; i++) {
+			this.messageHandler.handleMessage(createMessage("/foo", "message" + i));
+		}
+		this.messageHandler.handleMessage(createMessage("/bar", "message"));
+
+		verify(this.clientOutboundChannel, timeout(5000).times(11)).send(any());
+		verify(this.clientOutboundChannel, times(11)).send(this.messageCaptor.capture());
+		List<Object> payloads = new ArrayList<>();
+		for (Message<?> message : this.messageCaptor.getAllValues()) {
+			if ("/foo".equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+				payloads.add(message.getPayload());
+			}
+		}
+		assertEquals(10, payloads.size());
+		for (int i = 0; i < 10; i++) {
+			assertEquals("message" + i, payloads.get(i));
+		}
+		assertTrue(this.messageHandler.getShardStatsInfo().startsWith("2 shards"));
+
+		this.messageHandler.stop();
+		assertEquals("sharding disabled", this.messageHandler.getShardStatsInfo());
+	}
+
 	@Test
 	public void subcribeDisconnectPublish() {
 
@@ -163,6 +163,24 @@ public class BufferingStompDecoderTests {
 		}
 	}
 
+	@Test
+	public void oneMessageInManyChunks() throws InterruptedException {
+		BufferingStompDecoder stompDecoder = new BufferingStompDecoder(STOMP_DECODER, 128);
+		String[] chunks = {"SEN", "D\na:al", "pha\n\nMes", "sage", " bo", "dy\0SEND\n"};
+		List<Message<byte[]>> messages = Collections.emptyList();
+		for (String chunk : chunks) {
+			assertEquals(Collections.<Message<byte[]>>emptyList(), messages);
+			messages = stompDecoder.decode(toByteBuffer(chunk));
+		}
+
+		assertEquals(1, messages.size());
+		assertEquals("Message body", new String(messages.get(0).getPayload()));
+		assertEquals("alpha", StompHeaderAccessor.wrap(messages.get(0)).getFirstNativeHeader("a"));
+
+		assertEquals(5, stompDecoder.getBufferSize());
+		assertNull(stompDecoder.getExpectedContentLength());
+	}
+
 	@Test(expected = StompConversionException.class)
 	public void bufferSizeLimit() {
 		BufferingStompDecoder stompDecoder = new BufferingStompDecoder(STOMP_DECODER, 10);
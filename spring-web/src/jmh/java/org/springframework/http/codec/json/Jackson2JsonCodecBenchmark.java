@@ -0,0 +1,145 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Benchmarks for {@link Jackson2JsonEncoder} and {@link Jackson2JsonDecoder},
+ * covering JSON arrays as well as {@code application/stream+json} streams.
+ *
+ * @since 5.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class Jackson2JsonCodecBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1", "100", "10000"})
+		public int elementCount;
+
+		public final Jackson2JsonEncoder encoder = new Jackson2JsonEncoder();
+
+		public final Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+
+		public final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+		public final ResolvableType elementType = ResolvableType.forClass(Item.class);
+
+		public List<Item> items;
+
+		public byte[] json;
+
+		@Setup
+		public void setup() throws Exception {
+			this.items = new ArrayList<>(this.elementCount);
+			for (int i = 0; i < this.elementCount; i++) {
+				this.items.add(new Item(i, "item-" + i, i * 1.5d));
+			}
+			this.json = new ObjectMapper().writeValueAsString(this.items).getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+
+	@Benchmark
+	public List<DataBuffer> encodeArray(BenchmarkState state) {
+		return release(state.encoder.encode(Flux.fromIterable(state.items), state.bufferFactory,
+				state.elementType, MediaType.APPLICATION_JSON, Collections.emptyMap()).collectList().block());
+	}
+
+	@Benchmark
+	public List<DataBuffer> encodeStream(BenchmarkState state) {
+		return release(state.encoder.encode(Flux.fromIterable(state.items), state.bufferFactory,
+				state.elementType, MediaType.APPLICATION_STREAM_JSON, Collections.emptyMap()).collectList().block());
+	}
+
+	@Benchmark
+	public List<Object> decodeArray(BenchmarkState state) {
+		Flux<DataBuffer> input = Flux.defer(() -> Flux.just(state.bufferFactory.wrap(state.json)));
+		return state.decoder.decode(input, state.elementType,
+				MediaType.APPLICATION_JSON, Collections.emptyMap()).collectList().block();
+	}
+
+	private static List<DataBuffer> release(List<DataBuffer> buffers) {
+		buffers.forEach(DataBufferUtils::release);
+		return buffers;
+	}
+
+
+	public static class Item {
+
+		private long id;
+
+		private String name;
+
+		private double price;
+
+		public Item() {
+		}
+
+		public Item(long id, String name, double price) {
+			this.id = id;
+			this.name = name;
+			this.price = price;
+		}
+
+		public long getId() {
+			return this.id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public double getPrice() {
+			return this.price;
+		}
+
+		public void setPrice(double price) {
+			this.price = price;
+		}
+	}
+
+}
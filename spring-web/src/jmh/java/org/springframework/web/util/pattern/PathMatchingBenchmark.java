@@ -0,0 +1,89 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Benchmarks comparing {@link AntPathMatcher} with {@link PathPattern}
+ * for literal, URI variable and wildcard patterns.
+ *
+ * @since 5.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathMatchingBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"/api/customers/orders", "/api/{tenant}/orders/{id}", "/static/**"})
+		public String pattern;
+
+		@Param({"/api/customers/orders", "/api/acme/orders/42", "/static/app/vendor/main.js"})
+		public String path;
+
+		public final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+		public PathPattern pathPattern;
+
+		public PathContainer pathContainer;
+
+		@Setup
+		public void setup() {
+			this.pathPattern = new PathPatternParser().parse(this.pattern);
+			this.pathContainer = PathContainer.parsePath(this.path);
+		}
+	}
+
+
+	@Benchmark
+	public boolean antPathMatcherMatch(BenchmarkState state) {
+		return state.antPathMatcher.match(state.pattern, state.path);
+	}
+
+	@Benchmark
+	public Object antPathMatcherExtract(BenchmarkState state) {
+		AntPathMatcher matcher = state.antPathMatcher;
+		return (matcher.match(state.pattern, state.path) ?
+				matcher.extractUriTemplateVariables(state.pattern, state.path) : null);
+	}
+
+	@Benchmark
+	public boolean pathPatternMatch(BenchmarkState state) {
+		return state.pathPattern.matches(PathContainer.parsePath(state.path));
+	}
+
+	@Benchmark
+	public boolean pathPatternMatchParsedPath(BenchmarkState state) {
+		return state.pathPattern.matches(state.pathContainer);
+	}
+
+	@Benchmark
+	public Object pathPatternExtract(BenchmarkState state) {
+		return state.pathPattern.matchAndExtract(state.pathContainer);
+	}
+
+}
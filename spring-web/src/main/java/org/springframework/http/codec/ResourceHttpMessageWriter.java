@@ -56,6 +56,12 @@ import static java.util.Collections.*;
  * for writing one or more {@link ResourceRegion}'s based on the HTTP ranges
  * specified in the request.
  *
+ * <p>File resources and regions are written through {@link ZeroCopyHttpOutputMessage}
+ * where the server supports it. Otherwise, as well as for multiple regions, files
+ * of at least the {@linkplain #setMemoryMappingThreshold memory-mapping threshold},
+ * if configured, are written from memory-mapped sections rather than copied into
+ * allocated buffers.
+ *
  * <p>For reading to a Resource, use {@link ResourceDecoder} wrapped with
  * {@link DecoderHttpMessageReader}.
  *
@@ -90,6 +96,33 @@ public class ResourceHttpMessageWriter implements HttpMessageWriter<Resource> {
 	}
 
 
+	/**
+	 * Set the minimum size of files, or file regions, to write from memory-mapped
+	 * sections when they cannot be written through {@link ZeroCopyHttpOutputMessage}.
+	 * <p>By default this is 0, i.e. files are never memory-mapped. Note that a
+	 * mapped file must not be truncated while it is being written, and that it
+	 * may not be deleted or modified on some platforms until the mapping has
+	 * been garbage collected.
+	 * @param memoryMappingThreshold the minimum size in bytes, or 0 to disable
+	 * @since 5.1
+	 * @see ResourceEncoder#setMemoryMappingThreshold(long)
+	 * @see ResourceRegionEncoder#setMemoryMappingThreshold(long)
+	 */
+	public void setMemoryMappingThreshold(long memoryMappingThreshold) {
+		this.encoder.setMemoryMappingThreshold(memoryMappingThreshold);
+		this.regionEncoder.setMemoryMappingThreshold(memoryMappingThreshold);
+	}
+
+	/**
+	 * Return the minimum size of files, or file regions, to write from
+	 * memory-mapped sections.
+	 * @since 5.1
+	 */
+	public long getMemoryMappingThreshold() {
+		return this.encoder.getMemoryMappingThreshold();
+	}
+
+
 	@Override
 	public boolean canWrite(ResolvableType elementType, @Nullable MediaType mediaType) {
 		return this.encoder.canEncode(elementType, mediaType);
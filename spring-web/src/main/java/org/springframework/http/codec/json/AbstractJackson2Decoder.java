@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -55,6 +55,9 @@ import org.springframework.util.MimeType;
  */
 public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport implements HttpMessageDecoder<Object> {
 
+	private int maxInMemorySize = -1;
+
+
 	/**
 	 * Constructor with a Jackson {@link ObjectMapper} to use.
 	 */
@@ -63,9 +66,34 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	}
 
 
+	/**
+	 * Set the maximum number of input bytes that may be buffered for a single
+	 * decoded value, i.e. for each element when decoding a top-level JSON array
+	 * or a stream of JSON values to a {@code Flux}, or for the entire input
+	 * when decoding to a {@code Mono}. Input exceeding the limit results in a
+	 * {@link DecodingException}.
+	 * <p>By default this is set to -1, i.e. unlimited.
+	 * @param byteCount the maximum number of bytes per value, or -1 for no limit
+	 * @since 5.1
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		Assert.isTrue(byteCount >= -1, "'byteCount' must be -1 or higher");
+		this.maxInMemorySize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} maximum number of
+	 * input bytes per decoded value.
+	 * @since 5.1
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+
 	@Override
 	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
-		JavaType javaType = getObjectMapper().getTypeFactory().constructType(elementType.getType());
+		JavaType javaType = getJavaType(elementType.getType(), null);
 		// Skip String: CharSequenceDecoder + "*/*" comes after
 		return (!CharSequence.class.isAssignableFrom(elementType.resolve(Object.class)) &&
 				getObjectMapper().canDeserialize(javaType) && supportsMimeType(mimeType));
@@ -90,7 +118,7 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	private Flux<TokenBuffer> tokenize(Publisher<DataBuffer> input, boolean tokenizeArrayElements) {
 		Flux<DataBuffer> inputFlux = Flux.from(input);
 		JsonFactory factory = getObjectMapper().getFactory();
-		return Jackson2Tokenizer.tokenize(inputFlux, factory, tokenizeArrayElements);
+		return Jackson2Tokenizer.tokenize(inputFlux, factory, tokenizeArrayElements, this.maxInMemorySize);
 	}
 
 	private Flux<Object> decodeInternal(Flux<TokenBuffer> tokens, ResolvableType elementType,
@@ -104,9 +132,7 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		JavaType javaType = getJavaType(elementType.getType(), contextClass);
 		Class<?> jsonView = (hints != null ? (Class<?>) hints.get(Jackson2CodecSupport.JSON_VIEW_HINT) : null);
 
-		ObjectReader reader = (jsonView != null ?
-				getObjectMapper().readerWithView(jsonView).forType(javaType) :
-				getObjectMapper().readerFor(javaType));
+		ObjectReader reader = getObjectReader(javaType, jsonView);
 
 		return tokens.map(tokenBuffer -> {
 			try {
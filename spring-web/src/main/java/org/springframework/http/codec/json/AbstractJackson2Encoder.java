@@ -32,6 +32,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -43,6 +44,7 @@ import org.springframework.core.codec.CodecException;
 import org.springframework.core.codec.EncodingException;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.HttpMessageEncoder;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -54,7 +56,9 @@ import org.springframework.util.MimeType;
 /**
  * Base class providing support methods for Jackson 2.9 encoding. For non-streaming use
  * cases, {@link Flux} elements are collected into a {@link List} before serialization for
- * performance reason.
+ * performance reason. For streaming use cases, the elements of a textual format are
+ * written by a single {@link JsonGenerator} per subscription, each into its own
+ * {@link DataBuffer}.
  *
  * @author Sebastien Deleuze
  * @author Arjen Poutsma
@@ -122,8 +126,15 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		for (MediaType streamingMediaType : this.streamingMediaTypes) {
 			if (streamingMediaType.isCompatibleWith(mimeType)) {
 				byte[] separator = STREAM_SEPARATORS.getOrDefault(streamingMediaType, NEWLINE_SEPARATOR);
+				ObjectWriter writer = createObjectWriter(mimeType, elementType, hints);
+				if (canReuseGenerator(writer)) {
+					return Flux.using(() -> new StreamingGenerator(writer, encoding),
+							generator -> Flux.from(inputStream).map(value ->
+									generator.encodeValue(value, bufferFactory, separator)),
+							StreamingGenerator::close);
+				}
 				return Flux.from(inputStream).map(value -> {
-					DataBuffer buffer = encodeValue(value, mimeType, bufferFactory, elementType, hints, encoding);
+					DataBuffer buffer = encodeValue(value, bufferFactory, writer, encoding);
 					if (separator != null) {
 						buffer.write(separator);
 					}
@@ -140,37 +151,63 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 	private DataBuffer encodeValue(Object value, @Nullable MimeType mimeType, DataBufferFactory bufferFactory,
 			ResolvableType elementType, @Nullable Map<String, Object> hints, JsonEncoding encoding) {
 
+		ObjectWriter writer = createObjectWriter(mimeType, elementType, hints);
+		return encodeValue(value, bufferFactory, writer, encoding);
+	}
+
+	private ObjectWriter createObjectWriter(@Nullable MimeType mimeType, ResolvableType elementType,
+			@Nullable Map<String, Object> hints) {
+
 		JavaType javaType = getJavaType(elementType.getType(), null);
 		Class<?> jsonView = (hints != null ? (Class<?>) hints.get(Jackson2CodecSupport.JSON_VIEW_HINT) : null);
-		ObjectWriter writer = (jsonView != null ?
-				getObjectMapper().writerWithView(jsonView) : getObjectMapper().writer());
-
-		if (javaType.isContainerType()) {
-			writer = writer.forType(javaType);
-		}
+		ObjectWriter writer = getObjectWriter(javaType, jsonView);
+		return customizeWriter(writer, mimeType, elementType, hints);
+	}
 
-		writer = customizeWriter(writer, mimeType, elementType, hints);
+	private DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ObjectWriter writer,
+			JsonEncoding encoding) {
 
 		DataBuffer buffer = bufferFactory.allocateBuffer();
 		OutputStream outputStream = buffer.asOutputStream();
 
 		try {
+			// Closing the generator returns its internal buffers for reuse
 			JsonGenerator generator = getObjectMapper().getFactory().createGenerator(outputStream, encoding);
 			writer.writeValue(generator, value);
+			generator.close();
 		}
-		catch (InvalidDefinitionException ex) {
-			throw new CodecException("Type definition error: " + ex.getType(), ex);
-		}
-		catch (JsonProcessingException ex) {
-			throw new EncodingException("JSON encoding error: " + ex.getOriginalMessage(), ex);
-		}
-		catch (IOException ex) {
-			throw new IllegalStateException("Unexpected I/O error while writing to data buffer", ex);
+		catch (IOException | RuntimeException ex) {
+			DataBufferUtils.release(buffer);
+			throw toEncodingException(ex);
 		}
 
 		return buffer;
 	}
-	
+
+	/**
+	 * Whether values of a stream can be written with a single generator, which
+	 * is only the case for textual formats without indentation: binary formats
+	 * such as Smile start each document with a header, and the default pretty
+	 * printer separates root-level values with a space.
+	 */
+	private boolean canReuseGenerator(ObjectWriter writer) {
+		return (!getObjectMapper().getFactory().canHandleBinaryNatively() &&
+				!writer.isEnabled(SerializationFeature.INDENT_OUTPUT));
+	}
+
+	private static RuntimeException toEncodingException(Exception ex) {
+		if (ex instanceof InvalidDefinitionException) {
+			return new CodecException("Type definition error: " + ((InvalidDefinitionException) ex).getType(), ex);
+		}
+		else if (ex instanceof JsonProcessingException) {
+			return new EncodingException("JSON encoding error: " + ((JsonProcessingException) ex).getOriginalMessage(), ex);
+		}
+		else if (ex instanceof IOException) {
+			return new IllegalStateException("Unexpected I/O error while writing to data buffer", ex);
+		}
+		return (RuntimeException) ex;
+	}
+
 	protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable MimeType mimeType,
 			ResolvableType elementType, @Nullable Map<String, Object> hints) {
 
@@ -221,5 +258,123 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 	protected <A extends Annotation> A getAnnotation(MethodParameter parameter, Class<A> annotType) {
 		return parameter.getMethodAnnotation(annotType);
 	}
-	
+
+
+	/**
+	 * {@link JsonGenerator} used for all values of a stream, writing each
+	 * value into its own {@link DataBuffer}.
+	 * <p>Encoding a value and closing the generator are mutually exclusive: on
+	 * cancellation, the generator gets closed in the cancelling thread, which may
+	 * happen while a value is still being written in another thread.
+	 */
+	private class StreamingGenerator {
+
+		private final ObjectWriter writer;
+
+		private final DataBufferOutputStream outputStream = new DataBufferOutputStream();
+
+		private final JsonGenerator generator;
+
+		private int lastByteCount;
+
+		private boolean failed;
+
+		private boolean closed;
+
+		StreamingGenerator(ObjectWriter writer, JsonEncoding encoding) throws IOException {
+			this.writer = writer;
+			this.generator = getObjectMapper().getFactory().createGenerator(this.outputStream, encoding);
+			this.generator.setRootValueSeparator(null);
+		}
+
+		public synchronized DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory,
+				@Nullable byte[] separator) {
+
+			if (this.closed) {
+				throw new EncodingException("JSON generator closed, stream has been cancelled");
+			}
+			// Size for the previous value, to avoid growing the buffer while writing
+			DataBuffer buffer = (this.lastByteCount > 0 ?
+					bufferFactory.allocateBuffer(this.lastByteCount) : bufferFactory.allocateBuffer());
+			this.outputStream.setDataBuffer(buffer);
+			try {
+				this.writer.writeValue(this.generator, value);
+				this.generator.flush();
+			}
+			catch (IOException | RuntimeException ex) {
+				this.failed = true;
+				DataBufferUtils.release(buffer);
+				throw toEncodingException(ex);
+			}
+			finally {
+				this.outputStream.setDataBuffer(null);
+			}
+			if (separator != null) {
+				buffer.write(separator);
+			}
+			this.lastByteCount = buffer.readableByteCount();
+			return buffer;
+		}
+
+		public synchronized void close() {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+			if (this.failed) {
+				// Drop what is left of the value that could not be written
+				this.outputStream.discard();
+			}
+			try {
+				this.generator.close();
+			}
+			catch (IOException ex) {
+				// ignore, nothing left to write
+			}
+		}
+	}
+
+
+	/**
+	 * {@link OutputStream} that writes to an exchangeable {@link DataBuffer}.
+	 */
+	private static class DataBufferOutputStream extends OutputStream {
+
+		@Nullable
+		private DataBuffer dataBuffer;
+
+		private boolean discard;
+
+		public void setDataBuffer(@Nullable DataBuffer dataBuffer) {
+			this.dataBuffer = dataBuffer;
+		}
+
+		/**
+		 * Ignore any further output.
+		 */
+		public void discard() {
+			this.dataBuffer = null;
+			this.discard = true;
+		}
+
+		@Override
+		public void write(int b) {
+			if (!this.discard) {
+				getDataBuffer().write((byte) b);
+			}
+		}
+
+		@Override
+		public void write(byte[] bytes, int off, int len) {
+			if (!this.discard) {
+				getDataBuffer().write(bytes, off, len);
+			}
+		}
+
+		private DataBuffer getDataBuffer() {
+			Assert.state(this.dataBuffer != null, "No DataBuffer to write to");
+			return this.dataBuffer;
+		}
+	}
+
 }
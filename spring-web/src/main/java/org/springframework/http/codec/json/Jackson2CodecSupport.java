@@ -27,11 +27,12 @@ import java.util.Map;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
-import org.springframework.core.GenericTypeResolver;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
+import org.springframework.http.converter.json.Jackson2ObjectReaderWriterCache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.MimeType;
@@ -64,6 +65,8 @@ public abstract class Jackson2CodecSupport {
 
 	private final ObjectMapper objectMapper;
 
+	private final Jackson2ObjectReaderWriterCache readerWriterCache;
+
 	private final List<MimeType> mimeTypes;
 
 
@@ -73,6 +76,7 @@ public abstract class Jackson2CodecSupport {
 	protected Jackson2CodecSupport(ObjectMapper objectMapper, MimeType... mimeTypes) {
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		this.objectMapper = objectMapper;
+		this.readerWriterCache = new Jackson2ObjectReaderWriterCache(objectMapper);
 		this.mimeTypes = !ObjectUtils.isEmpty(mimeTypes) ?
 				Collections.unmodifiableList(Arrays.asList(mimeTypes)) : DEFAULT_MIME_TYPES;
 	}
@@ -95,8 +99,25 @@ public abstract class Jackson2CodecSupport {
 	}
 
 	protected JavaType getJavaType(Type type, @Nullable Class<?> contextClass) {
-		TypeFactory typeFactory = this.objectMapper.getTypeFactory();
-		return typeFactory.constructType(GenericTypeResolver.resolveType(type, contextClass));
+		return this.readerWriterCache.getJavaType(type, contextClass);
+	}
+
+	/**
+	 * Return a cached {@link ObjectReader} for the given type and JSON view.
+	 * @since 5.1
+	 * @see Jackson2ObjectReaderWriterCache#getObjectReader
+	 */
+	protected ObjectReader getObjectReader(JavaType javaType, @Nullable Class<?> jsonView) {
+		return this.readerWriterCache.getObjectReader(javaType, jsonView);
+	}
+
+	/**
+	 * Return a cached {@link ObjectWriter} for the given type and JSON view.
+	 * @since 5.1
+	 * @see Jackson2ObjectReaderWriterCache#getObjectWriter
+	 */
+	protected ObjectWriter getObjectWriter(@Nullable JavaType javaType, @Nullable Class<?> jsonView) {
+		return this.readerWriterCache.getObjectWriter(javaType, jsonView);
 	}
 
 	protected Map<String, Object> getHints(ResolvableType resolvableType) {
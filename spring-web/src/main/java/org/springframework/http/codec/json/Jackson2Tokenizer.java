@@ -17,6 +17,7 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -39,6 +40,10 @@ import org.springframework.util.Assert;
  * chunks into a {@code Flux<TokenBuffer>} where each token buffer is a
  * well-formed JSON object.
  *
+ * <p>Input buffers are requested one at a time, so that no more input is
+ * parsed ahead than needed to satisfy the demand for token buffers. Heap-based
+ * input buffers are fed to the non-blocking parser without copying.
+ *
  * @author Arjen Poutsma
  * @since 5.0
  */
@@ -48,8 +53,12 @@ class Jackson2Tokenizer {
 
 	private final boolean tokenizeArrayElements;
 
+	private final int maxInMemorySize;
+
 	private TokenBuffer tokenBuffer;
 
+	private long tokenBufferStart;
+
 	private int objectDepth;
 
 	private int arrayDepth;
@@ -58,11 +67,12 @@ class Jackson2Tokenizer {
 	private final ByteArrayFeeder inputFeeder;
 
 
-	private Jackson2Tokenizer(JsonParser parser, boolean tokenizeArrayElements) {
+	private Jackson2Tokenizer(JsonParser parser, boolean tokenizeArrayElements, int maxInMemorySize) {
 		Assert.notNull(parser, "'parser' must not be null");
 
 		this.parser = parser;
 		this.tokenizeArrayElements = tokenizeArrayElements;
+		this.maxInMemorySize = maxInMemorySize;
 		this.tokenBuffer = new TokenBuffer(parser);
 		this.inputFeeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
 	}
@@ -79,10 +89,30 @@ class Jackson2Tokenizer {
 	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
 			boolean tokenizeArrayElements) {
 
+		return tokenize(dataBuffers, jsonFactory, tokenizeArrayElements, -1);
+	}
+
+	/**
+	 * Tokenize the given {@code Flux<DataBuffer>} into {@code Flux<TokenBuffer>},
+	 * limiting the number of bytes a single token buffer may span.
+	 * @param dataBuffers the source data buffers
+	 * @param jsonFactory the factory to use
+	 * @param tokenizeArrayElements if {@code true} and the "top level" JSON
+	 * object is an array, each element is returned individually, immediately
+	 * after it is received.
+	 * @param maxInMemorySize the maximum number of input bytes per token buffer,
+	 * or -1 for no limit
+	 * @return the result token buffers
+	 * @since 5.1
+	 */
+	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			boolean tokenizeArrayElements, int maxInMemorySize) {
+
 		try {
 			JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
-			Jackson2Tokenizer tokenizer = new Jackson2Tokenizer(parser, tokenizeArrayElements);
-			return dataBuffers.flatMap(tokenizer::tokenize, Flux::error, tokenizer::endOfInput);
+			Jackson2Tokenizer tokenizer = new Jackson2Tokenizer(parser, tokenizeArrayElements, maxInMemorySize);
+			return dataBuffers.concatMap(tokenizer::tokenize, 1)
+					.concatWith(Flux.defer(tokenizer::endOfInput));
 		}
 		catch (IOException ex) {
 			return Flux.error(ex);
@@ -90,21 +120,31 @@ class Jackson2Tokenizer {
 	}
 
 	private Flux<TokenBuffer> tokenize(DataBuffer dataBuffer) {
-		byte[] bytes = new byte[dataBuffer.readableByteCount()];
-		dataBuffer.read(bytes);
-		DataBufferUtils.release(dataBuffer);
-
 		try {
-			this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+			if (byteBuffer.hasArray()) {
+				// The parser consumes all input before returning NOT_AVAILABLE,
+				// so the buffer can be released once parsing has returned
+				int offset = byteBuffer.arrayOffset() + byteBuffer.position();
+				this.inputFeeder.feedInput(byteBuffer.array(), offset, offset + byteBuffer.remaining());
+			}
+			else {
+				byte[] bytes = new byte[dataBuffer.readableByteCount()];
+				dataBuffer.read(bytes);
+				this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			}
 			return parseTokenBufferFlux();
 		}
 		catch (JsonProcessingException ex) {
 			return Flux.error(new DecodingException(
 					"JSON decoding error: " + ex.getOriginalMessage(), ex));
 		}
-		catch (IOException ex) {
+		catch (IOException | DecodingException ex) {
 			return Flux.error(ex);
 		}
+		finally {
+			DataBufferUtils.release(dataBuffer);
+		}
 	}
 
 	private Flux<TokenBuffer> endOfInput() {
@@ -116,7 +156,7 @@ class Jackson2Tokenizer {
 			return Flux.error(new DecodingException(
 					"JSON decoding error: " + ex.getOriginalMessage(), ex));
 		}
-		catch (IOException ex) {
+		catch (IOException | DecodingException ex) {
 			return Flux.error(ex);
 		}
 	}
@@ -129,6 +169,7 @@ class Jackson2Tokenizer {
 			// SPR-16151: Smile data format uses null to separate documents
 			if ((token == JsonToken.NOT_AVAILABLE) ||
 					(token == null && (token = this.parser.nextToken()) == null)) {
+				checkInMemorySize();
 				break;
 			}
 			updateDepth(token);
@@ -139,10 +180,25 @@ class Jackson2Tokenizer {
 			else {
 				processTokenArray(token, result);
 			}
+			checkInMemorySize();
 		}
 		return Flux.fromIterable(result);
 	}
 
+	private void checkInMemorySize() {
+		if (this.maxInMemorySize >= 0) {
+			long byteCount = this.parser.getCurrentLocation().getByteOffset() - this.tokenBufferStart;
+			if (byteCount > this.maxInMemorySize) {
+				throw new DecodingException("Exceeded limit on max bytes per JSON value: " + this.maxInMemorySize);
+			}
+		}
+	}
+
+	private void startTokenBuffer() {
+		this.tokenBuffer = new TokenBuffer(this.parser);
+		this.tokenBufferStart = this.parser.getCurrentLocation().getByteOffset();
+	}
+
 	private void updateDepth(JsonToken token) {
 		switch (token) {
 			case START_OBJECT:
@@ -166,7 +222,7 @@ class Jackson2Tokenizer {
 		if ((token.isStructEnd() || token.isScalarValue()) &&
 				this.objectDepth == 0 && this.arrayDepth == 0) {
 			result.add(this.tokenBuffer);
-			this.tokenBuffer = new TokenBuffer(this.parser);
+			startTokenBuffer();
 		}
 
 	}
@@ -180,7 +236,7 @@ class Jackson2Tokenizer {
 				(this.arrayDepth == 0 || this.arrayDepth == 1) &&
 				(token == JsonToken.END_OBJECT || token.isScalarValue())) {
 			result.add(this.tokenBuffer);
-			this.tokenBuffer = new TokenBuffer(this.parser);
+			startTokenBuffer();
 		}
 	}
 
@@ -33,14 +33,13 @@ import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
 import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.databind.type.TypeFactory;
 
-import org.springframework.core.GenericTypeResolver;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
@@ -76,6 +75,9 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 	@Nullable
 	private Boolean prettyPrint;
 
+	@Nullable
+	private volatile Jackson2ObjectReaderWriterCache readerWriterCache;
+
 	@Nullable
 	private PrettyPrinter ssePrettyPrinter;
 
@@ -113,6 +115,7 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 	public void setObjectMapper(ObjectMapper objectMapper) {
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		this.objectMapper = objectMapper;
+		this.readerWriterCache = null;
 		configurePrettyPrint();
 	}
 
@@ -140,9 +143,22 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 	private void configurePrettyPrint() {
 		if (this.prettyPrint != null) {
 			this.objectMapper.configure(SerializationFeature.INDENT_OUTPUT, this.prettyPrint);
+			this.readerWriterCache = null;
 		}
 	}
 
+	/**
+	 * Return the cache of readers and writers for the current {@code ObjectMapper}.
+	 */
+	private Jackson2ObjectReaderWriterCache getReaderWriterCache() {
+		Jackson2ObjectReaderWriterCache cache = this.readerWriterCache;
+		if (cache == null || cache.getObjectMapper() != this.objectMapper) {
+			cache = new Jackson2ObjectReaderWriterCache(this.objectMapper);
+			this.readerWriterCache = cache;
+		}
+		return cache;
+	}
+
 
 	@Override
 	public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
@@ -225,14 +241,12 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 
 	private Object readJavaType(JavaType javaType, HttpInputMessage inputMessage) throws IOException {
 		try {
+			Class<?> deserializationView = null;
 			if (inputMessage instanceof MappingJacksonInputMessage) {
-				Class<?> deserializationView = ((MappingJacksonInputMessage) inputMessage).getDeserializationView();
-				if (deserializationView != null) {
-					return this.objectMapper.readerWithView(deserializationView).forType(javaType).
-							readValue(inputMessage.getBody());
-				}
+				deserializationView = ((MappingJacksonInputMessage) inputMessage).getDeserializationView();
 			}
-			return this.objectMapper.readValue(inputMessage.getBody(), javaType);
+			ObjectReader objectReader = getReaderWriterCache().getObjectReader(javaType, deserializationView);
+			return objectReader.readValue(inputMessage.getBody());
 		}
 		catch (InvalidDefinitionException ex) {
 			throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
@@ -266,17 +280,14 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 				javaType = getJavaType(type, null);
 			}
 			ObjectWriter objectWriter;
-			if (serializationView != null) {
-				objectWriter = this.objectMapper.writerWithView(serializationView);
-			}
-			else if (filters != null) {
+			if (serializationView == null && filters != null) {
 				objectWriter = this.objectMapper.writer(filters);
+				if (javaType != null && javaType.isContainerType()) {
+					objectWriter = objectWriter.forType(javaType);
+				}
 			}
 			else {
-				objectWriter = this.objectMapper.writer();
-			}
-			if (javaType != null && javaType.isContainerType()) {
-				objectWriter = objectWriter.forType(javaType);
+				objectWriter = getReaderWriterCache().getObjectWriter(javaType, serializationView);
 			}
 			SerializationConfig config = objectWriter.getConfig();
 			if (contentType != null && contentType.isCompatibleWith(MediaType.TEXT_EVENT_STREAM) &&
@@ -321,8 +332,7 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 	 * @return the Jackson JavaType
 	 */
 	protected JavaType getJavaType(Type type, @Nullable Class<?> contextClass) {
-		TypeFactory typeFactory = this.objectMapper.getTypeFactory();
-		return typeFactory.constructType(GenericTypeResolver.resolveType(type, contextClass));
+		return getReaderWriterCache().getJavaType(type, contextClass);
 	}
 
 	/**
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.converter.json;
+
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.SerializerFactory;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Cache for the Jackson {@link JavaType JavaTypes}, {@link ObjectReader ObjectReaders}
+ * and {@link ObjectWriter ObjectWriters} used to read and write values of a given type
+ * and JSON view with an {@link ObjectMapper}. Readers and writers are created for the
+ * target type where possible, so that Jackson resolves their root (de)serializer once,
+ * rather than on every use.
+ *
+ * <p>Used by {@link AbstractJackson2HttpMessageConverter} as well as by the reactive
+ * Jackson codecs. Since readers and writers capture the configuration of the
+ * {@code ObjectMapper} when they are created, cached entries are discarded once
+ * the mapper's configuration changes, e.g. through {@code configure} or
+ * {@code registerModule}. Settings that Jackson itself only applies to
+ * serializers and deserializers created afterwards, such as mix-in annotations,
+ * should still be configured before first use.
+ *
+ * @since 5.1
+ */
+public class Jackson2ObjectReaderWriterCache {
+
+	/** Default maximum number of entries per cache: 1024. */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+
+	private final ObjectMapper objectMapper;
+
+	private final int cacheLimit;
+
+	private volatile Caches caches;
+
+
+	/**
+	 * Create a new cache for the given {@code ObjectMapper}, with the
+	 * {@linkplain #DEFAULT_CACHE_LIMIT default} cache limit.
+	 */
+	public Jackson2ObjectReaderWriterCache(ObjectMapper objectMapper) {
+		this(objectMapper, DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Create a new cache for the given {@code ObjectMapper}.
+	 * @param objectMapper the mapper to create types, readers and writers with
+	 * @param cacheLimit the maximum number of types, of readers, and of writers
+	 * to cache, each
+	 */
+	public Jackson2ObjectReaderWriterCache(ObjectMapper objectMapper, int cacheLimit) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be greater than 0");
+		this.objectMapper = objectMapper;
+		this.cacheLimit = cacheLimit;
+		this.caches = new Caches(objectMapper, cacheLimit);
+	}
+
+
+	/**
+	 * Return the {@code ObjectMapper} that this cache creates types, readers
+	 * and writers with.
+	 */
+	public ObjectMapper getObjectMapper() {
+		return this.objectMapper;
+	}
+
+	/**
+	 * Return the Jackson {@link JavaType} for the specified type and context class.
+	 * @param type the generic type to return the Jackson JavaType for
+	 * @param contextClass a context class for the target type, for example a class
+	 * in which the target type appears in a method signature (can be {@code null})
+	 * @return the Jackson JavaType
+	 */
+	public JavaType getJavaType(Type type, @Nullable Class<?> contextClass) {
+		return getCaches().javaTypeCache.get(new CacheKey(type, contextClass), key ->
+				this.objectMapper.getTypeFactory().constructType(GenericTypeResolver.resolveType(type, contextClass)));
+	}
+
+	/**
+	 * Return an {@code ObjectReader} for the given type and JSON view.
+	 * @param javaType the type to read
+	 * @param jsonView the JSON view to read with, or {@code null} for none
+	 * @return the reader
+	 */
+	public ObjectReader getObjectReader(JavaType javaType, @Nullable Class<?> jsonView) {
+		return getCaches().readerCache.get(new CacheKey(javaType, jsonView), key -> (jsonView != null ?
+				this.objectMapper.readerWithView(jsonView).forType(javaType) :
+				this.objectMapper.readerFor(javaType)));
+	}
+
+	/**
+	 * Return an {@code ObjectWriter} for the given type and JSON view.
+	 * <p>The writer is bound to the given type if it is a container type, or a
+	 * final class, i.e. if the type of values to write is fully determined by it.
+	 * Otherwise, serialization is based on the runtime type of each value.
+	 * @param javaType the declared type of values to write, or {@code null} if
+	 * not known
+	 * @param jsonView the JSON view to write with, or {@code null} for none
+	 * @return the writer
+	 */
+	public ObjectWriter getObjectWriter(@Nullable JavaType javaType, @Nullable Class<?> jsonView) {
+		return getCaches().writerCache.get(new CacheKey(javaType, jsonView), key -> {
+			ObjectWriter writer = (jsonView != null ?
+					this.objectMapper.writerWithView(jsonView) : this.objectMapper.writer());
+			if (javaType != null && (javaType.isContainerType() || javaType.isFinal())) {
+				writer = writer.forType(javaType);
+			}
+			return writer;
+		});
+	}
+
+
+	/**
+	 * Return the caches for the current configuration of the {@code ObjectMapper},
+	 * starting over with empty caches if the configuration has changed.
+	 */
+	private Caches getCaches() {
+		Caches caches = this.caches;
+		if (!caches.isCurrent(this.objectMapper)) {
+			caches = new Caches(this.objectMapper, this.cacheLimit);
+			this.caches = caches;
+		}
+		return caches;
+	}
+
+
+	/**
+	 * Cached types, readers and writers, along with the configuration of the
+	 * {@code ObjectMapper} they were created with. Jackson replaces these
+	 * configuration objects, rather than modifying them, on every change.
+	 */
+	private static final class Caches {
+
+		private final SerializationConfig serializationConfig;
+
+		private final DeserializationConfig deserializationConfig;
+
+		private final SerializerFactory serializerFactory;
+
+		private final SerializerProvider serializerProvider;
+
+		private final DeserializationContext deserializationContext;
+
+		private final TypeFactory typeFactory;
+
+		final BoundedCache<CacheKey, JavaType> javaTypeCache;
+
+		final BoundedCache<CacheKey, ObjectReader> readerCache;
+
+		final BoundedCache<CacheKey, ObjectWriter> writerCache;
+
+		Caches(ObjectMapper objectMapper, int cacheLimit) {
+			this.serializationConfig = objectMapper.getSerializationConfig();
+			this.deserializationConfig = objectMapper.getDeserializationConfig();
+			this.serializerFactory = objectMapper.getSerializerFactory();
+			this.serializerProvider = objectMapper.getSerializerProvider();
+			this.deserializationContext = objectMapper.getDeserializationContext();
+			this.typeFactory = objectMapper.getTypeFactory();
+			this.javaTypeCache = new BoundedCache<>(cacheLimit);
+			this.readerCache = new BoundedCache<>(cacheLimit);
+			this.writerCache = new BoundedCache<>(cacheLimit);
+		}
+
+		boolean isCurrent(ObjectMapper objectMapper) {
+			return (this.serializationConfig == objectMapper.getSerializationConfig() &&
+					this.deserializationConfig == objectMapper.getDeserializationConfig() &&
+					this.serializerFactory == objectMapper.getSerializerFactory() &&
+					this.serializerProvider == objectMapper.getSerializerProvider() &&
+					this.deserializationContext == objectMapper.getDeserializationContext() &&
+					this.typeFactory == objectMapper.getTypeFactory());
+		}
+	}
+
+
+	/**
+	 * Key for a type, along with a context class or JSON view.
+	 */
+	private static final class CacheKey {
+
+		@Nullable
+		private final Object type;
+
+		@Nullable
+		private final Class<?> clazz;
+
+		CacheKey(@Nullable Object type, @Nullable Class<?> clazz) {
+			this.type = type;
+			this.clazz = clazz;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey otherKey = (CacheKey) other;
+			return (ObjectUtils.nullSafeEquals(this.type, otherKey.type) && this.clazz == otherKey.clazz);
+		}
+
+		@Override
+		public int hashCode() {
+			return ObjectUtils.nullSafeHashCode(this.type) * 31 + ObjectUtils.nullSafeHashCode(this.clazz);
+		}
+	}
+
+
+	/**
+	 * Cache that returns cached values without a global lock, and evicts the
+	 * eldest entries once the limit is exceeded.
+	 */
+	private static final class BoundedCache<K, V> {
+
+		private final Map<K, V> accessCache;
+
+		private final Map<K, V> creationCache;
+
+		@SuppressWarnings("serial")
+		BoundedCache(int cacheLimit) {
+			this.accessCache = new ConcurrentHashMap<>(Math.min(cacheLimit, 64));
+			this.creationCache = new LinkedHashMap<K, V>(Math.min(cacheLimit, 64)) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+					if (size() > cacheLimit) {
+						accessCache.remove(eldest.getKey());
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+
+		V get(K key, Function<K, V> valueFunction) {
+			V value = this.accessCache.get(key);
+			if (value == null) {
+				synchronized (this.creationCache) {
+					value = this.creationCache.get(key);
+					if (value == null) {
+						value = valueFunction.apply(key);
+						this.accessCache.put(key, value);
+						this.creationCache.put(key, value);
+					}
+				}
+			}
+			return value;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.web.method.support;
 
+import java.lang.reflect.Executable;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -47,12 +48,16 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	private final Map<MethodParameter, HandlerMethodArgumentResolver> argumentResolverCache =
 			new ConcurrentHashMap<>(256);
 
+	private final Map<MethodParametersKey, HandlerMethodArgumentResolver[]> argumentResolversCache =
+			new ConcurrentHashMap<>(256);
+
 
 	/**
 	 * Add the given {@link HandlerMethodArgumentResolver}.
 	 */
 	public HandlerMethodArgumentResolverComposite addResolver(HandlerMethodArgumentResolver resolver) {
 		this.argumentResolvers.add(resolver);
+		this.argumentResolversCache.clear();
 		return this;
 	}
 
@@ -65,6 +70,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 			for (HandlerMethodArgumentResolver resolver : resolvers) {
 				this.argumentResolvers.add(resolver);
 			}
+			this.argumentResolversCache.clear();
 		}
 		return this;
 	}
@@ -79,6 +85,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 			for (HandlerMethodArgumentResolver resolver : resolvers) {
 				this.argumentResolvers.add(resolver);
 			}
+			this.argumentResolversCache.clear();
 		}
 		return this;
 	}
@@ -96,6 +103,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	 */
 	public void clear() {
 		this.argumentResolvers.clear();
+		this.argumentResolversCache.clear();
 	}
 
 
@@ -124,6 +132,33 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 		return resolver.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
 	}
 
+	/**
+	 * Find the registered {@link HandlerMethodArgumentResolver}s for the given method parameters,
+	 * with a {@code null} entry for each parameter that is not supported by any resolver.
+	 * <p>The result is cached per method and containing class rather than per parameter array,
+	 * so that it is reused for every {@link org.springframework.web.method.HandlerMethod} created
+	 * for the same method, including those created per request for {@code @ModelAttribute},
+	 * {@code @InitBinder} and {@code @ExceptionHandler} methods.
+	 * @param parameters all parameters of a single method, as returned by
+	 * {@link org.springframework.web.method.HandlerMethod#getMethodParameters()}
+	 * @since 5.1
+	 */
+	HandlerMethodArgumentResolver[] getArgumentResolvers(MethodParameter[] parameters) {
+		if (parameters.length == 0) {
+			return new HandlerMethodArgumentResolver[0];
+		}
+		MethodParametersKey key = new MethodParametersKey(parameters[0]);
+		HandlerMethodArgumentResolver[] result = this.argumentResolversCache.get(key);
+		if (result == null) {
+			result = new HandlerMethodArgumentResolver[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				result[i] = getArgumentResolver(parameters[i]);
+			}
+			this.argumentResolversCache.put(key, result);
+		}
+		return result;
+	}
+
 	/**
 	 * Find a registered {@link HandlerMethodArgumentResolver} that supports the given method parameter.
 	 */
@@ -146,4 +181,39 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 		return result;
 	}
 
+
+	/**
+	 * Cache key for the parameters of a method: stable across the separate
+	 * {@code MethodParameter} arrays of each {@code HandlerMethod} instance.
+	 */
+	private static final class MethodParametersKey {
+
+		private final Executable executable;
+
+		private final Class<?> containingClass;
+
+		public MethodParametersKey(MethodParameter parameter) {
+			this.executable = parameter.getExecutable();
+			this.containingClass = parameter.getContainingClass();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof MethodParametersKey)) {
+				return false;
+			}
+			MethodParametersKey otherKey = (MethodParametersKey) other;
+			return (this.executable.equals(otherKey.executable) &&
+					this.containingClass == otherKey.containingClass);
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.executable.hashCode() * 31 + this.containingClass.hashCode());
+		}
+	}
+
 }
@@ -25,7 +25,6 @@ import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.support.SessionStatus;
 import org.springframework.web.bind.support.WebDataBinderFactory;
@@ -48,6 +47,8 @@ import org.springframework.web.method.HandlerMethod;
  */
 public class InvocableHandlerMethod extends HandlerMethod {
 
+	private static final Object[] EMPTY_ARGS = new Object[0];
+
 	@Nullable
 	private WebDataBinderFactory dataBinderFactory;
 
@@ -148,6 +149,10 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			Object... providedArgs) throws Exception {
 
 		MethodParameter[] parameters = getMethodParameters();
+		if (parameters.length == 0) {
+			return EMPTY_ARGS;
+		}
+		HandlerMethodArgumentResolver[] resolvers = this.argumentResolvers.getArgumentResolvers(parameters);
 		Object[] args = new Object[parameters.length];
 		for (int i = 0; i < parameters.length; i++) {
 			MethodParameter parameter = parameters[i];
@@ -156,24 +161,21 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			if (args[i] != null) {
 				continue;
 			}
-			if (this.argumentResolvers.supportsParameter(parameter)) {
-				try {
-					args[i] = this.argumentResolvers.resolveArgument(
-							parameter, mavContainer, request, this.dataBinderFactory);
-					continue;
-				}
-				catch (Exception ex) {
-					if (logger.isDebugEnabled()) {
-						logger.debug(getArgumentResolutionErrorMessage("Failed to resolve", i), ex);
-					}
-					throw ex;
-				}
-			}
-			if (args[i] == null) {
+			HandlerMethodArgumentResolver resolver = resolvers[i];
+			if (resolver == null) {
 				throw new IllegalStateException("Could not resolve method parameter at index " +
 						parameter.getParameterIndex() + " in " + parameter.getExecutable().toGenericString() +
 						": " + getArgumentResolutionErrorMessage("No suitable resolver for", i));
 			}
+			try {
+				args[i] = resolver.resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
+			}
+			catch (Exception ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug(getArgumentResolutionErrorMessage("Failed to resolve", i), ex);
+				}
+				throw ex;
+			}
 		}
 		return args;
 	}
@@ -204,9 +206,8 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 * Invoke the handler method with the given argument values.
 	 */
 	protected Object doInvoke(Object... args) throws Exception {
-		ReflectionUtils.makeAccessible(getBridgedMethod());
 		try {
-			return getBridgedMethod().invoke(getBean(), args);
+			return getMethodAccessor().invoke(getBean(), args);
 		}
 		catch (IllegalArgumentException ex) {
 			assertTargetBean(getBridgedMethod(), getBean(), args);
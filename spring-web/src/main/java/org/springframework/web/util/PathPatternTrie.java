@@ -0,0 +1,286 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+
+/**
+ * Prefix tree over the path segments of URL patterns, used to narrow down
+ * the patterns that may match a given lookup path without trying each of
+ * them in turn.
+ *
+ * <p>Literal pattern segments are indexed as literal children of a node.
+ * Segments with wildcards or URI variables ({@code *}, {@code ?},
+ * <code>{name}</code>) lead to a shared wildcard child matching any single
+ * segment, while {@code **} and <code>{*name}</code> mark all subsequent
+ * segments as matching. Both Ant-style patterns as supported by
+ * {@link org.springframework.util.AntPathMatcher} and patterns as supported by
+ * {@link org.springframework.web.util.pattern.PathPattern} are understood.
+ *
+ * <p>The returned candidates are a superset of the actually matching patterns:
+ * literal segments are compared case-insensitively, and a file extension in the
+ * last path segment is also ignored for suffix pattern matching purposes. Callers
+ * are expected to perform the actual matching against the returned candidates.
+ *
+ * <p>This class is not thread-safe for concurrent modifications and lookups.
+ *
+ * @since 5.1
+ * @param <T> the type of values registered for a pattern
+ */
+public class PathPatternTrie<T> {
+
+	private final Node<T> root = new Node<>();
+
+
+	/**
+	 * Register a value for the given pattern.
+	 * @param pattern the URL pattern
+	 * @param value the value to return as candidate for paths the pattern may match
+	 */
+	public void add(String pattern, T value) {
+		Node<T> node = this.root;
+		for (String segment : tokenizePattern(pattern)) {
+			if (isCatchAll(segment)) {
+				node.addCatchAllValue(value);
+				return;
+			}
+			node = (isLiteral(segment) ? node.getOrCreateLiteralChild(segment) : node.getOrCreateWildcardChild());
+		}
+		node.addValue(value);
+	}
+
+	/**
+	 * Remove a value previously registered for the given pattern.
+	 * @param pattern the URL pattern
+	 * @param value the value to remove
+	 */
+	public void remove(String pattern, T value) {
+		Node<T> node = this.root;
+		for (String segment : tokenizePattern(pattern)) {
+			if (isCatchAll(segment)) {
+				node.removeCatchAllValue(value);
+				return;
+			}
+			node = (isLiteral(segment) ? node.getLiteralChild(segment) : node.wildcardChild);
+			if (node == null) {
+				return;
+			}
+		}
+		node.removeValue(value);
+	}
+
+	/**
+	 * Return the values of all patterns that may match the given lookup path,
+	 * in the form of a URL path as used with {@code AntPathMatcher}.
+	 * @param lookupPath the path to match
+	 * @return the candidate values (never {@code null})
+	 */
+	public Set<T> getCandidates(String lookupPath) {
+		List<String> segments = new ArrayList<>();
+		int begin = 0;
+		int length = lookupPath.length();
+		while (begin < length) {
+			int end = lookupPath.indexOf('/', begin);
+			if (end == -1) {
+				end = length;
+			}
+			if (end > begin) {
+				segments.add(lookupPath.substring(begin, end));
+			}
+			begin = end + 1;
+		}
+		return getCandidates(segments);
+	}
+
+	/**
+	 * Return the values of all patterns that may match the given parsed path,
+	 * as used with {@link org.springframework.web.util.pattern.PathPattern}.
+	 * @param path the path to match
+	 * @return the candidate values (never {@code null})
+	 */
+	public Set<T> getCandidates(PathContainer path) {
+		List<PathContainer.Element> elements = path.elements();
+		List<String> segments = new ArrayList<>(elements.size());
+		for (PathContainer.Element element : elements) {
+			if (element instanceof PathContainer.PathSegment) {
+				String value = ((PathContainer.PathSegment) element).valueToMatch();
+				if (!value.isEmpty()) {
+					segments.add(value);
+				}
+			}
+		}
+		return getCandidates(segments);
+	}
+
+	private Set<T> getCandidates(List<String> segments) {
+		Set<T> candidates = new LinkedHashSet<>();
+		collectCandidates(this.root, segments, 0, candidates);
+		return candidates;
+	}
+
+	private void collectCandidates(Node<T> node, List<String> segments, int index, Set<T> candidates) {
+		if (node.catchAllValues != null) {
+			candidates.addAll(node.catchAllValues);
+		}
+		if (index == segments.size()) {
+			if (node.values != null) {
+				candidates.addAll(node.values);
+			}
+			// An AntPathMatcher pattern such as "/path/*" also matches "/path/"
+			if (node.wildcardChild != null && node.wildcardChild.values != null) {
+				candidates.addAll(node.wildcardChild.values);
+			}
+			return;
+		}
+		String segment = segments.get(index);
+		if (node.literalChildren != null) {
+			Node<T> child = node.literalChildren.get(segment);
+			if (child != null) {
+				collectCandidates(child, segments, index + 1, candidates);
+			}
+			if (index == segments.size() - 1) {
+				// Suffix pattern match: "/path" also matches "/path.json"
+				int dotIndex = segment.indexOf('.');
+				while (dotIndex > 0) {
+					Node<T> suffixChild = node.literalChildren.get(segment.substring(0, dotIndex));
+					if (suffixChild != null && suffixChild != child) {
+						collectCandidates(suffixChild, segments, index + 1, candidates);
+					}
+					dotIndex = segment.indexOf('.', dotIndex + 1);
+				}
+			}
+		}
+		if (node.wildcardChild != null) {
+			collectCandidates(node.wildcardChild, segments, index + 1, candidates);
+		}
+	}
+
+
+	/**
+	 * Split the given pattern into its non-empty segments, keeping any
+	 * separators within URI variable declarations as part of the segment.
+	 */
+	private static List<String> tokenizePattern(String pattern) {
+		List<String> segments = new ArrayList<>();
+		int depth = 0;
+		int begin = 0;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '{') {
+				depth++;
+			}
+			else if (c == '}') {
+				depth--;
+			}
+			else if (c == '/' && depth == 0) {
+				if (i > begin) {
+					segments.add(pattern.substring(begin, i));
+				}
+				begin = i + 1;
+			}
+		}
+		if (pattern.length() > begin) {
+			segments.add(pattern.substring(begin));
+		}
+		return segments;
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == '*' || c == '?' || c == '{') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isCatchAll(String segment) {
+		// "**" as well as any segment we cannot safely confine to a single path segment
+		return (segment.contains("**") || segment.startsWith("{*") || segment.indexOf('/') != -1);
+	}
+
+
+	private static class Node<T> {
+
+		@Nullable
+		private Map<String, Node<T>> literalChildren;
+
+		@Nullable
+		private Node<T> wildcardChild;
+
+		@Nullable
+		private Set<T> values;
+
+		@Nullable
+		private Set<T> catchAllValues;
+
+		@Nullable
+		public Node<T> getLiteralChild(String segment) {
+			return (this.literalChildren != null ? this.literalChildren.get(segment) : null);
+		}
+
+		public Node<T> getOrCreateLiteralChild(String segment) {
+			if (this.literalChildren == null) {
+				this.literalChildren = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+			}
+			return this.literalChildren.computeIfAbsent(segment, key -> new Node<>());
+		}
+
+		public Node<T> getOrCreateWildcardChild() {
+			if (this.wildcardChild == null) {
+				this.wildcardChild = new Node<>();
+			}
+			return this.wildcardChild;
+		}
+
+		public void addValue(T value) {
+			if (this.values == null) {
+				this.values = new LinkedHashSet<>(4);
+			}
+			this.values.add(value);
+		}
+
+		public void removeValue(T value) {
+			if (this.values != null && this.values.remove(value) && this.values.isEmpty()) {
+				this.values = null;
+			}
+		}
+
+		public void addCatchAllValue(T value) {
+			if (this.catchAllValues == null) {
+				this.catchAllValues = new LinkedHashSet<>(4);
+			}
+			this.catchAllValues.add(value);
+		}
+
+		public void removeCatchAllValue(T value) {
+			if (this.catchAllValues != null && this.catchAllValues.remove(value) && this.catchAllValues.isEmpty()) {
+				this.catchAllValues = null;
+			}
+		}
+	}
+
+}
@@ -17,6 +17,8 @@
 package org.springframework.http.codec;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Map;
 
@@ -25,6 +27,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRange;
@@ -131,6 +134,39 @@ public class ResourceHttpMessageWriterTests {
 				.verify();
 	}
 
+	@Test
+	public void writeMemoryMappedRegions() throws Exception {
+		Path file = Files.createTempFile("ResourceHttpMessageWriterTests", ".txt");
+		// Mapped files cannot be deleted on some platforms until garbage collected
+		file.toFile().deleteOnExit();
+		Files.write(file, "Spring Framework test resource content.".getBytes(StandardCharsets.UTF_8));
+		this.writer.setMemoryMappingThreshold(1);
+		MockServerHttpRequest request = get("/").range(of(0, 5), of(7, 15)).build();
+		Mono<Void> mono = this.writer.write(Mono.just(new FileSystemResource(file.toFile())),
+				null, null, TEXT_PLAIN, request, this.response, HINTS);
+		StepVerifier.create(mono).expectComplete().verify();
+
+		String boundary = this.response.getHeaders().getContentType().toString().substring(30);
+		StepVerifier.create(this.response.getBodyAsString())
+				.consumeNextWith(content -> {
+					String[] actualRanges = StringUtils.tokenizeToStringArray(content, "\r\n", false, true);
+					String[] expected = new String[] {
+							"--" + boundary,
+							"Content-Type: text/plain",
+							"Content-Range: bytes 0-5/39",
+							"Spring",
+							"--" + boundary,
+							"Content-Type: text/plain",
+							"Content-Range: bytes 7-15/39",
+							"Framework",
+							"--" + boundary + "--"
+					};
+					assertArrayEquals(expected, actualRanges);
+				})
+				.expectComplete()
+				.verify();
+	}
+
 	@Test
 	public void invalidRange() throws Exception {
 
@@ -20,6 +20,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -31,13 +33,16 @@ import static org.springframework.http.MediaType.*;
 import static org.springframework.http.codec.json.Jackson2JsonEncoder.*;
 import static org.springframework.http.codec.json.JacksonViewBean.*;
 import org.springframework.util.MimeType;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CodecException;
 import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.Pojo;
 import org.springframework.http.codec.ServerSentEvent;
@@ -139,6 +144,52 @@ public class Jackson2JsonEncoderTests extends AbstractDataBufferAllocatingTestCa
 				.verifyComplete();
 	}
 
+	@Test
+	public void encodeAsStreamWithSerializationError() throws Exception {
+		Flux<Object> source = Flux.just(new Pojo("foo", "bar"), new Object());
+		ResolvableType type = ResolvableType.forClass(Object.class);
+		Flux<DataBuffer> output = this.encoder.encode(source, this.bufferFactory, type, APPLICATION_STREAM_JSON, emptyMap());
+
+		StepVerifier.create(output)
+				.consumeNextWith(stringConsumer("{\"foo\":\"foo\",\"bar\":\"bar\"}\n"))
+				.expectError(CodecException.class)
+				.verify();
+	}
+
+	@Test
+	public void encodeAsStreamWithErrorWhileWritingValue() throws Exception {
+		Flux<Object> source = Flux.just(new Pojo("foo", "bar"), new FailingBean());
+		ResolvableType type = ResolvableType.forClass(Object.class);
+		Flux<DataBuffer> output = this.encoder.encode(source, this.bufferFactory, type, APPLICATION_STREAM_JSON, emptyMap());
+
+		StepVerifier.create(output)
+				.consumeNextWith(stringConsumer("{\"foo\":\"foo\",\"bar\":\"bar\"}\n"))
+				.expectErrorSatisfies(ex -> {
+					assertTrue(ex instanceof CodecException);
+					assertEquals(0, ex.getSuppressed().length);
+				})
+				.verify();
+	}
+
+	@Test
+	public void encodeAsStreamWithCancelWhileWritingValue() throws Exception {
+		BlockingBean bean = new BlockingBean();
+		Flux<Object> source = Flux.create(sink -> new Thread(() -> sink.next(bean)).start());
+		ResolvableType type = ResolvableType.forClass(Object.class);
+		Flux<DataBuffer> output = this.encoder.encode(source, this.bufferFactory, type, APPLICATION_STREAM_JSON, emptyMap());
+
+		Disposable subscription = output.subscribe(DataBufferUtils::release);
+		assertTrue(bean.writing.await(5, TimeUnit.SECONDS));
+		Thread canceller = new Thread(subscription::dispose);
+		canceller.start();
+		canceller.join(200);
+		assertTrue("Generator closed while writing a value", canceller.isAlive());
+
+		bean.proceed.countDown();
+		canceller.join(5000);
+		assertFalse(canceller.isAlive());
+	}
+
 	@Test  // SPR-15727
 	public void encodeAsStreamWithCustomStreamingType() throws Exception {
 		MediaType fooMediaType = new MediaType("application", "foo");
@@ -204,4 +255,28 @@ public class Jackson2JsonEncoderTests extends AbstractDataBufferAllocatingTestCa
 	private static class Bar extends ParentClass {
 	}
 
+	private static class FailingBean {
+
+		public String getFoo() {
+			return "foo";
+		}
+
+		public String getBar() {
+			throw new IllegalStateException("Expected failure");
+		}
+	}
+
+	private static class BlockingBean {
+
+		final CountDownLatch writing = new CountDownLatch(1);
+
+		final CountDownLatch proceed = new CountDownLatch(1);
+
+		public String getFoo() throws InterruptedException {
+			this.writing.countDown();
+			this.proceed.await(5, TimeUnit.SECONDS);
+			return "foo";
+		}
+	}
+
 }
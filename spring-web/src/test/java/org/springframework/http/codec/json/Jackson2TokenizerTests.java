@@ -185,6 +185,30 @@ public class Jackson2TokenizerTests extends AbstractDataBufferAllocatingTestCase
 		tokens.blockLast();
 	}
 
+	@Test
+	public void maxInMemorySize() {
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("[{\"foo\": \"bar\"},"), stringBuffer("{\"foo\": \"barbarbarbarbar"),
+				stringBuffer("barbarbarbarbar\"}]"));
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, true, 20);
+
+		StepVerifier.create(tokens)
+				.expectNextCount(1)
+				.expectError(DecodingException.class)
+				.verify();
+	}
+
+	@Test
+	public void maxInMemorySizeNotExceeded() {
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("[{\"foo\": \"bar\"},"), stringBuffer("{\"foo\": \"baz\"}]"));
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, true, 20);
+
+		StepVerifier.create(tokens)
+				.expectNextCount(2)
+				.verifyComplete();
+	}
+
 
 	private void testTokenize(List<String> source, List<String> expected, boolean tokenizeArrayElements) {
 
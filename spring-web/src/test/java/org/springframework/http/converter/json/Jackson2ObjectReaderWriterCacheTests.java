@@ -0,0 +1,138 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.converter.json;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import org.junit.Test;
+
+import org.springframework.core.ResolvableType;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link Jackson2ObjectReaderWriterCache}.
+ */
+public class Jackson2ObjectReaderWriterCacheTests {
+
+	private final Jackson2ObjectReaderWriterCache cache = new Jackson2ObjectReaderWriterCache(new ObjectMapper());
+
+
+	@Test
+	public void getJavaType() {
+		ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, String.class);
+		JavaType javaType = this.cache.getJavaType(listType.getType(), null);
+
+		assertEquals(List.class, javaType.getRawClass());
+		assertEquals(String.class, javaType.getContentType().getRawClass());
+		assertSame(javaType, this.cache.getJavaType(
+				ResolvableType.forClassWithGenerics(List.class, String.class).getType(), null));
+	}
+
+	@Test
+	public void getObjectReader() throws Exception {
+		JavaType javaType = this.cache.getJavaType(Bean.class, null);
+
+		assertSame(this.cache.getObjectReader(javaType, null), this.cache.getObjectReader(javaType, null));
+		assertNotSame(this.cache.getObjectReader(javaType, null), this.cache.getObjectReader(javaType, View.class));
+
+		Bean bean = this.cache.getObjectReader(javaType, View.class).readValue("{\"withView\":\"foo\",\"withoutView\":\"bar\"}");
+		assertEquals("foo", bean.withView);
+		assertNull(bean.withoutView);
+	}
+
+	@Test
+	public void getObjectWriter() throws Exception {
+		JavaType javaType = this.cache.getJavaType(Bean.class, null);
+		ObjectWriter writer = this.cache.getObjectWriter(javaType, View.class);
+
+		assertSame(writer, this.cache.getObjectWriter(javaType, View.class));
+		assertNotSame(writer, this.cache.getObjectWriter(null, View.class));
+		assertTrue(writer.hasPrefetchedSerializer());
+
+		Bean bean = new Bean();
+		bean.withView = "foo";
+		bean.withoutView = "bar";
+		assertEquals("{\"withView\":\"foo\"}", writer.writeValueAsString(bean));
+	}
+
+	@Test
+	public void getObjectWriterForNonFinalType() throws Exception {
+		ObjectWriter writer = this.cache.getObjectWriter(this.cache.getJavaType(Object.class, null), null);
+
+		assertFalse(writer.hasPrefetchedSerializer());
+		assertEquals("\"foo\"", writer.writeValueAsString("foo"));
+	}
+
+	@Test
+	public void configurationChangeDiscardsCachedWriters() throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper();
+		Jackson2ObjectReaderWriterCache cache = new Jackson2ObjectReaderWriterCache(objectMapper);
+		JavaType javaType = cache.getJavaType(Bean.class, null);
+		ObjectWriter writer = cache.getObjectWriter(javaType, null);
+
+		assertSame(writer, cache.getObjectWriter(javaType, null));
+		objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+		assertNotSame(writer, cache.getObjectWriter(javaType, null));
+		assertTrue(cache.getObjectWriter(javaType, null).isEnabled(SerializationFeature.INDENT_OUTPUT));
+
+		writer = cache.getObjectWriter(javaType, null);
+		SimpleModule module = new SimpleModule();
+		module.addSerializer(Bean.class, new ToStringSerializer());
+		objectMapper.registerModule(module);
+		assertNotSame(writer, cache.getObjectWriter(javaType, null));
+	}
+
+	@Test
+	public void cacheLimit() {
+		Jackson2ObjectReaderWriterCache cache = new Jackson2ObjectReaderWriterCache(new ObjectMapper(), 1);
+		JavaType javaType = cache.getJavaType(Bean.class, null);
+		ObjectReader reader = cache.getObjectReader(javaType, null);
+
+		assertSame(reader, cache.getObjectReader(javaType, null));
+		cache.getObjectReader(javaType, View.class);
+		assertNotSame(reader, cache.getObjectReader(javaType, null));
+	}
+
+
+	private interface View {
+	}
+
+
+	private interface OtherView {
+	}
+
+
+	@SuppressWarnings("unused")
+	private static final class Bean {
+
+		@JsonView(View.class)
+		public String withView;
+
+		@JsonView(OtherView.class)
+		public String withoutView;
+	}
+
+}
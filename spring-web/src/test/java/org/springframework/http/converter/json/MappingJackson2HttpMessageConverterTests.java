@@ -28,6 +28,7 @@ import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.ser.FilterProvider;
 import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
@@ -308,6 +309,21 @@ public class MappingJackson2HttpMessageConverterTests {
 				"  \"name\" : \"Jason\"" + NEWLINE_SYSTEM_PROPERTY + "}", result);
 	}
 
+	@Test
+	public void prettyPrintConfiguredAfterFirstWrite() throws Exception {
+		PrettyPrintBean bean = new PrettyPrintBean();
+		bean.setName("Jason");
+		this.converter.writeInternal(bean, null, new MockHttpOutputMessage());
+
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		this.converter.getObjectMapper().configure(SerializationFeature.INDENT_OUTPUT, true);
+		this.converter.writeInternal(bean, null, outputMessage);
+		String result = outputMessage.getBodyAsString(StandardCharsets.UTF_8);
+
+		assertEquals("{" + NEWLINE_SYSTEM_PROPERTY +
+				"  \"name\" : \"Jason\"" + NEWLINE_SYSTEM_PROPERTY + "}", result);
+	}
+
 	@Test
 	public void prettyPrintWithSse() throws Exception {
 		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
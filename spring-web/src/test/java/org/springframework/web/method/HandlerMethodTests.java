@@ -0,0 +1,54 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.method;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.MethodAccessor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link HandlerMethod}.
+ */
+public class HandlerMethodTests {
+
+	@Test
+	public void methodAccessorSharedWithResolvedHandlerMethod() throws Exception {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		beanFactory.addBean("handler", new Handler());
+		HandlerMethod handlerMethod = new HandlerMethod(
+				"handler", beanFactory, Handler.class.getMethod("handle", String.class));
+
+		HandlerMethod resolved = handlerMethod.createWithResolvedBean();
+		MethodAccessor accessor = resolved.getMethodAccessor();
+		assertEquals("value", accessor.invoke(resolved.getBean(), "value"));
+		assertSame(accessor, handlerMethod.getMethodAccessor());
+		assertSame(accessor, handlerMethod.createWithResolvedBean().getMethodAccessor());
+		assertSame(accessor, new HandlerMethod(resolved) {}.getMethodAccessor());
+	}
+
+
+	public static class Handler {
+
+		public String handle(String value) {
+			return value;
+		}
+	}
+
+}
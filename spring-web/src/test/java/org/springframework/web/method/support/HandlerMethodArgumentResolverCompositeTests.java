@@ -72,6 +72,25 @@ public class HandlerMethodArgumentResolverCompositeTests {
 		assertEquals("Didn't use the first registered resolver", Integer.valueOf(1), resolvedValue);
 	}
 
+	@Test
+	public void getArgumentResolvers() throws Exception {
+		StubArgumentResolver intResolver = registerResolver(Integer.class, null);
+		MethodParameter[] parameters = new MethodParameter[] {paramInt, paramStr};
+
+		HandlerMethodArgumentResolver[] result = this.resolvers.getArgumentResolvers(parameters);
+		assertEquals(2, result.length);
+		assertSame(intResolver, result[0]);
+		assertNull(result[1]);
+		assertSame(result, this.resolvers.getArgumentResolvers(parameters));
+		assertSame(result, this.resolvers.getArgumentResolvers(new MethodParameter[] {
+				new MethodParameter(paramInt), new MethodParameter(paramStr)}));
+
+		StubArgumentResolver stringResolver = registerResolver(String.class, null);
+		result = this.resolvers.getArgumentResolvers(parameters);
+		assertSame(intResolver, result[0]);
+		assertSame(stringResolver, result[1]);
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void noSuitableArgumentResolver() throws Exception {
 		this.resolvers.resolveArgument(paramStr, null, null, null);
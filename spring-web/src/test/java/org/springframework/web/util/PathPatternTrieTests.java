@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PathPatternTrie}.
+ */
+public class PathPatternTrieTests {
+
+	private final PathPatternTrie<String> trie = new PathPatternTrie<>();
+
+
+	@Test
+	public void literalPatterns() {
+		add("/hotels", "/hotels/bookings", "/flights");
+
+		assertCandidates("/hotels", "/hotels");
+		assertCandidates("/hotels/bookings", "/hotels/bookings");
+		assertCandidates("/cars");
+		assertCandidates("/");
+	}
+
+	@Test
+	public void wildcardAndVariablePatterns() {
+		add("/hotels/*", "/hotels/{hotel}/bookings", "/hotels/b?oking", "/hotels/{hotel:\\d+}", "/flights/*");
+
+		assertCandidates("/hotels/1", "/hotels/*", "/hotels/b?oking", "/hotels/{hotel:\\d+}");
+		assertCandidates("/hotels/1/bookings", "/hotels/{hotel}/bookings");
+		assertCandidates("/hotels/1/reviews");
+	}
+
+	@Test
+	public void singleWildcardMatchesTrailingSlash() {
+		add("/hotels/*");
+
+		assertCandidates("/hotels/", "/hotels/*");
+		assertCandidates("/hotels", "/hotels/*");
+	}
+
+	@Test
+	public void catchAllPatterns() {
+		add("/**", "/hotels/**", "/hotels/{*path}", "/hotels/**/bookings", "/flights/**");
+
+		assertCandidates("/hotels", "/**", "/hotels/**", "/hotels/{*path}", "/hotels/**/bookings");
+		assertCandidates("/hotels/1/2/bookings", "/**", "/hotels/**", "/hotels/{*path}", "/hotels/**/bookings");
+		assertCandidates("/cars", "/**");
+	}
+
+	@Test
+	public void caseInsensitiveCandidates() {
+		add("/Hotels");
+
+		assertCandidates("/hotels", "/Hotels");
+		assertCandidates("/HOTELS", "/Hotels");
+	}
+
+	@Test
+	public void suffixPatternCandidates() {
+		add("/hotels", "/hotels.json", "/hotels/list");
+
+		assertCandidates("/hotels.json", "/hotels", "/hotels.json");
+		assertCandidates("/hotels.xml", "/hotels");
+		assertCandidates("/hotels/list.json", "/hotels/list");
+		assertCandidates("/hotels.json/list");
+	}
+
+	@Test
+	public void remove() {
+		add("/hotels", "/hotels/*", "/hotels/**");
+		this.trie.add("/hotels", "other");
+
+		this.trie.remove("/hotels", "/hotels");
+		this.trie.remove("/hotels/**", "/hotels/**");
+		this.trie.remove("/cars/*", "/hotels/*");
+
+		assertEquals(new HashSet<>(Arrays.asList("/hotels/*", "other")), this.trie.getCandidates("/hotels"));
+		assertEquals(Collections.singleton("/hotels/*"), this.trie.getCandidates("/hotels/1"));
+	}
+
+	@Test
+	public void pathContainerCandidates() {
+		add("/hotels/{hotel}", "/hotels/{*path}", "/flights");
+
+		Set<String> candidates = this.trie.getCandidates(PathContainer.parsePath("/hotels/1;a=b"));
+		assertEquals(new HashSet<>(Arrays.asList("/hotels/{hotel}", "/hotels/{*path}")), candidates);
+		assertEquals(Collections.singleton("/flights"), this.trie.getCandidates(PathContainer.parsePath("/flights/")));
+	}
+
+
+	private void add(String... patterns) {
+		for (String pattern : patterns) {
+			this.trie.add(pattern, pattern);
+		}
+	}
+
+	private void assertCandidates(String path, String... expected) {
+		assertEquals(new HashSet<>(Arrays.asList(expected)), this.trie.getCandidates(path));
+	}
+
+}
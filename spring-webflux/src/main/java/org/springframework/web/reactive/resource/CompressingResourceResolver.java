@@ -0,0 +1,431 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Resolver that delegates to the chain, and if a resource is found that has
+ * one of the configured {@link #setExtensions extensions} and the client
+ * accepts the "gzip" content coding, returns a variant of the resource that is
+ * gzip-compressed on first access.
+ *
+ * <p>Unlike {@link EncodedResourceResolver}, this does not require compressed
+ * files next to the original ones. Compressed content is kept in direct
+ * (off-heap) buffers, with the least recently used content being evicted once
+ * the configured {@link #setCacheSize cache size} is exceeded. Resources that
+ * are larger than the cache size are not compressed at all. Content is
+ * compressed again when the last-modified timestamp of the original resource
+ * changes. Compressed resources are served with an ETag that differs from the
+ * one of the original resource.
+ *
+ * <p>Note that this resolver must be ordered ahead of a
+ * {@link VersionResourceResolver} with a content-based, version strategy to
+ * ensure the version calculation is not impacted by the encoding, and ahead
+ * of an {@link EncodedResourceResolver}, so that compressed files that are
+ * present are used as they are.
+ *
+ * @since 5.1
+ */
+public class CompressingResourceResolver extends AbstractResourceResolver {
+
+	/**
+	 * The default maximum number of bytes of compressed content to cache.
+	 */
+	public static final long DEFAULT_CACHE_SIZE = 10 * 1024 * 1024;
+
+	private static final String CODING = "gzip";
+
+
+	private final Set<String> extensions = new LinkedHashSet<>(Arrays.asList("css", "js", "json"));
+
+	private long cacheSize = DEFAULT_CACHE_SIZE;
+
+	private final Map<String, CompressedContent> cache = new LinkedHashMap<>(64, 0.75f, true);
+
+	private long cachedBytes;
+
+
+	/**
+	 * Configure the file extensions of resources to compress.
+	 * <p>By default this is {@literal ["css", "js", "json"]}.
+	 * @param extensions the extensions, without leading dot
+	 */
+	public void setExtensions(Collection<String> extensions) {
+		Assert.notNull(extensions, "Extensions must not be null");
+		this.extensions.clear();
+		extensions.forEach(extension -> this.extensions.add(extension.toLowerCase()));
+	}
+
+	/**
+	 * Return a read-only set with the extensions of resources to compress.
+	 */
+	public Set<String> getExtensions() {
+		return Collections.unmodifiableSet(this.extensions);
+	}
+
+	/**
+	 * Set the maximum number of bytes of compressed content to keep in memory.
+	 * Resources with a larger content length are served uncompressed.
+	 * <p>By default this is {@value #DEFAULT_CACHE_SIZE} bytes.
+	 */
+	public void setCacheSize(long cacheSize) {
+		Assert.isTrue(cacheSize >= 0, "Cache size must not be negative");
+		synchronized (this.cache) {
+			this.cacheSize = cacheSize;
+			evict();
+		}
+	}
+
+	/**
+	 * Return the maximum number of bytes of compressed content to keep in memory.
+	 */
+	public long getCacheSize() {
+		return this.cacheSize;
+	}
+
+
+	@Override
+	protected Mono<Resource> resolveResourceInternal(@Nullable ServerWebExchange exchange,
+			String requestPath, List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		return chain.resolveResource(exchange, requestPath, locations).flatMap(resource -> {
+			if (exchange == null || !acceptsGzip(exchange) || !isCompressible(resource)) {
+				return Mono.just(resource);
+			}
+			try {
+				CompressedContent content = getCachedContent(resource);
+				if (content != null) {
+					return Mono.just(new CompressedResource(resource, content));
+				}
+			}
+			catch (IOException ex) {
+				logger.trace("Failed to look up compressed content for [" + resource.getFilename() + "]", ex);
+				return Mono.just(resource);
+			}
+			// Reading and compressing the resource is blocking
+			return Mono.fromCallable(() -> compressResource(resource)).subscribeOn(Schedulers.elastic());
+		});
+	}
+
+	private boolean acceptsGzip(ServerWebExchange exchange) {
+		return acceptsGzip(exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+	}
+
+	/**
+	 * Whether the given {@code Accept-Encoding} header value accepts gzip, i.e.
+	 * lists gzip (or its "x-gzip" alias) or the "*" wildcard without excluding
+	 * it through {@code q=0}.
+	 */
+	private static boolean acceptsGzip(@Nullable String header) {
+		if (header == null) {
+			return false;
+		}
+		boolean acceptsAny = false;
+		for (String coding : StringUtils.tokenizeToStringArray(header, ",")) {
+			int paramsIndex = coding.indexOf(';');
+			String name = (paramsIndex != -1 ? coding.substring(0, paramsIndex).trim() : coding);
+			if (CODING.equalsIgnoreCase(name) || ("x-" + CODING).equalsIgnoreCase(name)) {
+				return hasNonZeroQuality(coding, paramsIndex);
+			}
+			else if ("*".equals(name)) {
+				acceptsAny = hasNonZeroQuality(coding, paramsIndex);
+			}
+		}
+		return acceptsAny;
+	}
+
+	private static boolean hasNonZeroQuality(String coding, int paramsIndex) {
+		if (paramsIndex == -1) {
+			return true;
+		}
+		for (String param : StringUtils.tokenizeToStringArray(coding.substring(paramsIndex + 1), ";")) {
+			int index = param.indexOf('=');
+			if (index != -1 && "q".equalsIgnoreCase(param.substring(0, index).trim())) {
+				try {
+					return (Double.parseDouble(param.substring(index + 1).trim()) > 0);
+				}
+				catch (NumberFormatException ex) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean isCompressible(Resource resource) {
+		if (resource instanceof HttpResource &&
+				((HttpResource) resource).getResponseHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+			return false;
+		}
+		String extension = StringUtils.getFilenameExtension(resource.getFilename());
+		return (extension != null && this.extensions.contains(extension.toLowerCase()));
+	}
+
+	@Override
+	protected Mono<String> resolveUrlPathInternal(String resourceUrlPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		return chain.resolveUrlPath(resourceUrlPath, locations);
+	}
+
+
+	/**
+	 * Return a compressed variant of the given resource, or the resource
+	 * itself if it is larger than the cache size or cannot be compressed.
+	 */
+	private Resource compressResource(Resource resource) {
+		try {
+			if (resource.contentLength() > this.cacheSize) {
+				return resource;
+			}
+			return new CompressedResource(resource, getCompressedContent(resource));
+		}
+		catch (IOException ex) {
+			logger.trace("Failed to compress [" + resource.getFilename() + "]", ex);
+			return resource;
+		}
+	}
+
+	/**
+	 * Return the compressed content of the given resource from the cache,
+	 * or {@code null} if it is not present or not up-to-date.
+	 */
+	@Nullable
+	CompressedContent getCachedContent(Resource resource) throws IOException {
+		String key = resource.getURL().toExternalForm();
+		long lastModified = resource.lastModified();
+		CompressedContent content;
+		synchronized (this.cache) {
+			content = this.cache.get(key);
+		}
+		return (content != null && content.lastModified == lastModified ? content : null);
+	}
+
+	/**
+	 * Return the compressed content of the given resource, from the cache
+	 * if it is present and up-to-date, or compressing it otherwise.
+	 */
+	CompressedContent getCompressedContent(Resource resource) throws IOException {
+		CompressedContent content = getCachedContent(resource);
+		if (content == null) {
+			content = compress(resource, resource.lastModified());
+			if (content.size() <= this.cacheSize) {
+				String key = resource.getURL().toExternalForm();
+				synchronized (this.cache) {
+					CompressedContent previous = this.cache.put(key, content);
+					if (previous != null) {
+						this.cachedBytes -= previous.size();
+					}
+					this.cachedBytes += content.size();
+					evict();
+				}
+			}
+		}
+		return content;
+	}
+
+	private void evict() {
+		Iterator<CompressedContent> iterator = this.cache.values().iterator();
+		while (this.cachedBytes > this.cacheSize && iterator.hasNext()) {
+			this.cachedBytes -= iterator.next().size();
+			iterator.remove();
+		}
+	}
+
+	private CompressedContent compress(Resource resource, long lastModified) throws IOException {
+		byte[] original;
+		try (InputStream in = resource.getInputStream()) {
+			original = StreamUtils.copyToByteArray(in);
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream(original.length / 4 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(original);
+		}
+		byte[] compressed = out.toByteArray();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(compressed.length);
+		buffer.put(compressed);
+		((Buffer) buffer).flip();
+		return new CompressedContent(buffer, lastModified, getETag(resource, original));
+	}
+
+	private static String getETag(Resource resource, byte[] original) {
+		String eTag = null;
+		if (resource instanceof HttpResource) {
+			eTag = ((HttpResource) resource).getResponseHeaders().getETag();
+		}
+		if (eTag == null || !eTag.endsWith("\"")) {
+			eTag = "\"" + DigestUtils.md5DigestAsHex(original) + "\"";
+		}
+		return eTag.substring(0, eTag.length() - 1) + "-" + CODING + "\"";
+	}
+
+
+	/**
+	 * Compressed content along with the last-modified timestamp and the ETag
+	 * of the original resource it was created from.
+	 */
+	static final class CompressedContent {
+
+		private final ByteBuffer buffer;
+
+		private final long lastModified;
+
+		private final String eTag;
+
+		CompressedContent(ByteBuffer buffer, long lastModified, String eTag) {
+			this.buffer = buffer;
+			this.lastModified = lastModified;
+			this.eTag = eTag;
+		}
+
+		int size() {
+			return this.buffer.remaining();
+		}
+
+		ReadableByteChannel readableChannel() {
+			ByteBuffer buffer = this.buffer.duplicate();
+			return new ReadableByteChannel() {
+				private boolean open = true;
+				@Override
+				public int read(ByteBuffer dst) {
+					if (!buffer.hasRemaining()) {
+						return -1;
+					}
+					int length = Math.min(dst.remaining(), buffer.remaining());
+					ByteBuffer part = buffer.duplicate();
+					((Buffer) part).limit(part.position() + length);
+					dst.put(part);
+					((Buffer) buffer).position(buffer.position() + length);
+					return length;
+				}
+				@Override
+				public boolean isOpen() {
+					return this.open;
+				}
+				@Override
+				public void close() {
+					this.open = false;
+				}
+			};
+		}
+	}
+
+
+	/**
+	 * Gzip-compressed variant of a resource. Holds on to the content it was
+	 * resolved with, so that the content, its length and its ETag always match,
+	 * even if the content has since been evicted or compressed again.
+	 */
+	static final class CompressedResource extends AbstractResource implements HttpResource {
+
+		private final Resource original;
+
+		private final CompressedContent content;
+
+		CompressedResource(Resource original, CompressedContent content) {
+			this.original = original;
+			this.content = content;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return Channels.newInputStream(readableChannel());
+		}
+
+		@Override
+		public ReadableByteChannel readableChannel() throws IOException {
+			return this.content.readableChannel();
+		}
+
+		@Override
+		public boolean exists() {
+			return this.original.exists();
+		}
+
+		@Override
+		public long contentLength() {
+			return this.content.size();
+		}
+
+		@Override
+		public long lastModified() {
+			return this.content.lastModified;
+		}
+
+		@Override
+		public Resource createRelative(String relativePath) throws IOException {
+			return this.original.createRelative(relativePath);
+		}
+
+		@Override
+		@Nullable
+		public String getFilename() {
+			return this.original.getFilename();
+		}
+
+		@Override
+		public String getDescription() {
+			return "Gzip-compressed " + this.original.getDescription();
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			HttpHeaders headers;
+			if (this.original instanceof HttpResource) {
+				headers = ((HttpResource) this.original).getResponseHeaders();
+			}
+			else {
+				headers = new HttpHeaders();
+			}
+			headers.add(HttpHeaders.CONTENT_ENCODING, CODING);
+			headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			headers.setETag(this.content.eTag);
+			return headers;
+		}
+	}
+
+}
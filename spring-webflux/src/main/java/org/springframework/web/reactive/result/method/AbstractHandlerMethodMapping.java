@@ -34,6 +34,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -43,6 +44,7 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.reactive.handler.AbstractHandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.PathPatternTrie;
 
 /**
  * Abstract base class for {@link HandlerMapping} implementations that define
@@ -298,7 +300,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	@Nullable
 	protected HandlerMethod lookupHandlerMethod(ServerWebExchange exchange) throws Exception {
 		List<Match> matches = new ArrayList<>();
-		addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, exchange);
+		PathContainer lookupPath = exchange.getRequest().getPath().pathWithinApplication();
+		addMatchingMappings(this.mappingRegistry.getMappingsByPattern(lookupPath), matches, exchange);
 
 		if (!matches.isEmpty()) {
 			Comparator<Match> comparator = new MatchComparator(getMappingComparator(exchange));
@@ -403,6 +406,20 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	@Nullable
 	protected abstract T getMatchingMapping(T mapping, ServerWebExchange exchange);
 
+	/**
+	 * Extract and return the URL patterns contained in a mapping, used to narrow
+	 * down the mappings to check for a given request path.
+	 * <p>The default implementation returns an empty set, indicating that the
+	 * mapping may match any path.
+	 * @param mapping the mapping to extract the URL patterns from
+	 * @return the URL patterns, as supported by
+	 * {@link org.springframework.web.util.pattern.PathPattern}
+	 * @since 5.1
+	 */
+	protected Set<String> getMappingPathPatterns(T mapping) {
+		return Collections.emptySet();
+	}
+
 	/**
 	 * Return a comparator for sorting matching mappings.
 	 * The returned comparator should sort 'better' matches higher.
@@ -424,6 +441,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final Map<T, HandlerMethod> mappingLookup = new LinkedHashMap<>();
 
+		private final PathPatternTrie<T> patternLookup = new PathPatternTrie<>();
+
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
 
 		private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
@@ -436,6 +455,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.mappingLookup;
 		}
 
+		/**
+		 * Return the mappings that may match the given path, narrowed down
+		 * by the segments of their URL patterns. Not thread-safe.
+		 * @since 5.1
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPattern(PathContainer path) {
+			return this.patternLookup.getCandidates(path);
+		}
+
 		/**
 		 * Return CORS configuration. Thread-safe for concurrent use.
 		 */
@@ -469,6 +498,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				}
 				this.mappingLookup.put(mapping, handlerMethod);
 
+				for (String pattern : getLookupPatterns(mapping)) {
+					this.patternLookup.add(pattern, mapping);
+				}
+
 				CorsConfiguration corsConfig = initCorsConfiguration(handler, method, mapping);
 				if (corsConfig != null) {
 					this.corsLookup.put(handlerMethod, corsConfig);
@@ -491,6 +524,12 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			}
 		}
 
+		private Set<String> getLookupPatterns(T mapping) {
+			Set<String> patterns = getMappingPathPatterns(mapping);
+			// A mapping without URL patterns matches any path
+			return (patterns.isEmpty() ? Collections.singleton("/**") : patterns);
+		}
+
 		public void unregister(T mapping) {
 			this.readWriteLock.writeLock().lock();
 			try {
@@ -500,6 +539,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				}
 
 				this.mappingLookup.remove(definition.getMapping());
+
+				for (String pattern : getLookupPatterns(definition.getMapping())) {
+					this.patternLookup.remove(pattern, definition.getMapping());
+				}
+
 				this.corsLookup.remove(definition.getHandlerMethod());
 			}
 			finally {
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.result.method;
+
+import java.lang.reflect.Executable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Resolves method parameters by delegating to a list of registered
+ * {@link HandlerMethodArgumentResolver}s. Previously resolved method parameters
+ * are cached for faster lookups.
+ *
+ * <p>A single instance is meant to be shared between all
+ * {@link InvocableHandlerMethod}s created for the same kind of method
+ * (e.g. request mapping methods), so that resolver lookups are performed
+ * once per handler method rather than once per request.
+ *
+ * @since 5.1
+ */
+public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgumentResolver {
+
+	private final List<HandlerMethodArgumentResolver> argumentResolvers = new ArrayList<>();
+
+	private final Map<MethodParameter, HandlerMethodArgumentResolver> argumentResolverCache =
+			new ConcurrentHashMap<>(256);
+
+	private final Map<MethodParametersKey, HandlerMethodArgumentResolver[]> argumentResolversCache =
+			new ConcurrentHashMap<>(256);
+
+
+	/**
+	 * Add the given {@link HandlerMethodArgumentResolver}.
+	 */
+	public HandlerMethodArgumentResolverComposite addResolver(HandlerMethodArgumentResolver resolver) {
+		this.argumentResolvers.add(resolver);
+		this.argumentResolversCache.clear();
+		return this;
+	}
+
+	/**
+	 * Add the given {@link HandlerMethodArgumentResolver}s.
+	 */
+	public HandlerMethodArgumentResolverComposite addResolvers(
+			@Nullable List<? extends HandlerMethodArgumentResolver> resolvers) {
+
+		if (resolvers != null) {
+			this.argumentResolvers.addAll(resolvers);
+			this.argumentResolversCache.clear();
+		}
+		return this;
+	}
+
+	/**
+	 * Return a read-only list with the contained resolvers, or an empty list.
+	 */
+	public List<HandlerMethodArgumentResolver> getResolvers() {
+		return Collections.unmodifiableList(this.argumentResolvers);
+	}
+
+	/**
+	 * Clear the list of configured resolvers.
+	 */
+	public void clear() {
+		this.argumentResolvers.clear();
+		this.argumentResolversCache.clear();
+	}
+
+
+	/**
+	 * Whether the given {@linkplain MethodParameter method parameter} is
+	 * supported by any registered {@link HandlerMethodArgumentResolver}.
+	 */
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		return (getArgumentResolver(parameter) != null);
+	}
+
+	/**
+	 * Iterate over registered {@link HandlerMethodArgumentResolver}s and
+	 * invoke the one that supports it.
+	 * @throws IllegalArgumentException if no suitable argument resolver is found
+	 */
+	@Override
+	public Mono<Object> resolveArgument(
+			MethodParameter parameter, BindingContext bindingContext, ServerWebExchange exchange) {
+
+		HandlerMethodArgumentResolver resolver = getArgumentResolver(parameter);
+		if (resolver == null) {
+			throw new IllegalArgumentException(
+					"Unknown parameter type [" + parameter.getParameterType().getName() + "]");
+		}
+		return resolver.resolveArgument(parameter, bindingContext, exchange);
+	}
+
+	/**
+	 * Find the registered {@link HandlerMethodArgumentResolver}s for the given
+	 * method parameters, with a {@code null} entry for each parameter that is
+	 * not supported by any resolver.
+	 * <p>The result is cached per method and containing class rather than per
+	 * parameter array, so that it is reused for every
+	 * {@link org.springframework.web.method.HandlerMethod} created for the same
+	 * method, including those created per request for {@code @ModelAttribute},
+	 * {@code @InitBinder} and {@code @ExceptionHandler} methods.
+	 * @param parameters all parameters of a single method, as returned by
+	 * {@link org.springframework.web.method.HandlerMethod#getMethodParameters()}
+	 */
+	HandlerMethodArgumentResolver[] getArgumentResolvers(MethodParameter[] parameters) {
+		if (parameters.length == 0) {
+			return new HandlerMethodArgumentResolver[0];
+		}
+		MethodParametersKey key = new MethodParametersKey(parameters[0]);
+		HandlerMethodArgumentResolver[] result = this.argumentResolversCache.get(key);
+		if (result == null) {
+			result = new HandlerMethodArgumentResolver[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				result[i] = getArgumentResolver(parameters[i]);
+			}
+			this.argumentResolversCache.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Find a registered {@link HandlerMethodArgumentResolver} that supports
+	 * the given method parameter.
+	 */
+	@Nullable
+	private HandlerMethodArgumentResolver getArgumentResolver(MethodParameter parameter) {
+		HandlerMethodArgumentResolver result = this.argumentResolverCache.get(parameter);
+		if (result == null) {
+			for (HandlerMethodArgumentResolver resolver : this.argumentResolvers) {
+				if (resolver.supportsParameter(parameter)) {
+					result = resolver;
+					this.argumentResolverCache.put(parameter, result);
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+
+	/**
+	 * Cache key for the parameters of a method: stable across the separate
+	 * {@code MethodParameter} arrays of each {@code HandlerMethod} instance.
+	 */
+	private static final class MethodParametersKey {
+
+		private final Executable executable;
+
+		private final Class<?> containingClass;
+
+		public MethodParametersKey(MethodParameter parameter) {
+			this.executable = parameter.getExecutable();
+			this.containingClass = parameter.getContainingClass();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof MethodParametersKey)) {
+				return false;
+			}
+			MethodParametersKey otherKey = (MethodParametersKey) other;
+			return (this.executable.equals(otherKey.executable) &&
+					this.containingClass == otherKey.containingClass);
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.executable.hashCode() * 31 + this.containingClass.hashCode());
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,10 +23,8 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 import reactor.core.publisher.Mono;
 
@@ -40,7 +38,6 @@ import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.reactive.BindingContext;
 import org.springframework.web.reactive.HandlerResult;
@@ -62,7 +59,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	private static final Object NO_ARG_VALUE = new Object();
 
 
-	private List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>();
+	private HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite();
 
 	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
@@ -83,15 +80,29 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 * argument values against a {@code ServerWebExchange}.
 	 */
 	public void setArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
-		this.resolvers.clear();
-		this.resolvers.addAll(resolvers);
+		this.resolvers = new HandlerMethodArgumentResolverComposite();
+		this.resolvers.addResolvers(resolvers);
 	}
 
 	/**
-	 * Return the configured argument resolvers.
+	 * Configure a shared {@link HandlerMethodArgumentResolverComposite} to use
+	 * for resolving method argument values, as an alternative to
+	 * {@link #setArgumentResolvers}. Sharing an instance across handler method
+	 * invocations allows for reusing previously determined resolvers.
+	 * @since 5.1
+	 */
+	public void setHandlerMethodArgumentResolvers(HandlerMethodArgumentResolverComposite resolvers) {
+		this.resolvers = resolvers;
+	}
+
+	/**
+	 * Return the configured argument resolvers, as a read-only list.
+	 * <p>As of 5.1, use {@link #setArgumentResolvers} rather than modifying
+	 * the returned list, since resolvers may be shared with other handler
+	 * methods through a {@link HandlerMethodArgumentResolverComposite}.
 	 */
 	public List<HandlerMethodArgumentResolver> getResolvers() {
-		return this.resolvers;
+		return this.resolvers.getResolvers();
 	}
 
 	/**
@@ -165,46 +176,53 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	private Mono<Object[]> resolveArguments(ServerWebExchange exchange, BindingContext bindingContext,
 			Object... providedArgs) {
 
-		if (ObjectUtils.isEmpty(getMethodParameters())) {
+		MethodParameter[] parameters = getMethodParameters();
+		if (ObjectUtils.isEmpty(parameters)) {
 			return EMPTY_ARGS;
 		}
 		try {
-			List<Mono<Object>> argMonos = Stream.of(getMethodParameters())
-					.map(param -> {
-						param.initParameterNameDiscovery(this.parameterNameDiscoverer);
-						return findProvidedArgument(param, providedArgs)
-								.map(Mono::just)
-								.orElseGet(() -> {
-									HandlerMethodArgumentResolver resolver = findResolver(param);
-									return resolveArg(resolver, param, bindingContext, exchange);
-								});
-
-					})
-					.collect(Collectors.toList());
+			HandlerMethodArgumentResolver[] argumentResolvers = this.resolvers.getArgumentResolvers(parameters);
+			List<Mono<Object>> argMonos = new ArrayList<>(parameters.length);
+			for (int i = 0; i < parameters.length; i++) {
+				MethodParameter parameter = parameters[i];
+				parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
+				Object providedArg = findProvidedArgument(parameter, providedArgs);
+				if (providedArg != null) {
+					argMonos.add(Mono.just(providedArg));
+					continue;
+				}
+				HandlerMethodArgumentResolver resolver = argumentResolvers[i];
+				if (resolver == null) {
+					throw getArgumentError("No suitable resolver for", parameter, null);
+				}
+				argMonos.add(resolveArg(resolver, parameter, bindingContext, exchange));
+			}
 
 			// Create Mono with array of resolved values...
-			return Mono.zip(argMonos, argValues ->
-					Stream.of(argValues).map(o -> o != NO_ARG_VALUE ? o : null).toArray());
+			return Mono.zip(argMonos, argValues -> {
+				for (int i = 0; i < argValues.length; i++) {
+					if (argValues[i] == NO_ARG_VALUE) {
+						argValues[i] = null;
+					}
+				}
+				return argValues;
+			});
 		}
 		catch (Throwable ex) {
 			return Mono.error(ex);
 		}
 	}
 
-	private Optional<Object> findProvidedArgument(MethodParameter parameter, Object... providedArgs) {
-		if (ObjectUtils.isEmpty(providedArgs)) {
-			return Optional.empty();
+	@Nullable
+	private Object findProvidedArgument(MethodParameter parameter, Object... providedArgs) {
+		if (!ObjectUtils.isEmpty(providedArgs)) {
+			for (Object providedArg : providedArgs) {
+				if (parameter.getParameterType().isInstance(providedArg)) {
+					return providedArg;
+				}
+			}
 		}
-		return Arrays.stream(providedArgs)
-				.filter(arg -> parameter.getParameterType().isInstance(arg))
-				.findFirst();
-	}
-
-	private HandlerMethodArgumentResolver findResolver(MethodParameter param) {
-		return this.resolvers.stream()
-				.filter(r -> r.supportsParameter(param))
-				.findFirst()
-				.orElseThrow(() -> getArgumentError("No suitable resolver for", param, null));
+		return null;
 	}
 
 	private Mono<Object> resolveArg(HandlerMethodArgumentResolver resolver, MethodParameter parameter,
@@ -239,8 +257,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			logger.trace("Invoking '" + ClassUtils.getQualifiedMethodName(getMethod(), getBeanType()) +
 					"' with arguments " + Arrays.toString(args));
 		}
-		ReflectionUtils.makeAccessible(getBridgedMethod());
-		Object returnValue = getBridgedMethod().invoke(getBean(), args);
+		Object returnValue = getMethodAccessor().invoke(getBean(), args);
 		if (logger.isTraceEnabled()) {
 			logger.trace("Method [" + ClassUtils.getQualifiedMethodName(getMethod(), getBeanType()) +
 					"] returned [" + returnValue + "]");
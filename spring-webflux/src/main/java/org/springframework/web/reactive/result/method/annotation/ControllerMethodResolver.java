@@ -46,6 +46,7 @@ import org.springframework.web.method.ControllerAdviceBean;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
 import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolverComposite;
 import org.springframework.web.reactive.result.method.InvocableHandlerMethod;
 import org.springframework.web.reactive.result.method.SyncHandlerMethodArgumentResolver;
 import org.springframework.web.reactive.result.method.SyncInvocableHandlerMethod;
@@ -73,11 +74,11 @@ class ControllerMethodResolver {
 
 	private final List<SyncHandlerMethodArgumentResolver> initBinderResolvers;
 
-	private final List<HandlerMethodArgumentResolver> modelAttributeResolvers;
+	private final HandlerMethodArgumentResolverComposite modelAttributeResolvers;
 
-	private final List<HandlerMethodArgumentResolver> requestMappingResolvers;
+	private final HandlerMethodArgumentResolverComposite requestMappingResolvers;
 
-	private final List<HandlerMethodArgumentResolver> exceptionHandlerResolvers;
+	private final HandlerMethodArgumentResolverComposite exceptionHandlerResolvers;
 
 	private final ReactiveAdapterRegistry reactiveAdapterRegistry;
 
@@ -108,9 +109,12 @@ class ControllerMethodResolver {
 		Assert.notNull(context, "ApplicationContext is required");
 
 		this.initBinderResolvers = initBinderResolvers(customResolvers, reactiveRegistry, context);
-		this.modelAttributeResolvers = modelMethodResolvers(customResolvers, reactiveRegistry, context);
-		this.requestMappingResolvers = requestMappingResolvers(customResolvers, reactiveRegistry, context, readers);
-		this.exceptionHandlerResolvers = exceptionHandlerResolvers(customResolvers, reactiveRegistry, context);
+		this.modelAttributeResolvers = new HandlerMethodArgumentResolverComposite().addResolvers(
+				modelMethodResolvers(customResolvers, reactiveRegistry, context));
+		this.requestMappingResolvers = new HandlerMethodArgumentResolverComposite().addResolvers(
+				requestMappingResolvers(customResolvers, reactiveRegistry, context, readers));
+		this.exceptionHandlerResolvers = new HandlerMethodArgumentResolverComposite().addResolvers(
+				exceptionHandlerResolvers(customResolvers, reactiveRegistry, context));
 		this.reactiveAdapterRegistry = reactiveRegistry;
 
 		initControllerAdviceCaches(context);
@@ -247,7 +251,7 @@ class ControllerMethodResolver {
 	 */
 	public InvocableHandlerMethod getRequestMappingMethod(HandlerMethod handlerMethod) {
 		InvocableHandlerMethod invocable = new InvocableHandlerMethod(handlerMethod);
-		invocable.setArgumentResolvers(this.requestMappingResolvers);
+		invocable.setHandlerMethodArgumentResolvers(this.requestMappingResolvers);
 		invocable.setReactiveAdapterRegistry(this.reactiveAdapterRegistry);
 		return invocable;
 	}
@@ -312,7 +316,7 @@ class ControllerMethodResolver {
 
 	private InvocableHandlerMethod createAttributeMethod(Object bean, Method method) {
 		InvocableHandlerMethod invocable = new InvocableHandlerMethod(bean, method);
-		invocable.setArgumentResolvers(this.modelAttributeResolvers);
+		invocable.setHandlerMethodArgumentResolvers(this.modelAttributeResolvers);
 		return invocable;
 	}
 
@@ -349,7 +353,7 @@ class ControllerMethodResolver {
 		}
 
 		InvocableHandlerMethod invocable = new InvocableHandlerMethod(targetBean, targetMethod);
-		invocable.setArgumentResolvers(this.exceptionHandlerResolvers);
+		invocable.setHandlerMethodArgumentResolvers(this.exceptionHandlerResolvers);
 		return invocable;
 	}
 
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.result.method;
+
+import java.lang.reflect.Method;
+
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link HandlerMethodArgumentResolverComposite}.
+ */
+public class HandlerMethodArgumentResolverCompositeTests {
+
+	private final HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite();
+
+	private MethodParameter paramInt;
+
+	private MethodParameter paramStr;
+
+
+	@Before
+	public void setup() throws Exception {
+		Method method = getClass().getDeclaredMethod("handle", Integer.class, String.class);
+		this.paramInt = new MethodParameter(method, 0);
+		this.paramStr = new MethodParameter(method, 1);
+	}
+
+
+	@Test
+	public void supportsParameter() {
+		this.resolvers.addResolver(new StubArgumentResolver(Integer.class, 1));
+
+		assertTrue(this.resolvers.supportsParameter(this.paramInt));
+		assertFalse(this.resolvers.supportsParameter(this.paramStr));
+	}
+
+	@Test
+	public void resolveArgument() {
+		this.resolvers.addResolver(new StubArgumentResolver(Integer.class, 1));
+		this.resolvers.addResolver(new StubArgumentResolver(Integer.class, 2));
+
+		assertEquals(1, this.resolvers.resolveArgument(this.paramInt, new BindingContext(), null).block());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void noSuitableArgumentResolver() {
+		this.resolvers.resolveArgument(this.paramStr, new BindingContext(), null);
+	}
+
+	@Test
+	public void getArgumentResolvers() {
+		StubArgumentResolver intResolver = new StubArgumentResolver(Integer.class, 1);
+		this.resolvers.addResolver(intResolver);
+		MethodParameter[] parameters = new MethodParameter[] {this.paramInt, this.paramStr};
+
+		HandlerMethodArgumentResolver[] result = this.resolvers.getArgumentResolvers(parameters);
+		assertSame(intResolver, result[0]);
+		assertNull(result[1]);
+		assertSame(result, this.resolvers.getArgumentResolvers(parameters));
+		assertSame(result, this.resolvers.getArgumentResolvers(new MethodParameter[] {
+				new MethodParameter(this.paramInt), new MethodParameter(this.paramStr)}));
+
+		StubArgumentResolver stringResolver = new StubArgumentResolver(String.class, "value");
+		this.resolvers.addResolver(stringResolver);
+		result = this.resolvers.getArgumentResolvers(parameters);
+		assertSame(intResolver, result[0]);
+		assertSame(stringResolver, result[1]);
+	}
+
+
+	@SuppressWarnings("unused")
+	private void handle(Integer arg1, String arg2) {
+	}
+
+
+	private static class StubArgumentResolver implements HandlerMethodArgumentResolver {
+
+		private final Class<?> parameterType;
+
+		private final Object value;
+
+		StubArgumentResolver(Class<?> parameterType, Object value) {
+			this.parameterType = parameterType;
+			this.value = value;
+		}
+
+		@Override
+		public boolean supportsParameter(MethodParameter parameter) {
+			return parameter.getParameterType().equals(this.parameterType);
+		}
+
+		@Override
+		public Mono<Object> resolveArgument(
+				MethodParameter parameter, BindingContext bindingContext, ServerWebExchange exchange) {
+
+			return Mono.just(this.value);
+		}
+	}
+
+}
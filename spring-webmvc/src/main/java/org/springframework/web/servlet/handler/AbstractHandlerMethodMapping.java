@@ -36,14 +36,17 @@ import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
 import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.PathPatternTrie;
 
 /**
  * Abstract base class for {@link HandlerMapping} implementations that define
@@ -346,8 +349,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			// Go through all mappings that may match the lookup path...
+			addMatchingMappings(this.mappingRegistry.getMappingsByPattern(lookupPath), matches, request);
 		}
 
 		if (!matches.isEmpty()) {
@@ -485,6 +488,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		private final PathPatternTrie<T> patternLookup = new PathPatternTrie<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -508,6 +513,20 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings that may match the given URL path, narrowed down
+		 * by the segments of their URL patterns when using the default
+		 * {@link AntPathMatcher}, or all mappings otherwise. Not thread-safe.
+		 * @since 5.1
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPattern(String urlPath) {
+			if (isPatternLookupSupported()) {
+				return this.patternLookup.getCandidates(urlPath);
+			}
+			return this.mappingLookup.keySet();
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -553,6 +572,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.urlLookup.add(url, mapping);
 				}
 
+				for (String pattern : getLookupPatterns(mapping)) {
+					this.patternLookup.add(pattern, mapping);
+				}
+
 				String name = null;
 				if (getNamingStrategy() != null) {
 					name = getNamingStrategy().getName(handlerMethod, mapping);
@@ -591,6 +614,25 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return urls;
 		}
 
+		private Set<String> getLookupPatterns(T mapping) {
+			Set<String> patterns = getMappingPathPatterns(mapping);
+			// A mapping without URL patterns matches any path
+			return (patterns.isEmpty() ? Collections.singleton("/**") : patterns);
+		}
+
+		private boolean isPatternLookupSupported() {
+			// Custom PathMatcher implementations may not follow the Ant-style path segment semantics,
+			// and neither does an AntPathMatcher with a custom path separator or trimmed tokens.
+			// Case-insensitive matching is fine since the trie compares literals case-insensitively.
+			PathMatcher pathMatcher = getPathMatcher();
+			if (pathMatcher.getClass() != AntPathMatcher.class) {
+				return false;
+			}
+			AntPathMatcher antPathMatcher = (AntPathMatcher) pathMatcher;
+			return (AntPathMatcher.DEFAULT_PATH_SEPARATOR.equals(antPathMatcher.getPathSeparator()) &&
+					!antPathMatcher.isTrimTokens());
+		}
+
 		private void addMappingName(String name, HandlerMethod handlerMethod) {
 			List<HandlerMethod> oldList = this.nameLookup.get(name);
 			if (oldList == null) {
@@ -640,6 +682,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				for (String pattern : getLookupPatterns(definition.getMapping())) {
+					this.patternLookup.remove(pattern, definition.getMapping());
+				}
+
 				removeMappingName(definition);
 
 				this.corsLookup.remove(definition.getHandlerMethod());
@@ -33,6 +33,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
@@ -120,6 +121,21 @@ public class RequestMappingInfoHandlerMappingTests {
 		assertEquals(this.barMethod.getMethod(), handlerMethod.getMethod());
 	}
 
+	@Test
+	public void getHandlerPatternMatchWithTrimmedTokens() throws Exception {
+		AntPathMatcher pathMatcher = new AntPathMatcher();
+		pathMatcher.setTrimTokens(true);
+		this.handlerMapping.setPathMatcher(pathMatcher);
+		PatternsRequestCondition patterns = new PatternsRequestCondition(new String[] {"/ trimmed/{id}"},
+				this.handlerMapping.getUrlPathHelper(), pathMatcher, true, true);
+		RequestMappingInfo info = new RequestMappingInfo(patterns, null, null, null, null, null, null);
+		this.handlerMapping.registerMapping(info, this.fooMethod.getBean(), this.fooMethod.getMethod());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/trimmed/1");
+		HandlerMethod handlerMethod = getHandler(request);
+		assertEquals(this.fooMethod.getMethod(), handlerMethod.getMethod());
+	}
+
 	@Test
 	public void getHandlerEmptyPathMatch() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest("GET", "");
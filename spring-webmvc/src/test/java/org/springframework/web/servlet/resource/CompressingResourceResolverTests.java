@@ -0,0 +1,173 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.test.MockHttpServletRequest;
+import org.springframework.util.StreamUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CompressingResourceResolver}.
+ */
+public class CompressingResourceResolverTests {
+
+	private CompressingResourceResolver compressingResolver;
+
+	private ResourceResolverChain resolver;
+
+	private List<Resource> locations;
+
+
+	@Before
+	public void setup() {
+		this.compressingResolver = new CompressingResourceResolver();
+
+		List<ResourceResolver> resolvers = new ArrayList<>();
+		resolvers.add(this.compressingResolver);
+		resolvers.add(new PathResourceResolver());
+		this.resolver = new DefaultResourceResolverChain(resolvers);
+
+		this.locations = Collections.singletonList(new ClassPathResource("test/", getClass()));
+	}
+
+
+	@Test
+	public void resolveCompressed() throws IOException {
+		Resource original = getResource("foo.css");
+		Resource resolved = this.resolver.resolveResource(gzipRequest(), "foo.css", this.locations);
+
+		assertTrue(resolved instanceof HttpResource);
+		assertEquals(original.getFilename(), resolved.getFilename());
+		assertEquals(original.lastModified(), resolved.lastModified());
+		assertArrayEquals(StreamUtils.copyToByteArray(original.getInputStream()), decompress(resolved));
+
+		HttpHeaders headers = ((HttpResource) resolved).getResponseHeaders();
+		assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertEquals("Accept-Encoding", headers.getFirst(HttpHeaders.VARY));
+		assertTrue(headers.getETag().endsWith("-gzip\""));
+	}
+
+	@Test
+	public void resolveWithoutAcceptEncoding() {
+		Resource resolved = this.resolver.resolveResource(new MockHttpServletRequest(), "foo.css", this.locations);
+
+		assertEquals(getResource("foo.css"), resolved);
+	}
+
+	@Test
+	public void resolveWithGzipExcludedByQuality() {
+		assertEquals(getResource("foo.css"), this.resolver.resolveResource(
+				gzipRequest("gzip;q=0, deflate"), "foo.css", this.locations));
+		assertEquals(getResource("foo.css"), this.resolver.resolveResource(
+				gzipRequest("deflate, GZIP ; q=0.000"), "foo.css", this.locations));
+		assertEquals(getResource("foo.css"), this.resolver.resolveResource(
+				gzipRequest("*;q=0"), "foo.css", this.locations));
+
+		assertTrue(this.resolver.resolveResource(
+				gzipRequest("deflate, gzip;q=0.5"), "foo.css", this.locations) instanceof HttpResource);
+		assertTrue(this.resolver.resolveResource(
+				gzipRequest("deflate;q=0, *"), "foo.css", this.locations) instanceof HttpResource);
+		assertTrue(this.resolver.resolveResource(
+				gzipRequest("x-gzip"), "foo.css", this.locations) instanceof HttpResource);
+	}
+
+	@Test
+	public void resolveNotCompressibleExtension() {
+		Resource resolved = this.resolver.resolveResource(gzipRequest(), "foo.txt", this.locations);
+
+		assertEquals(getResource("foo.txt"), resolved);
+	}
+
+	@Test
+	public void resolveCustomExtensions() {
+		this.compressingResolver.setExtensions(Collections.singleton("TXT"));
+
+		assertTrue(this.resolver.resolveResource(gzipRequest(), "foo.txt", this.locations) instanceof HttpResource);
+		assertEquals(getResource("foo.css"), this.resolver.resolveResource(gzipRequest(), "foo.css", this.locations));
+	}
+
+	@Test
+	public void contentIsCachedWithinCacheSize() throws IOException {
+		Resource foo = getResource("foo.css");
+		Resource bar = getResource("bar.css");
+		CompressingResourceResolver.CompressedContent fooContent = this.compressingResolver.getCompressedContent(foo);
+		CompressingResourceResolver.CompressedContent barContent = this.compressingResolver.getCompressedContent(bar);
+
+		assertSame(fooContent, this.compressingResolver.getCompressedContent(foo));
+		assertSame(barContent, this.compressingResolver.getCompressedContent(bar));
+
+		this.compressingResolver.setCacheSize(Math.max(fooContent.size(), barContent.size()));
+		assertSame(barContent, this.compressingResolver.getCompressedContent(bar));
+		assertNotSame(fooContent, this.compressingResolver.getCompressedContent(foo));
+	}
+
+	@Test
+	public void resolvedResourceKeepsItsContent() throws IOException {
+		Resource resolved = this.resolver.resolveResource(gzipRequest(), "foo.css", this.locations);
+		long contentLength = resolved.contentLength();
+		String eTag = ((HttpResource) resolved).getResponseHeaders().getETag();
+		this.compressingResolver.setCacheSize(0);
+
+		assertEquals(contentLength, resolved.contentLength());
+		assertEquals(eTag, ((HttpResource) resolved).getResponseHeaders().getETag());
+		assertArrayEquals(StreamUtils.copyToByteArray(getResource("foo.css").getInputStream()), decompress(resolved));
+	}
+
+	@Test
+	public void resourceLargerThanCacheSizeIsNotCompressed() throws IOException {
+		this.compressingResolver.setCacheSize(getResource("foo.css").contentLength() - 1);
+		Resource resolved = this.resolver.resolveResource(gzipRequest(), "foo.css", this.locations);
+
+		assertEquals(getResource("foo.css"), resolved);
+	}
+
+
+	private MockHttpServletRequest gzipRequest() {
+		return gzipRequest("gzip, deflate");
+	}
+
+	private MockHttpServletRequest gzipRequest(String acceptEncoding) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Accept-Encoding", acceptEncoding);
+		return request;
+	}
+
+	private Resource getResource(String filePath) {
+		return new ClassPathResource("test/" + filePath, getClass());
+	}
+
+	private static byte[] decompress(Resource resource) throws IOException {
+		try (InputStream in = new GZIPInputStream(resource.getInputStream())) {
+			return StreamUtils.copyToByteArray(in);
+		}
+	}
+
+}
@@ -77,6 +77,9 @@ public class WebMvcStompEndpointRegistry implements StompEndpointRegistry {
 		if (transportRegistration.getSendBufferSizeLimit() != null) {
 			this.subProtocolWebSocketHandler.setSendBufferSizeLimit(transportRegistration.getSendBufferSizeLimit());
 		}
+		if (transportRegistration.getSendBatchSizeLimit() != null) {
+			this.subProtocolWebSocketHandler.setSendBatchSizeLimit(transportRegistration.getSendBatchSizeLimit());
+		}
 		if (transportRegistration.getTimeToFirstMessage() != null) {
 			this.subProtocolWebSocketHandler.setTimeToFirstMessage(transportRegistration.getTimeToFirstMessage());
 		}
@@ -40,6 +40,9 @@ public class WebSocketTransportRegistration {
 	@Nullable
 	private Integer sendBufferSizeLimit;
 
+	@Nullable
+	private Integer sendBatchSizeLimit;
+
 	@Nullable
 	private Integer timeToFirstMessage;
 
@@ -154,6 +157,32 @@ public class WebSocketTransportRegistration {
 		return this.sendBufferSizeLimit;
 	}
 
+	/**
+	 * Configure the maximum size of a WebSocket message combined from STOMP
+	 * messages that were buffered while a send to the same session was in
+	 * progress, as described for {@link #setSendBufferSizeLimit}.
+	 * <p>Combining buffered messages allows a slow client to receive fewer
+	 * and larger WebSocket messages. It does not delay messages to clients
+	 * that keep up, since only messages that are buffered are combined.
+	 * <p>By default this is 0, i.e. messages are not combined.
+	 * @param sendBatchSizeLimit the maximum number of bytes of a combined
+	 * message; if the value is less than or equal to 0 then messages are
+	 * not combined.
+	 * @since 5.1
+	 */
+	public WebSocketTransportRegistration setSendBatchSizeLimit(int sendBatchSizeLimit) {
+		this.sendBatchSizeLimit = sendBatchSizeLimit;
+		return this;
+	}
+
+	/**
+	 * Protected accessor for internal use.
+	 */
+	@Nullable
+	protected Integer getSendBatchSizeLimit() {
+		return this.sendBatchSizeLimit;
+	}
+
 	/**
 	 * Set the maximum time allowed in milliseconds after the WebSocket
 	 * connection is established and before the first sub-protocol message is
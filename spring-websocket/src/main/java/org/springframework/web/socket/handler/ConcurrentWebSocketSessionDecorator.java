@@ -17,6 +17,10 @@
 package org.springframework.web.socket.handler;
 
 import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -26,7 +30,9 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
@@ -39,6 +45,13 @@ import org.springframework.web.socket.WebSocketSession;
  * At that time, the specified buffer-size limit and send-time limit will be checked
  * and the session will be closed if the limits are exceeded.
  *
+ * <p>Optionally, messages that were buffered while a send was in progress can
+ * be combined into a single message, up to a {@link #getBatchSizeLimit() batch
+ * size limit}, so that a slow client receives fewer and larger messages. This
+ * is only suitable for sub-protocols that allow several protocol messages to
+ * be sent in one WebSocket message, such as STOMP. Only complete text or
+ * binary messages are combined, and only with messages of the same type.
+ *
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
  * @since 4.0.3
@@ -52,6 +65,8 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 
 	private final int bufferSizeLimit;
 
+	private final int batchSizeLimit;
+
 	private final Queue<WebSocketMessage<?>> buffer = new LinkedBlockingQueue<>();
 
 	private final AtomicInteger bufferSize = new AtomicInteger();
@@ -74,9 +89,26 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 	 * @param bufferSizeLimit the buffer-size limit (number of bytes)
 	 */
 	public ConcurrentWebSocketSessionDecorator(WebSocketSession delegate, int sendTimeLimit, int bufferSizeLimit) {
+		this(delegate, sendTimeLimit, bufferSizeLimit, 0);
+	}
+
+	/**
+	 * Create a new {@code ConcurrentWebSocketSessionDecorator} that combines
+	 * buffered messages.
+	 * @param delegate the {@code WebSocketSession} to delegate to
+	 * @param sendTimeLimit the send-time limit (milliseconds)
+	 * @param bufferSizeLimit the buffer-size limit (number of bytes)
+	 * @param batchSizeLimit the maximum size (number of bytes) of a message
+	 * combined from buffered messages, or 0 to send each message as it is
+	 * @since 5.1
+	 */
+	public ConcurrentWebSocketSessionDecorator(WebSocketSession delegate, int sendTimeLimit,
+			int bufferSizeLimit, int batchSizeLimit) {
+
 		super(delegate);
 		this.sendTimeLimit = sendTimeLimit;
 		this.bufferSizeLimit = bufferSizeLimit;
+		this.batchSizeLimit = batchSizeLimit;
 	}
 
 
@@ -96,6 +128,15 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 		return this.bufferSizeLimit;
 	}
 
+	/**
+	 * Return the configured batch-size limit (number of bytes), or 0 if
+	 * buffered messages are not combined.
+	 * @since 5.1
+	 */
+	public int getBatchSizeLimit() {
+		return this.batchSizeLimit;
+	}
+
 	/**
 	 * Return the current buffer size (number of bytes).
 	 */
@@ -103,6 +144,14 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 		return this.bufferSize.get();
 	}
 
+	/**
+	 * Return the number of messages currently buffered.
+	 * @since 5.1
+	 */
+	public int getBufferedMessageCount() {
+		return this.buffer.size();
+	}
+
 	/**
 	 * Return the time (milliseconds) since the current send started,
 	 * or 0 if no send is currently in progress.
@@ -148,7 +197,11 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 					if (message == null || shouldNotSend()) {
 						break;
 					}
-					this.bufferSize.addAndGet(message.getPayloadLength() * -1);
+					int size = message.getPayloadLength();
+					this.bufferSize.addAndGet(size * -1);
+					if (this.batchSizeLimit > 0) {
+						message = pollBatch(message, size);
+					}
 					this.sendStartTime = System.currentTimeMillis();
 					getDelegate().sendMessage(message);
 					this.sendStartTime = 0;
@@ -163,6 +216,58 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 		return false;
 	}
 
+	/**
+	 * Combine the given message with subsequent buffered messages of the same
+	 * type, as long as the combined size does not exceed the batch-size limit.
+	 */
+	private WebSocketMessage<?> pollBatch(WebSocketMessage<?> message, int size) {
+		List<WebSocketMessage<?>> batch = null;
+		while (isBatchable(message, size)) {
+			WebSocketMessage<?> next = this.buffer.peek();
+			if (next == null || next.getClass() != message.getClass() || !next.isLast()) {
+				break;
+			}
+			// Computed once, since the length of a text message is its UTF-8 byte count
+			int nextSize = next.getPayloadLength();
+			if (size + nextSize > this.batchSizeLimit) {
+				break;
+			}
+			// Only this thread polls while holding the flush lock
+			this.buffer.poll();
+			this.bufferSize.addAndGet(nextSize * -1);
+			if (batch == null) {
+				batch = new ArrayList<>();
+				batch.add(message);
+			}
+			batch.add(next);
+			size += nextSize;
+		}
+		if (batch == null) {
+			return message;
+		}
+		if (message instanceof TextMessage) {
+			StringBuilder builder = new StringBuilder(size);
+			for (WebSocketMessage<?> part : batch) {
+				builder.append(((TextMessage) part).getPayload());
+			}
+			return new TextMessage(builder);
+		}
+		else {
+			ByteBuffer payload = ByteBuffer.allocate(size);
+			for (WebSocketMessage<?> part : batch) {
+				payload.put(((BinaryMessage) part).getPayload().duplicate());
+			}
+			// Explicit cast for compatibility with covariant return type on JDK 9's ByteBuffer
+			((Buffer) payload).flip();
+			return new BinaryMessage(payload);
+		}
+	}
+
+	private boolean isBatchable(WebSocketMessage<?> message, int size) {
+		return ((message instanceof TextMessage || message instanceof BinaryMessage) && message.isLast() &&
+				size < this.batchSizeLimit);
+	}
+
 	private void checkSessionLimits() {
 		if (!shouldNotSend() && this.closeLock.tryLock()) {
 			try {
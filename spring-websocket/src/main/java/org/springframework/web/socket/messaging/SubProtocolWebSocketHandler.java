@@ -93,6 +93,8 @@ public class SubProtocolWebSocketHandler
 
 	private int sendBufferSizeLimit = 512 * 1024;
 
+	private int sendBatchSizeLimit = 0;
+
 	private int timeToFirstMessage = DEFAULT_TIME_TO_FIRST_MESSAGE;
 
 	private volatile long lastSessionCheckTime = System.currentTimeMillis();
@@ -221,6 +223,27 @@ public class SubProtocolWebSocketHandler
 		return this.sendBufferSizeLimit;
 	}
 
+	/**
+	 * Specify the batch-size limit (number of bytes) up to which messages
+	 * buffered for a session are combined into one WebSocket message.
+	 * <p>By default this is 0, i.e. messages are not combined. This should only
+	 * be enabled if all configured sub-protocols allow multiple messages to be
+	 * combined in one WebSocket message, which is the case for STOMP.
+	 * @since 5.1
+	 * @see ConcurrentWebSocketSessionDecorator
+	 */
+	public void setSendBatchSizeLimit(int sendBatchSizeLimit) {
+		this.sendBatchSizeLimit = sendBatchSizeLimit;
+	}
+
+	/**
+	 * Return the batch-size limit (number of bytes).
+	 * @since 5.1
+	 */
+	public int getSendBatchSizeLimit() {
+		return this.sendBatchSizeLimit;
+	}
+
 	/**
 	 * Set the maximum time allowed in milliseconds after the WebSocket
 	 * connection is established and before the first sub-protocol message is
@@ -408,14 +431,16 @@ public class SubProtocolWebSocketHandler
 	/**
 	 * Decorate the given {@link WebSocketSession}, if desired.
 	 * <p>The default implementation builds a {@link ConcurrentWebSocketSessionDecorator}
-	 * with the configured {@link #getSendTimeLimit() send-time limit} and
-	 * {@link #getSendBufferSizeLimit() buffer-size limit}.
+	 * with the configured {@link #getSendTimeLimit() send-time limit},
+	 * {@link #getSendBufferSizeLimit() buffer-size limit} and
+	 * {@link #getSendBatchSizeLimit() batch-size limit}.
 	 * @param session the original {@code WebSocketSession}
 	 * @return the decorated {@code WebSocketSession}, or potentially the given session as-is
 	 * @since 4.3.13
 	 */
 	protected WebSocketSession decorateSession(WebSocketSession session) {
-		return new ConcurrentWebSocketSessionDecorator(session, getSendTimeLimit(), getSendBufferSizeLimit());
+		return new ConcurrentWebSocketSessionDecorator(
+				session, getSendTimeLimit(), getSendBufferSizeLimit(), getSendBatchSizeLimit());
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketMessage;
@@ -97,6 +98,98 @@ public class ConcurrentWebSocketSessionDecoratorTests {
 		assertTrue(blockingSession.isOpen());
 	}
 
+	@Test
+	public void sendBatchAfterBlockedSend() throws IOException, InterruptedException {
+
+		BlockingSession blockingSession = new BlockingSession();
+		blockingSession.setOpen(true);
+		CountDownLatch sentMessageLatch = blockingSession.getSentMessageLatch();
+
+		final ConcurrentWebSocketSessionDecorator concurrentSession =
+				new ConcurrentWebSocketSessionDecorator(blockingSession, 10 * 1000, 1024, 2);
+
+		Executors.newSingleThreadExecutor().submit((Runnable) () -> {
+			TextMessage message = new TextMessage("slow message");
+			try {
+				concurrentSession.sendMessage(message);
+			}
+			catch (IOException e) {
+				e.printStackTrace();
+			}
+		});
+
+		assertTrue(sentMessageLatch.await(5, TimeUnit.SECONDS));
+
+		concurrentSession.sendMessage(new TextMessage("a"));
+		concurrentSession.sendMessage(new TextMessage("b"));
+		concurrentSession.sendMessage(new TextMessage("c"));
+		assertEquals(3, concurrentSession.getBufferedMessageCount());
+
+		sentMessageLatch = blockingSession.getSentMessageLatch();
+		blockingSession.release();
+		assertTrue(sentMessageLatch.await(5, TimeUnit.SECONDS));
+
+		assertEquals(2, blockingSession.getSentMessages().size());
+		assertEquals(new TextMessage("ab"), blockingSession.getSentMessages().get(1));
+		assertEquals(1, concurrentSession.getBufferedMessageCount());
+		assertEquals(1, concurrentSession.getBufferSize());
+
+		sentMessageLatch = blockingSession.getSentMessageLatch();
+		blockingSession.release();
+		assertTrue(sentMessageLatch.await(5, TimeUnit.SECONDS));
+
+		assertEquals(3, blockingSession.getSentMessages().size());
+		assertEquals(new TextMessage("c"), blockingSession.getSentMessages().get(2));
+		assertEquals(0, concurrentSession.getBufferedMessageCount());
+		blockingSession.release();
+	}
+
+	@Test
+	public void sendBinaryBatchAfterBlockedSend() throws IOException, InterruptedException {
+
+		BlockingSession blockingSession = new BlockingSession();
+		blockingSession.setOpen(true);
+		CountDownLatch sentMessageLatch = blockingSession.getSentMessageLatch();
+
+		final ConcurrentWebSocketSessionDecorator concurrentSession =
+				new ConcurrentWebSocketSessionDecorator(blockingSession, 10 * 1000, 1024, 4);
+
+		Executors.newSingleThreadExecutor().submit((Runnable) () -> {
+			BinaryMessage message = new BinaryMessage(new byte[] {0});
+			try {
+				concurrentSession.sendMessage(message);
+			}
+			catch (IOException e) {
+				e.printStackTrace();
+			}
+		});
+
+		assertTrue(sentMessageLatch.await(5, TimeUnit.SECONDS));
+
+		concurrentSession.sendMessage(new BinaryMessage(new byte[] {1, 2}));
+		concurrentSession.sendMessage(new BinaryMessage(new byte[] {3}));
+		concurrentSession.sendMessage(new TextMessage("a"));
+		assertEquals(3, concurrentSession.getBufferedMessageCount());
+
+		sentMessageLatch = blockingSession.getSentMessageLatch();
+		blockingSession.release();
+		assertTrue(sentMessageLatch.await(5, TimeUnit.SECONDS));
+
+		assertEquals(2, blockingSession.getSentMessages().size());
+		assertEquals(new BinaryMessage(new byte[] {1, 2, 3}), blockingSession.getSentMessages().get(1));
+		assertEquals(1, concurrentSession.getBufferedMessageCount());
+		assertEquals(1, concurrentSession.getBufferSize());
+
+		sentMessageLatch = blockingSession.getSentMessageLatch();
+		blockingSession.release();
+		assertTrue(sentMessageLatch.await(5, TimeUnit.SECONDS));
+
+		assertEquals(3, blockingSession.getSentMessages().size());
+		assertEquals(new TextMessage("a"), blockingSession.getSentMessages().get(2));
+		assertEquals(0, concurrentSession.getBufferedMessageCount());
+		blockingSession.release();
+	}
+
 	@Test
 	public void sendTimeLimitExceeded() throws IOException, InterruptedException {
 
@@ -254,15 +347,22 @@ public class ConcurrentWebSocketSessionDecoratorTests {
 		@Override
 		public void sendMessage(WebSocketMessage<?> message) throws IOException {
 			super.sendMessage(message);
+			this.releaseLatch.set(new CountDownLatch(1));
 			if (this.nextMessageLatch != null) {
 				this.nextMessageLatch.get().countDown();
 			}
 			block();
 		}
 
+		public void release() {
+			CountDownLatch latch = this.releaseLatch.get();
+			if (latch != null) {
+				latch.countDown();
+			}
+		}
+
 		private void block() {
 			try {
-				this.releaseLatch.set(new CountDownLatch(1));
 				this.releaseLatch.get().await();
 			}
 			catch (InterruptedException e) {